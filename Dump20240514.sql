@@ -116,6 +116,89 @@ INSERT INTO `currency` VALUES (1,'Dolar','USD'),(2,'Peso Colombiano','COP'),(3,'
 /*!40000 ALTER TABLE `currency` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `id_sequence`
+--
+
+DROP TABLE IF EXISTS `id_sequence`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `id_sequence` (
+  `name` varchar(64) NOT NULL,
+  `next_val` bigint NOT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `id_sequence`
+--
+
+LOCK TABLES `id_sequence` WRITE;
+/*!40000 ALTER TABLE `id_sequence` DISABLE KEYS */;
+INSERT INTO `id_sequence` VALUES ('category',5),('client',19),('currency',5),('job',1),('orden',4),('password',19),('person',30),('product',30),('role',3),('user',30),('user_role',19);
+/*!40000 ALTER TABLE `id_sequence` ENABLE KEYS */;
+UNLOCK TABLES;
+
+--
+-- Table structure for table `idempotency_key`
+--
+
+DROP TABLE IF EXISTS `idempotency_key`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `idempotency_key` (
+  `idKey` char(64) NOT NULL,
+  `fingerprint` char(64) NOT NULL,
+  `status` int DEFAULT NULL,
+  `contentType` varchar(255) DEFAULT NULL,
+  `body` mediumblob,
+  `created` datetime(3) NOT NULL,
+  PRIMARY KEY (`idKey`),
+  KEY `idx_idempotency_key_created` (`created`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `idempotency_key`
+--
+
+LOCK TABLES `idempotency_key` WRITE;
+/*!40000 ALTER TABLE `idempotency_key` DISABLE KEYS */;
+/*!40000 ALTER TABLE `idempotency_key` ENABLE KEYS */;
+UNLOCK TABLES;
+
+--
+-- Table structure for table `job`
+--
+
+DROP TABLE IF EXISTS `job`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `job` (
+  `idJob` int NOT NULL,
+  `type` varchar(32) NOT NULL,
+  `idTarget` int NOT NULL,
+  `status` varchar(16) NOT NULL,
+  `processed` int NOT NULL DEFAULT '0',
+  `total` int NOT NULL DEFAULT '0',
+  `error` varchar(255) DEFAULT NULL,
+  `created` datetime NOT NULL,
+  `updated` datetime NOT NULL,
+  PRIMARY KEY (`idJob`),
+  KEY `idx_job_type_status` (`type`,`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `job`
+--
+
+LOCK TABLES `job` WRITE;
+/*!40000 ALTER TABLE `job` DISABLE KEYS */;
+/*!40000 ALTER TABLE `job` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `orden`
 --
@@ -127,7 +210,8 @@ CREATE TABLE `orden` (
   `idOrden` int NOT NULL AUTO_INCREMENT,
   `date` date DEFAULT NULL,
   `idClient` int DEFAULT NULL,
-  PRIMARY KEY (`idOrden`)
+  PRIMARY KEY (`idOrden`),
+  KEY `idx_orden_client_date` (`idClient`,`date`,`idOrden`)
 ) ENGINE=InnoDB AUTO_INCREMENT=4 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -140,6 +224,33 @@ LOCK TABLES `orden` WRITE;
 /*!40000 ALTER TABLE `orden` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `order_total`
+--
+
+DROP TABLE IF EXISTS `order_total`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `order_total` (
+  `idOrder` int NOT NULL,
+  `idCurrency` int NOT NULL,
+  `total` decimal(14,2) NOT NULL,
+  PRIMARY KEY (`idOrder`,`idCurrency`),
+  KEY `order_total_ibfk_2` (`idCurrency`),
+  CONSTRAINT `order_total_ibfk_1` FOREIGN KEY (`idOrder`) REFERENCES `orden` (`idOrden`),
+  CONSTRAINT `order_total_ibfk_2` FOREIGN KEY (`idCurrency`) REFERENCES `currency` (`idCurrency`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `order_total`
+--
+
+LOCK TABLES `order_total` WRITE;
+/*!40000 ALTER TABLE `order_total` DISABLE KEYS */;
+/*!40000 ALTER TABLE `order_total` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `password`
 --
@@ -285,6 +396,7 @@ CREATE TABLE `product_order` (
   `idProduct` int NOT NULL,
   `idOrder` int NOT NULL,
   `quantity` int DEFAULT NULL,
+  `idCompany` int DEFAULT NULL,
   PRIMARY KEY (`idProduct`,`idOrder`),
   KEY `product_order_ibfk_2` (`idOrder`),
   CONSTRAINT `product_order_ibfk_1` FOREIGN KEY (`idProduct`) REFERENCES `product` (`idProduct`),
@@ -301,6 +413,60 @@ LOCK TABLES `product_order` WRITE;
 /*!40000 ALTER TABLE `product_order` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `product_order_price`
+--
+
+DROP TABLE IF EXISTS `product_order_price`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `product_order_price` (
+  `idOrder` int NOT NULL,
+  `idProduct` int NOT NULL,
+  `idCurrency` int NOT NULL,
+  `unitPrice` decimal(10,2) NOT NULL,
+  PRIMARY KEY (`idOrder`,`idProduct`,`idCurrency`),
+  KEY `product_order_price_ibfk_2` (`idCurrency`),
+  CONSTRAINT `product_order_price_ibfk_1` FOREIGN KEY (`idOrder`) REFERENCES `orden` (`idOrden`),
+  CONSTRAINT `product_order_price_ibfk_2` FOREIGN KEY (`idCurrency`) REFERENCES `currency` (`idCurrency`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `product_order_price`
+--
+
+LOCK TABLES `product_order_price` WRITE;
+/*!40000 ALTER TABLE `product_order_price` DISABLE KEYS */;
+/*!40000 ALTER TABLE `product_order_price` ENABLE KEYS */;
+UNLOCK TABLES;
+
+--
+-- Table structure for table `product_stock`
+--
+
+DROP TABLE IF EXISTS `product_stock`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `product_stock` (
+  `idProduct` int NOT NULL,
+  `stock` int NOT NULL,
+  `hot` tinyint(1) NOT NULL DEFAULT '0',
+  PRIMARY KEY (`idProduct`),
+  CONSTRAINT `product_stock_ibfk_1` FOREIGN KEY (`idProduct`) REFERENCES `product` (`idProduct`) ON DELETE CASCADE,
+  CONSTRAINT `product_stock_chk_1` CHECK ((`stock` >= 0))
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `product_stock`
+--
+
+LOCK TABLES `product_stock` WRITE;
+/*!40000 ALTER TABLE `product_stock` DISABLE KEYS */;
+/*!40000 ALTER TABLE `product_stock` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `role`
 --
@@ -326,6 +492,59 @@ INSERT INTO `role` VALUES (1,'Administrador','ADMIN'),(2,'Cliente','USER');
 /*!40000 ALTER TABLE `role` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `sales_daily_product`
+--
+
+DROP TABLE IF EXISTS `sales_daily_product`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `sales_daily_product` (
+  `idCompany` int NOT NULL,
+  `day` date NOT NULL,
+  `idProduct` int NOT NULL,
+  `stripe` tinyint NOT NULL DEFAULT '0',
+  `units` bigint NOT NULL,
+  PRIMARY KEY (`idCompany`,`day`,`idProduct`,`stripe`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `sales_daily_product`
+--
+
+LOCK TABLES `sales_daily_product` WRITE;
+/*!40000 ALTER TABLE `sales_daily_product` DISABLE KEYS */;
+/*!40000 ALTER TABLE `sales_daily_product` ENABLE KEYS */;
+UNLOCK TABLES;
+
+--
+-- Table structure for table `sales_daily_revenue`
+--
+
+DROP TABLE IF EXISTS `sales_daily_revenue`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `sales_daily_revenue` (
+  `idCompany` int NOT NULL,
+  `day` date NOT NULL,
+  `idProduct` int NOT NULL,
+  `idCurrency` int NOT NULL,
+  `stripe` tinyint NOT NULL DEFAULT '0',
+  `revenue` decimal(16,2) NOT NULL,
+  PRIMARY KEY (`idCompany`,`day`,`idProduct`,`idCurrency`,`stripe`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `sales_daily_revenue`
+--
+
+LOCK TABLES `sales_daily_revenue` WRITE;
+/*!40000 ALTER TABLE `sales_daily_revenue` DISABLE KEYS */;
+/*!40000 ALTER TABLE `sales_daily_revenue` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `user`
 --
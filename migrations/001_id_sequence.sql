@@ -0,0 +1,22 @@
+-- Creates the id_sequence table, which hands out the ids of the entities in blocks,
+-- and starts each sequence after the greatest existing id of its table.
+-- Run it once on a database created from Dump20240514.sql, before deploying the pooled id allocation.
+
+CREATE TABLE IF NOT EXISTS `id_sequence` (
+  `name` varchar(64) NOT NULL,
+  `next_val` bigint NOT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_sequence` (`name`, `next_val`)
+SELECT 'category', COALESCE(MAX(`idCategory`), 0) + 1 FROM `category`
+UNION ALL SELECT 'client', COALESCE(MAX(`idClient`), 0) + 1 FROM `client`
+UNION ALL SELECT 'currency', COALESCE(MAX(`idCurrency`), 0) + 1 FROM `currency`
+UNION ALL SELECT 'orden', COALESCE(MAX(`idOrden`), 0) + 1 FROM `orden`
+UNION ALL SELECT 'password', COALESCE(MAX(`idPassword`), 0) + 1 FROM `password`
+UNION ALL SELECT 'person', COALESCE(MAX(`idPerson`), 0) + 1 FROM `person`
+UNION ALL SELECT 'product', COALESCE(MAX(`idProduct`), 0) + 1 FROM `product`
+UNION ALL SELECT 'role', COALESCE(MAX(`idRole`), 0) + 1 FROM `role`
+UNION ALL SELECT 'user', COALESCE(MAX(`idUser`), 0) + 1 FROM `user`
+UNION ALL SELECT 'user_role', COALESCE(MAX(`idUserRol`), 0) + 1 FROM `user_role`
+ON DUPLICATE KEY UPDATE `next_val` = GREATEST(`next_val`, VALUES(`next_val`));
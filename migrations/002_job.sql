@@ -0,0 +1,19 @@
+-- Creates the job table, which keeps the background jobs such as the deletion of a company, and their progress,
+-- and starts its id sequence.
+-- Run it once after 001_id_sequence.sql, before deploying the asynchronous company deletion.
+
+CREATE TABLE IF NOT EXISTS `job` (
+  `idJob` int NOT NULL,
+  `type` varchar(32) NOT NULL,
+  `idTarget` int NOT NULL,
+  `status` varchar(16) NOT NULL,
+  `processed` int NOT NULL DEFAULT '0',
+  `total` int NOT NULL DEFAULT '0',
+  `error` varchar(255) DEFAULT NULL,
+  `created` datetime NOT NULL,
+  `updated` datetime NOT NULL,
+  PRIMARY KEY (`idJob`),
+  KEY `idx_job_type_status` (`type`,`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO `id_sequence` (`name`, `next_val`) VALUES ('job', 1);
@@ -0,0 +1,5 @@
+-- Adds the index behind the order history of a client: the orders of a client, by date and id.
+-- It serves the keyset pagination on (date, idOrden) and the date filters without a full scan of orden.
+-- Run it once after 002_job.sql.
+
+ALTER TABLE `orden` ADD INDEX `idx_orden_client_date` (`idClient`, `date`, `idOrden`);
@@ -0,0 +1,26 @@
+-- Creates the tables of the prices copied to the orders when they are placed:
+-- product_order_price keeps the unit price of each line in each currency, and order_total keeps the total
+-- of each order in each currency in which all its products had a price.
+-- The orders placed before this migration have neither, since their prices at the time are not known.
+-- Run it once after 003_orden_client_date_index.sql.
+
+CREATE TABLE IF NOT EXISTS `product_order_price` (
+  `idOrder` int NOT NULL,
+  `idProduct` int NOT NULL,
+  `idCurrency` int NOT NULL,
+  `unitPrice` decimal(10,2) NOT NULL,
+  PRIMARY KEY (`idOrder`,`idProduct`,`idCurrency`),
+  KEY `product_order_price_ibfk_2` (`idCurrency`),
+  CONSTRAINT `product_order_price_ibfk_1` FOREIGN KEY (`idOrder`) REFERENCES `orden` (`idOrden`),
+  CONSTRAINT `product_order_price_ibfk_2` FOREIGN KEY (`idCurrency`) REFERENCES `currency` (`idCurrency`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `order_total` (
+  `idOrder` int NOT NULL,
+  `idCurrency` int NOT NULL,
+  `total` decimal(14,2) NOT NULL,
+  PRIMARY KEY (`idOrder`,`idCurrency`),
+  KEY `order_total_ibfk_2` (`idCurrency`),
+  CONSTRAINT `order_total_ibfk_1` FOREIGN KEY (`idOrder`) REFERENCES `orden` (`idOrden`),
+  CONSTRAINT `order_total_ibfk_2` FOREIGN KEY (`idCurrency`) REFERENCES `currency` (`idCurrency`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,42 @@
+-- Creates the tables of the daily sales of each product of each company:
+-- sales_daily_product keeps the units sold on each day, and sales_daily_revenue keeps their revenue in each currency,
+-- from the unit prices copied to the lines of the orders. Both are updated when an order is placed or deleted.
+-- The orders already placed are added here; only the ones with a date, and only the lines with copied prices
+-- count for the revenue.
+-- Run it once after 004_order_snapshots.sql, with the application stopped.
+
+CREATE TABLE IF NOT EXISTS `sales_daily_product` (
+  `idCompany` int NOT NULL,
+  `day` date NOT NULL,
+  `idProduct` int NOT NULL,
+  `units` bigint NOT NULL,
+  PRIMARY KEY (`idCompany`,`day`,`idProduct`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `sales_daily_revenue` (
+  `idCompany` int NOT NULL,
+  `day` date NOT NULL,
+  `idProduct` int NOT NULL,
+  `idCurrency` int NOT NULL,
+  `revenue` decimal(16,2) NOT NULL,
+  PRIMARY KEY (`idCompany`,`day`,`idProduct`,`idCurrency`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `sales_daily_product` (`idCompany`, `day`, `idProduct`, `units`)
+SELECT p.`idCompany`, o.`date`, po.`idProduct`, SUM(po.`quantity`)
+FROM `product_order` po
+JOIN `orden` o ON o.`idOrden` = po.`idOrder`
+JOIN `product` p ON p.`idProduct` = po.`idProduct`
+WHERE po.`quantity` IS NOT NULL AND o.`date` IS NOT NULL AND p.`idCompany` IS NOT NULL
+GROUP BY p.`idCompany`, o.`date`, po.`idProduct`
+ON DUPLICATE KEY UPDATE `units` = VALUES(`units`);
+
+INSERT INTO `sales_daily_revenue` (`idCompany`, `day`, `idProduct`, `idCurrency`, `revenue`)
+SELECT p.`idCompany`, o.`date`, po.`idProduct`, pp.`idCurrency`, SUM(po.`quantity` * pp.`unitPrice`)
+FROM `product_order` po
+JOIN `orden` o ON o.`idOrden` = po.`idOrder`
+JOIN `product` p ON p.`idProduct` = po.`idProduct`
+JOIN `product_order_price` pp ON pp.`idOrder` = po.`idOrder` AND pp.`idProduct` = po.`idProduct`
+WHERE po.`quantity` IS NOT NULL AND o.`date` IS NOT NULL AND p.`idCompany` IS NOT NULL
+GROUP BY p.`idCompany`, o.`date`, po.`idProduct`, pp.`idCurrency`
+ON DUPLICATE KEY UPDATE `revenue` = VALUES(`revenue`);
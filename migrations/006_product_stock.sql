@@ -0,0 +1,13 @@
+-- Creates the table of the units in stock of the products.
+-- A product without a row has no stock tracked, so the products already sold keep being sold until their stock is set.
+-- The row is deleted with its product.
+-- Run it once after 005_sales_rollups.sql.
+
+CREATE TABLE IF NOT EXISTS `product_stock` (
+  `idProduct` int NOT NULL,
+  `stock` int NOT NULL,
+  `hot` tinyint(1) NOT NULL DEFAULT '0',
+  PRIMARY KEY (`idProduct`),
+  CONSTRAINT `product_stock_ibfk_1` FOREIGN KEY (`idProduct`) REFERENCES `product` (`idProduct`) ON DELETE CASCADE,
+  CONSTRAINT `product_stock_chk_1` CHECK ((`stock` >= 0))
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
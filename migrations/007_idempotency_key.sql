@@ -0,0 +1,15 @@
+-- Creates the table of the Idempotency-Key values of the write requests, used when the property
+-- codestock.idempotency.database is true so that all the instances of the application share them.
+-- idKey is the SHA-256 of the path, the query and the key sent by the client; the rows older than 24 hours are purged by the application.
+-- Run it once after 006_product_stock.sql.
+
+CREATE TABLE IF NOT EXISTS `idempotency_key` (
+  `idKey` char(64) NOT NULL,
+  `fingerprint` char(64) NOT NULL,
+  `status` int DEFAULT NULL,
+  `contentType` varchar(255) DEFAULT NULL,
+  `body` mediumblob,
+  `created` datetime(3) NOT NULL,
+  PRIMARY KEY (`idKey`),
+  KEY `idx_idempotency_key_created` (`created`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
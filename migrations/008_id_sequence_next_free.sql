@@ -0,0 +1,18 @@
+-- The id_sequence rows hold the next free id of each table. Before the table generator was told so,
+-- the blocks it reserved left in the row the last id of the block, which may already be used.
+-- Moving every row past the greatest existing id of its table makes it a free id again, and leaves
+-- a row that is already past it untouched, so running it again, or on a database created after this change, is harmless.
+-- Run it with the application stopped, after 001_id_sequence.sql.
+
+INSERT INTO `id_sequence` (`name`, `next_val`)
+SELECT 'category', COALESCE(MAX(`idCategory`), 0) + 1 FROM `category`
+UNION ALL SELECT 'client', COALESCE(MAX(`idClient`), 0) + 1 FROM `client`
+UNION ALL SELECT 'currency', COALESCE(MAX(`idCurrency`), 0) + 1 FROM `currency`
+UNION ALL SELECT 'orden', COALESCE(MAX(`idOrden`), 0) + 1 FROM `orden`
+UNION ALL SELECT 'password', COALESCE(MAX(`idPassword`), 0) + 1 FROM `password`
+UNION ALL SELECT 'person', COALESCE(MAX(`idPerson`), 0) + 1 FROM `person`
+UNION ALL SELECT 'product', COALESCE(MAX(`idProduct`), 0) + 1 FROM `product`
+UNION ALL SELECT 'role', COALESCE(MAX(`idRole`), 0) + 1 FROM `role`
+UNION ALL SELECT 'user', COALESCE(MAX(`idUser`), 0) + 1 FROM `user`
+UNION ALL SELECT 'user_role', COALESCE(MAX(`idUserRol`), 0) + 1 FROM `user_role`
+ON DUPLICATE KEY UPDATE `next_val` = GREATEST(`next_val`, VALUES(`next_val`));
@@ -0,0 +1,14 @@
+-- Splits each row of the daily sales tables in stripes, so concurrent orders of the same product on the same day
+-- update different rows instead of waiting for each other on the lock of one row until their transactions commit.
+-- The rows already there become the stripe 0; the reports sum the stripes.
+-- Run it once after 005_sales_rollups.sql, with the application stopped.
+
+ALTER TABLE `sales_daily_product`
+  ADD COLUMN `stripe` tinyint NOT NULL DEFAULT '0' AFTER `idProduct`,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`idCompany`,`day`,`idProduct`,`stripe`);
+
+ALTER TABLE `sales_daily_revenue`
+  ADD COLUMN `stripe` tinyint NOT NULL DEFAULT '0' AFTER `idCurrency`,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`idCompany`,`day`,`idProduct`,`idCurrency`,`stripe`);
@@ -0,0 +1,12 @@
+-- Copies the company of the product to each line of the orders, so the sales rollups add and remove a line with the
+-- company it was sold by, even if the product moves to another company between placing and deleting the order.
+-- The lines already there get the current company of their product, which is the one the rollups counted them with.
+-- Run it once after 009_sales_rollup_stripes.sql, with the application stopped.
+
+ALTER TABLE `product_order`
+  ADD COLUMN `idCompany` int DEFAULT NULL AFTER `quantity`;
+
+UPDATE `product_order` po
+  JOIN `product` p ON p.`idProduct` = po.`idProduct`
+  SET po.`idCompany` = p.`idCompany`
+  WHERE po.`idCompany` IS NULL;
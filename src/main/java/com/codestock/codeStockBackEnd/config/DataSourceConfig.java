@@ -0,0 +1,46 @@
+package com.codestock.codeStockBackEnd.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * DataSourceConfig is a configuration class for the connections to the database of the CodeStock API.
+ * It uses Spring's @Configuration annotation to indicate that it's a configuration class.
+ * It sets rewriteBatchedStatements on the MySQL connections of the Hikari pool, so MySQL Connector/J sends a JDBC batch
+ * as multi-row INSERT statements instead of one statement per row. Without it the batches of Hibernate
+ * (see HibernateConfig) and the JdbcTemplate batches of ProductImportImpl are still sent one statement at a time.
+ * A value set in the JDBC URL or in spring.datasource.hikari.data-source-properties takes precedence.
+ *
+ * @see com.codestock.codeStockBackEnd.config.HibernateConfig
+ * @see com.codestock.codeStockBackEnd.service.impl.ProductImportImpl
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // Connector/J property rewriting the batches into multi-row statements
+    private static final String REWRITE_BATCHED_STATEMENTS = "rewriteBatchedStatements";
+
+    /**
+     * Adds rewriteBatchedStatements to the Hikari data source before its pool is started.
+     * It is static so it is registered before the data source bean is created.
+     *
+     * @return The post processor of the data source.
+     */
+    @Bean
+    public static BeanPostProcessor rewriteBatchedStatementsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")
+                        && !dataSource.getJdbcUrl().contains(REWRITE_BATCHED_STATEMENTS)
+                        && !dataSource.getDataSourceProperties().containsKey(REWRITE_BATCHED_STATEMENTS)) {
+                    dataSource.addDataSourceProperty(REWRITE_BATCHED_STATEMENTS, "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
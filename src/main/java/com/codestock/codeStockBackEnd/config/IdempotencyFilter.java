@@ -0,0 +1,248 @@
+package com.codestock.codeStockBackEnd.config;
+
+import com.codestock.codeStockBackEnd.model.dto.IdempotencyRecordDTO;
+import com.codestock.codeStockBackEnd.service.IIdempotency;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * IdempotencyFilter makes the write requests of the CodeStock API safe to retry.
+ * It uses Spring's @Component annotation so it is registered as a servlet filter.
+ * A POST to one of the IDEMPOTENT_PATHS sent with an Idempotency-Key header is run once: its response is remembered
+ * and sent back, with the Idempotent-Replayed header, to every retry with the same key and body.
+ * A retry while the first request is still running gets a 409, and a key reused with a different body gets a 422.
+ * A response with a 5xx status is not remembered, so the request can be retried.
+ * The filter runs outside the transactions of the controllers, so the write is committed before its response is saved.
+ * A key belongs to the authenticated principal of the request, so two users picking the same key never see each other's responses.
+ * While the API lets every request in without authentication there is no principal, and the keys are global:
+ * the clients must pick keys nobody else can guess, such as random UUIDs.
+ *
+ * @see com.codestock.codeStockBackEnd.service.IIdempotency
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * The header holding the key chosen by the client.
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * The header added to the responses sent back to a retry.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Maximum length of a key
+    private static final int MAX_KEY_LENGTH = 255;
+    // Paths of the writes that accept a key
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/api/v1/order", "/api/v1/product");
+
+    private final IIdempotency idempotencyService;
+
+    /**
+     * Constructor for the IdempotencyFilter.
+     * It uses Spring's @Autowired annotation for dependency injection.
+     *
+     * @param idempotencyService The service remembering the responses of the keys.
+     */
+    @Autowired
+    public IdempotencyFilter(IIdempotency idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    /**
+     * Skips the requests that are not a POST to one of the IDEMPOTENT_PATHS or have no key.
+     *
+     * @param request The current request.
+     * @return True if the request is not filtered.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()))
+                || request.getHeader(HEADER) == null;
+    }
+
+    /**
+     * Runs the request once per key, or sends back the response of the key.
+     *
+     * @param request  The current request.
+     * @param response The current response.
+     * @param chain    The rest of the filter chain.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER);
+        if (clientKey.isBlank() || clientKey.length() > MAX_KEY_LENGTH) {
+            sendError(response, HttpStatus.BAD_REQUEST, "Invalid " + HEADER);
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        // The key is scoped to the caller, path and query, so the same key from two users or to two endpoints names two requests
+        Principal caller = request.getUserPrincipal();
+        String key = sha256(((caller == null ? "" : caller.getName()) + '\n'
+                + request.getRequestURI() + '?' + Objects.toString(request.getQueryString(), "") + '\n' + clientKey)
+                .getBytes(StandardCharsets.UTF_8));
+        String fingerprint = sha256(body);
+
+        IdempotencyRecordDTO stored;
+        try {
+            stored = idempotencyService.begin(key, fingerprint);
+        } catch (IllegalArgumentException e) {
+            sendError(response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            sendError(response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        }
+        if (stored.getStatus() != null) {
+            response.setStatus(stored.getStatus());
+            response.setHeader(REPLAYED_HEADER, "true");
+            if (stored.getContentType() != null) {
+                response.setContentType(stored.getContentType());
+            }
+            if (stored.getBody() != null) {
+                response.setContentLength(stored.getBody().length);
+                response.getOutputStream().write(stored.getBody());
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), wrapper);
+            if (wrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotencyService.complete(key, IdempotencyRecordDTO.builder().fingerprint(fingerprint)
+                        .status(wrapper.getStatus())
+                        .contentType(wrapper.getContentType())
+                        .body(wrapper.getContentAsByteArray())
+                        .created(stored.getCreated())
+                        .build());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.abandon(key, stored);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Sends an error with a text body, the way the controllers do.
+     *
+     * @param response The current response.
+     * @param status   The status of the error.
+     * @param message  The message of the error.
+     */
+    private void sendError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    /**
+     * Returns the SHA-256 of the given bytes, in hexadecimal.
+     *
+     * @param bytes The bytes.
+     * @return The hash.
+     */
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This class is a request whose body, already read by the filter, can be read again by the controllers.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        /**
+         * Creates a request with the given body.
+         *
+         * @param request The request.
+         * @param body    The body read from the request.
+         */
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.codestock.codeStockBackEnd.controller;
+
+import com.codestock.codeStockBackEnd.service.ICompany;
+import com.codestock.codeStockBackEnd.service.ISalesRollup;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * This class represents the Analytics Controller.
+ * It handles HTTP requests and responses for the sales reports of the companies,
+ * read from the daily sales kept up to date as the orders are placed and deleted.
+ * It uses Spring Boot annotations for RESTful web services.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Analytics", description = "Analytics Controller")
+public class AnalyticsController {
+    // Number of days of the report when no dates are given
+    private static final int DEFAULT_DAYS = 30;
+
+    private final ISalesRollup salesRollup;
+    private final ICompany companyService;
+
+    /**
+     * Constructor for the AnalyticsController.
+     * It uses Spring's @Autowired annotation for dependency injection.
+     *
+     * @param salesRollup    The service to read the daily sales.
+     * @param companyService The service to find the company of a report.
+     */
+    @Autowired
+    public AnalyticsController(ISalesRollup salesRollup, ICompany companyService) {
+        this.salesRollup = salesRollup;
+        this.companyService = companyService;
+    }
+
+    /**
+     * Handles the GET request to retrieve the sales of a company by day, week or month.
+     * The report covers the last 30 days up to today when no dates are given; the periods without sales are left out.
+     *
+     * @param id          The ID of the company.
+     * @param from        The first day of the report, inclusive.
+     * @param to          The last day of the report, inclusive.
+     * @param granularity The length of the periods: day, week (starting on Monday) or month.
+     * @param product     The ID of a product of the company to report alone, or null for all the products.
+     * @return A ResponseEntity containing the sales of each period or an error message.
+     */
+    @GetMapping("/analytics/company/{id}/sales")
+    public ResponseEntity<?> getCompanySales(@PathVariable Integer id,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(defaultValue = "day") String granularity,
+                                             @RequestParam(required = false) Integer product) {
+        try {
+            ISalesRollup.Granularity period;
+            try {
+                period = ISalesRollup.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Unknown granularity: " + granularity);
+            }
+            if (to == null) {
+                to = from == null ? LocalDate.now() : from.plusDays(DEFAULT_DAYS - 1);
+            }
+            if (from == null) {
+                from = to.minusDays(DEFAULT_DAYS - 1);
+            }
+            if (from.isAfter(to)) {
+                return ResponseEntity.badRequest().body("The start date is after the end date");
+            }
+            if (companyService.findByIdCompany(id) == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Company not found");
+            }
+            return ResponseEntity.ok(salesRollup.findSales(id, product, from, to, period));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting sales");
+        }
+    }
+}
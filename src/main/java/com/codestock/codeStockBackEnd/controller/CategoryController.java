@@ -1,5 +1,6 @@
 package com.codestock.codeStockBackEnd.controller;
 
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
 import com.codestock.codeStockBackEnd.service.ICategory;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * This class represents the Category Controller in the application.
@@ -32,24 +34,36 @@ public class CategoryController {
      */
     private final ICategory categoryService;
 
+    /**
+     * The versions of the catalog, used as ETags.
+     */
+    private final ICatalogVersion catalogVersion;
+
     /**
      * Constructs a new CategoryController with the specified Category service.
      *
      * @param categoryService The service to be used by the CategoryController.
+     * @param catalogVersion  The versions of the catalog, used as ETags.
      */
     @Autowired
-    public CategoryController(ICategory categoryService) {
+    public CategoryController(ICategory categoryService, ICatalogVersion catalogVersion) {
         this.categoryService = categoryService;
+        this.catalogVersion = catalogVersion;
     }
 
     /**
      * This method is used to get all categories.
      * It is mapped to the HTTP GET method and the URL /api/v1/category.
+     * The response carries the ETag of the list; a request whose If-None-Match matches it gets a 304.
      *
+     * @param request The web request, to check the If-None-Match header.
      * @return A ResponseEntity that contains the list of all categories.
      */
     @GetMapping("/category")
-    public ResponseEntity<?> getAllCategories() {
+    public ResponseEntity<?> getAllCategories(WebRequest request) {
+        if (request.checkNotModified(catalogVersion.categoriesETag())) {
+            return null;
+        }
         return ResponseEntity.ok(categoryService.findAllCategory());
     }
 }
\ No newline at end of file
@@ -2,17 +2,18 @@ package com.codestock.codeStockBackEnd.controller;
 
 import com.codestock.codeStockBackEnd.model.dto.CompanyDTO;
 import com.codestock.codeStockBackEnd.model.entity.Company;
-import com.codestock.codeStockBackEnd.model.entity.Product;
+import com.codestock.codeStockBackEnd.model.entity.Job;
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
 import com.codestock.codeStockBackEnd.service.ICompany;
-import com.codestock.codeStockBackEnd.service.IPrice;
-import com.codestock.codeStockBackEnd.service.IProduct;
-import com.codestock.codeStockBackEnd.service.IProductCategory;
+import com.codestock.codeStockBackEnd.service.IJob;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -28,34 +29,39 @@ import java.util.Map;
 public class CompanyController {
 
     private final ICompany companyService;
-    private final IProduct productService;
-    private final IPrice priceService;
-    private final IProductCategory productCategoryService;
+    private final IJob jobService;
+    private final ICatalogVersion catalogVersion;
 
     /**
      * Constructor for the CompanyController.
      * It uses Spring's @Autowired annotation for dependency injection.
      *
      * @param companyService The service to handle company operations.
-     * @param productService The service to handle product operations.
+     * @param jobService     The service running the deletion of the companies in the background.
+     * @param catalogVersion The versions of the catalog, used as ETags.
      */
     @Autowired
-    public CompanyController(ICompany companyService, IProduct productService, IPrice priceService, IProductCategory productCategoryService) {
+    public CompanyController(ICompany companyService, IJob jobService, ICatalogVersion catalogVersion) {
         this.companyService = companyService;
-        this.productService = productService;
-        this.priceService = priceService;
-        this.productCategoryService = productCategoryService;
+        this.jobService = jobService;
+        this.catalogVersion = catalogVersion;
     }
 
     /**
      * Handles the GET request to retrieve all companies.
+     * The response carries the ETag of the list; a request whose If-None-Match matches it gets a 304
+     * without reading the database.
      *
+     * @param request The web request, to check the If-None-Match header.
      * @return A ResponseEntity containing the list of companies or an error message.
      */
 
     @GetMapping("/companies")
-    public ResponseEntity<?> getCompanies() {
+    public ResponseEntity<?> getCompanies(WebRequest request) {
         try {
+            if (request.checkNotModified(catalogVersion.companiesETag())) {
+                return null;
+            }
             Iterable<Company> companies = companyService.findAllCompany();
             List<CompanyDTO> companyDTOList = new ArrayList<>();
 
@@ -125,22 +131,22 @@ public class CompanyController {
 
     /**
      * Handles the DELETE request to delete a company by its ID.
+     * The company and its products are deleted by a background job, in chunks; the response is a 202
+     * pointing to the job, whose progress is read at /jobs/{id}.
      *
      * @param id The ID of the company.
-     * @return A ResponseEntity containing a success message or an error message.
+     * @return A ResponseEntity containing the ID of the job or an error message.
      */
     @DeleteMapping("/company/{id}")
     public ResponseEntity<?> deleteCompanyById(@PathVariable Integer id) {
         try {
-            Iterable<Product> products = productService.findAllByIdCompany(id);
-            for (Product product : products) {
-                priceService.deleteByIdProduct(product.getIdProduct());
-                productCategoryService.deleteByIdProduct(product.getIdProduct());
+            if (companyService.findByIdCompany(id) == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Company not found");
             }
-            productService.deleteByIdCompany(id);
-
-            companyService.deleteByIdCompany(id);
-            return ResponseEntity.ok(Map.of("statusCode", HttpStatus.OK.value(), "message", "Company deleted successfully"));
+            Job job = jobService.startCompanyDeletion(id);
+            return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.getIdJob()))
+                    .body(Map.of("statusCode", HttpStatus.ACCEPTED.value(), "message", "Company deletion started",
+                            "idJob", job.getIdJob()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error deleting company");
         }
@@ -0,0 +1,62 @@
+package com.codestock.codeStockBackEnd.controller;
+
+import com.codestock.codeStockBackEnd.model.dto.JobDTO;
+import com.codestock.codeStockBackEnd.model.entity.Job;
+import com.codestock.codeStockBackEnd.service.IJob;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * This class represents the Job Controller.
+ * It handles HTTP requests and responses for the background jobs, such as the deletion of a company.
+ * It uses Spring Boot annotations for RESTful web services.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Job", description = "Job Controller")
+public class JobController {
+
+    private final IJob jobService;
+
+    /**
+     * Constructor for the JobController.
+     * It uses Spring's @Autowired annotation for dependency injection.
+     *
+     * @param jobService The service to handle the background jobs.
+     */
+    @Autowired
+    public JobController(IJob jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Handles the GET request to retrieve a job, with its status and progress.
+     *
+     * @param id The ID of the job.
+     * @return A ResponseEntity containing the job or an error message.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJobById(@PathVariable Integer id) {
+        try {
+            Job job = jobService.findById(id);
+            if (job == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found");
+            }
+            return ResponseEntity.ok(JobDTO.builder().idJob(job.getIdJob())
+                    .type(job.getType())
+                    .idTarget(job.getIdTarget())
+                    .status(job.getStatus())
+                    .processed(job.getProcessed())
+                    .total(job.getTotal())
+                    .error(job.getError())
+                    .created(job.getCreated())
+                    .updated(job.getUpdated())
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting job");
+        }
+    }
+}
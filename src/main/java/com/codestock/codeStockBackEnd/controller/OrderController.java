@@ -4,13 +4,16 @@ import com.codestock.codeStockBackEnd.model.dto.*;
 import com.codestock.codeStockBackEnd.model.entity.*;
 import com.codestock.codeStockBackEnd.service.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.net.URI;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -23,72 +26,112 @@ import java.util.Map;
 @RequestMapping("/api/v1")
 @Tag(name = "Order", description = "The Order API")
 public class OrderController {
+    // Default number of orders of a page
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    // Maximum number of orders of a page
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final IProductOrder productOrderService;
     private final IOrder orderService;
-    private final IProduct productService;
-    private final IPrice priceService;
     private final IClient clientService;
-    private final IProductCategory productCategoryService;
-    private final ICategory categoryService;
+    private final ISalesRollup salesRollup;
+    private final IOrderQueue orderQueue;
+    private final IStock stockService;
 
     /**
      * Constructor for the OrderController.
      * It uses dependency injection to get the required services.
      *
-     * @param productOrderService    The service to handle product order operations.
-     * @param orderService           The service to handle order operations.
-     * @param productService         The service to handle product operations.
-     * @param priceService           The service to handle price operations.
-     * @param productCategoryService The service to handle product category operations.
-     * @param categoryService        The service to handle category operations.
+     * @param productOrderService The service to handle product order operations.
+     * @param orderService        The service to handle order operations.
+     * @param clientService       The service to find the client placing an order.
+     * @param salesRollup         The service of the daily sales, updated when an order is deleted.
+     * @param orderQueue          The queue of the orders placed in the background.
+     * @param stockService        The service of the stock, which gets back the units of a deleted order.
      */
-    public OrderController(IProductOrder productOrderService, IOrder orderService, IProduct productService, IPrice priceService, IClient clientService, IProductCategory productCategoryService, ICategory categoryService) {
+    public OrderController(IProductOrder productOrderService, IOrder orderService, IClient clientService, ISalesRollup salesRollup,
+                           IOrderQueue orderQueue, IStock stockService) {
         this.productOrderService = productOrderService;
         this.orderService = orderService;
-        this.productService = productService;
-        this.priceService = priceService;
         this.clientService = clientService;
-        this.productCategoryService = productCategoryService;
-        this.categoryService = categoryService;
+        this.salesRollup = salesRollup;
+        this.orderQueue = orderQueue;
+        this.stockService = stockService;
 
     }
 
     /**
      * Handles the POST request to save an order.
+     * The lines of the same product are merged and all the products are checked with a single query;
+     * an unknown product or a quantity that is not positive gives a 400 and nothing is written.
+     * A retry sent with the same Idempotency-Key header gets back the first response, see IdempotencyFilter.
+     * With async=true the order is only checked and queued, and a 202 gives the token to follow it;
+     * it is placed in the background together with other orders.
      *
      * @param orderRequestDTO The OrderRequestDTO object that contains the data to be saved.
+     * @param async           Whether the order is queued instead of placed before the response.
      * @return A ResponseEntity containing a success message or an error message.
      */
     @PostMapping("/order")
-    @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<?> saveOrder(@RequestBody OrderRequestDTO orderRequestDTO) {
+    public ResponseEntity<?> saveOrder(@RequestBody OrderRequestDTO orderRequestDTO,
+                                       @RequestParam(defaultValue = "false") boolean async) {
         try {
             Client client = clientService.findByIdPerson(orderRequestDTO.getIdPerson());
-            Order orderSave = orderService.save(Order.builder()
-                    .idOrder(0)
-                    .idClient(client.getIdClient())
-                    .date(orderRequestDTO.getDate())
-                    .build());
-            for (OrderProductRequestDTO productOrder : orderRequestDTO.getProducts()) {
-                productOrderService.save(ProductOrder.builder().idOrder(orderSave.getIdOrder())
-                        .idProduct(productOrder.getIdProduct())
-                        .quantity(productOrder.getQuantity())
+            if (client == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Client not found");
+            }
+            if (async) {
+                String token = orderQueue.submit(OrderPlacementDTO.builder().idClient(client.getIdClient())
+                        .date(orderRequestDTO.getDate())
+                        .products(orderRequestDTO.getProducts())
                         .build());
-
+                return ResponseEntity.accepted().location(URI.create("/api/v1/order/token/" + token)).body(Map.of(
+                        "statusCode", HttpStatus.ACCEPTED.value(),
+                        "message", "Order queued",
+                        "token", token
+                ));
             }
+            Order orderSave = orderService.placeOrder(client.getIdClient(), orderRequestDTO.getDate(), orderRequestDTO.getProducts());
 
             return ResponseEntity.ok(Map.of(
                     "statusCode", HttpStatus.OK.value(),
-                    "message", "Order saved successfully"
+                    "message", "Order saved successfully",
+                    "idOrder", orderSave.getIdOrder()
             ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error saving order");
         }
     }
 
+    /**
+     * Handles the GET request to retrieve the status of an order queued with async=true.
+     * Once the order is placed, the status holds its ID; if it could not be placed, the reason.
+     *
+     * @param token The token returned when the order was queued.
+     * @return A ResponseEntity containing the status of the order or an error message.
+     */
+    @GetMapping("/order/token/{token}")
+    public ResponseEntity<?> getOrderToken(@PathVariable String token) {
+        try {
+            OrderTokenDTO status = orderQueue.findByToken(token);
+            if (status == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Token not found");
+            }
+            return ResponseEntity.ok(status);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting order status");
+        }
+    }
+
     /**
      * Handles the DELETE request to delete an order by its ID.
+     * The order is removed from the daily sales and its units are given back to the stock first,
+     * while its lines and their prices still exist;
+     * if a delete fails, the whole transaction is rolled back, so the daily sales and the stock are left as they were.
      *
      * @param id The ID of the order to be deleted.
      * @return A ResponseEntity containing a success message or an error message.
@@ -97,6 +140,14 @@ public class OrderController {
     @Transactional(rollbackFor = Exception.class)
     public ResponseEntity<?> deleteOrder(@PathVariable Integer id) {
         try {
+            salesRollup.removeOrder(id);
+            Map<Integer, Integer> quantities = new HashMap<>();
+            for (ProductOrder line : productOrderService.findByIdOrder(id)) {
+                if (line.getQuantity() != null) {
+                    quantities.merge(line.getIdProduct(), line.getQuantity(), Integer::sum);
+                }
+            }
+            stockService.restock(quantities);
             productOrderService.deleteByIdOrder(id);
             orderService.deleteById(id);
             return ResponseEntity.ok(Map.of(
@@ -104,98 +155,71 @@ public class OrderController {
                     "message", "Order deleted successfully"
             ));
         } catch (Exception e) {
-
+            // The exception is not rethrown, so the transaction is rolled back explicitly
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return ResponseEntity.status(500).body("Error deleting order");
         }
     }
 
     /**
      * Handles the GET request to get an order by its ID.
+     * By default only the products of the order are returned, as a list. With the details flag the whole order
+     * is returned instead, with its products, its lines with the unit prices copied when it was placed, and its totals.
+     * Either way it is assembled with a fixed number of queries.
      *
-     * @param id The ID of the order to be found.
-     * @return A ResponseEntity containing the found order or an error message.
+     * @param id      The ID of the order to be found.
+     * @param details If true, the whole order is returned instead of the list of its products.
+     * @return A ResponseEntity containing the products of the found order, or the order, or an error message.
      */
     @GetMapping("/order/{id}")
-    public ResponseEntity<?> getOrderByIdWhitProduct(@PathVariable Integer id) {
+    public ResponseEntity<?> getOrderByIdWhitProduct(@PathVariable Integer id,
+                                                     @RequestParam(defaultValue = "false") boolean details) {
         try {
-            Order order = orderService.findById(id);
+            OrderResponseDTO order = orderService.findHistoryById(id);
             if (order == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Order not found");
             }
-
-            Iterable<ProductOrder> productOrderList = productOrderService.findByIdOrder(id);
-            List<ProductResponseDTO> productOrderResponseDTOList = new ArrayList<>();
-
-            forProduct(productOrderList, productOrderResponseDTOList);
-
-            return ResponseEntity.ok(productOrderResponseDTOList);
+            return ResponseEntity.ok(details ? order : order.getProducts());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting order");
         }
     }
 
     /**
-     * Handles the GET request to get all orders
-     * return A ResponseEntity containing a list of orders or an error message.
-     */
-    private void forProduct(Iterable<ProductOrder> productOrderList, List<ProductResponseDTO> productOrderResponseDTOList) {
-        for (ProductOrder productOrder : productOrderList) {
-            Product product = productService.findById(productOrder.getIdProduct());
-            if (product != null) {
-                Iterable<Price> price = priceService.findByIdProduct(product.getIdProduct());
-                List<PriceDTO> prices = new ArrayList<>();
-                Iterable<ProductCategory> productCategory = productCategoryService.findByIdProduct(product.getIdProduct());
-                List<CategoryDTO> categories = new ArrayList<>();
-                for (ProductCategory pc : productCategory) {
-                    Category category = categoryService.findByIdCategory(pc.getIdCategory());
-                    categories.add(CategoryDTO.builder().idCategory(category.getIdCategory())
-                            .name(category.getName())
-                            .build());
-                }
-                for (Price p : price) {
-                    prices.add(PriceDTO.builder().idCurrency(p.getIdCurrency())
-                            .price(p.getPrice())
-                            .idProduct(p.getIdProduct())
-                            .build());
-                }
-                productOrderResponseDTOList.add(ProductResponseDTO.builder()
-                        .idProduct(product.getIdProduct())
-                        .code(product.getCode())
-                        .name(product.getName())
-                        .characteristics(product.getCharacteristics())
-                        .idCompany(product.getIdCompany())
-                        .prices(prices)
-                        .categories(categories)
-                        .build());
-            }
-        }
-    }
-
-    /**
-     * Handles the GET request to get all orders.
+     * Handles the GET request to get the orders of a client.
+     * By default all the orders of the client are returned in a single list, as before paging existed. When a limit
+     * or a cursor is given, they are returned newest first in pages read with keyset pagination on (date, idOrden)
+     * instead, with the cursor of the next page. The orders, their lines and their products are read with a fixed number of queries,
+     * whatever the number of orders, and a product ordered several times is assembled once.
      *
-     * @return A ResponseEntity containing a list of orders or an error message.
+     * @param id     The ID of the client.
+     * @param from   The first date of the orders (yyyy-MM-dd), inclusive, or null for no lower bound.
+     * @param to     The last date of the orders (yyyy-MM-dd), inclusive, or null for no upper bound.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The maximum number of orders of the page, or null for DEFAULT_PAGE_SIZE when paging.
+     * @return A ResponseEntity containing the list or page of orders or an error message.
      */
     @GetMapping("/order/client/{id}")
-    public ResponseEntity<?> getOrderByClient(@PathVariable Integer id) {
+    public ResponseEntity<?> getOrderByClient(@PathVariable Integer id,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date to,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
         try {
-            Iterable<Order> orders = orderService.findAllByIdClient(id);
-            List<OrderResponseDTO> orderResponseDTOList = new ArrayList<>();
-
-            for (Order order : orders) {
-                List<ProductResponseDTO> productOrderResponseDTOList = new ArrayList<>();
-                Iterable<ProductOrder> productOrderList = productOrderService.findByIdOrder(order.getIdOrder());
-
-                forProduct(productOrderList, productOrderResponseDTOList);
-
-                orderResponseDTOList.add(OrderResponseDTO.builder()
-                        .idOrder(order.getIdOrder())
-                        .idClient(order.getIdClient())
-                        .date(order.getDate())
-                        .products(productOrderResponseDTOList)
-                        .build());
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(orderService.findHistoryByIdClient(id, from, to));
+            }
+            if (limit == null) {
+                limit = DEFAULT_PAGE_SIZE;
+            }
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body("The limit must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            try {
+                return ResponseEntity.ok(orderService.findHistoryPage(id, from, to, cursor, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Invalid cursor");
             }
-            return ResponseEntity.ok(orderResponseDTOList);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting orders");
         }
@@ -2,22 +2,34 @@ package com.codestock.codeStockBackEnd.controller;
 
 import com.codestock.codeStockBackEnd.methods.BuildPDFMethod;
 import com.codestock.codeStockBackEnd.methods.BuildPDFMethodUserOrder;
+import com.codestock.codeStockBackEnd.methods.CursorCodec;
+import com.codestock.codeStockBackEnd.methods.InvertedIndex;
+import com.codestock.codeStockBackEnd.methods.ProductFields;
 import com.codestock.codeStockBackEnd.model.dto.*;
-import com.codestock.codeStockBackEnd.model.entity.Category;
-import com.codestock.codeStockBackEnd.model.entity.Price;
 import com.codestock.codeStockBackEnd.model.entity.Product;
 import com.codestock.codeStockBackEnd.model.entity.ProductCategory;
 import com.codestock.codeStockBackEnd.service.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
-
-import java.util.ArrayList;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 
 /**
@@ -29,15 +41,45 @@ import java.util.Map;
 @RequestMapping("/api/v1")
 @Tag(name = "Products", description = "Products Controller")
 public class ProductsController {
+    // Default number of products of a page
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    // Maximum number of products of a page
+    private static final int MAX_PAGE_SIZE = 500;
+    // Default number of products returned by a search
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+    // Number of products assembled at once while streaming the catalog
+    private static final int STREAM_CHUNK_SIZE = 500;
+    // Media type of the newline delimited JSON stream
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // Media type of the CSV import
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
     // Service to handle operations related to products
     private final IProduct productService;
     // Service to handle operations related to prices
     private final IPrice priceService;
     // Service to handle operations related to product categories
     private final IProductCategory productCategoryService;
-    // Service to handle operations related to categories
-    private final ICategory categoryService;
     private final ICompany companyService;
+    // Service to assemble products together with their prices and categories
+    private final ICatalog catalogService;
+    // Cache of the assembled products, by product and by company
+    private final ICatalogCache catalogCache;
+    // Dictionary of the categories and currencies
+    private final IDictionary dictionary;
+    // Matrix of the prices of each company
+    private final IPriceMatrix priceMatrix;
+    // Versions of the catalog, used as ETags
+    private final ICatalogVersion catalogVersion;
+    // In-memory full-text index of the products
+    private final ISearchIndex searchIndex;
+    // In-memory category and company bitmaps of the products
+    private final ICategoryIndex categoryIndex;
+    // In-memory prices of each currency, sorted by price
+    private final IPriceIndex priceIndex;
+    // Service to import products in bulk
+    private final IProductImport productImport;
+    // Mapper to write the streamed products
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor for the ProductsController.
@@ -46,64 +88,86 @@ public class ProductsController {
      * @param productService         The service to handle product operations.
      * @param priceService           The service to handle price operations.
      * @param productCategoryService The service to handle product category operations.
-     * @param categoryService        The service to handle category operations.
+     * @param catalogService         The service to assemble products with their prices and categories.
+     * @param catalogCache           The cache of the assembled products.
+     * @param dictionary             The dictionary of the categories and currencies.
+     * @param priceMatrix            The matrix of the prices of each company.
+     * @param catalogVersion         The versions of the catalog, used as ETags.
+     * @param searchIndex            The in-memory full-text index of the products.
+     * @param categoryIndex          The in-memory category and company bitmaps of the products.
+     * @param priceIndex             The in-memory prices of each currency, sorted by price.
+     * @param productImport          The service to import products in bulk.
+     * @param objectMapper           The mapper to write the streamed products.
      */
     @Autowired
-    public ProductsController(IProduct productService, IPrice priceService, IProductCategory productCategoryService, ICategory categoryService, ICompany companyService) {
+    public ProductsController(IProduct productService, IPrice priceService, IProductCategory productCategoryService, ICompany companyService, ICatalog catalogService, ICatalogCache catalogCache, IDictionary dictionary, IPriceMatrix priceMatrix, ICatalogVersion catalogVersion, ISearchIndex searchIndex, ICategoryIndex categoryIndex, IPriceIndex priceIndex, IProductImport productImport, ObjectMapper objectMapper) {
 
-        this.categoryService = categoryService;
         this.productCategoryService = productCategoryService;
         this.productService = productService;
         this.priceService = priceService;
         this.companyService = companyService;
+        this.catalogService = catalogService;
+        this.catalogCache = catalogCache;
+        this.dictionary = dictionary;
+        this.priceMatrix = priceMatrix;
+        this.catalogVersion = catalogVersion;
+        this.searchIndex = searchIndex;
+        this.categoryIndex = categoryIndex;
+        this.priceIndex = priceIndex;
+        this.productImport = productImport;
+        this.objectMapper = objectMapper;
 
     }
 
     /**
      * Handles the GET request to retrieve products by company.
+     * The products are returned in pages read with keyset pagination, unless the unpaged flag is set
+     * or a stream format is requested.
+     * The fields and currency parameters select the parts of the products returned; the others are not read.
+     * The response carries the ETag of the company; a request whose If-None-Match matches it gets a 304
+     * without reading the database.
      *
-     * @param id The ID of the company.
-     * @return A ResponseEntity containing the list of products or an error message.
+     * @param id       The ID of the company.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param limit    The maximum number of products of the page.
+     * @param unpaged  If true, all the products of the company are returned in a single list.
+     * @param stream   If "ndjson" or "json", all the products of the company are streamed in that format.
+     * @param fields   The comma separated fields of the products to return, or null for all the fields.
+     * @param currency The ID of the currency of the prices to return, or null for all the currencies.
+     * @param request  The web request, to check the If-None-Match header.
+     * @return A ResponseEntity containing the page, list or stream of products or an error message.
      */
     @GetMapping("/productsCompany/{id}")
-    public ResponseEntity<?> getProductsByCompany(@PathVariable Integer id) {
+    public ResponseEntity<?> getProductsByCompany(@PathVariable Integer id,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) Integer limit,
+                                                  @RequestParam(defaultValue = "false") boolean unpaged,
+                                                  @RequestParam(required = false) String stream,
+                                                  @RequestParam(required = false) String fields,
+                                                  @RequestParam(required = false) Integer currency,
+                                                  WebRequest request) {
+        ProductFields productFields;
         try {
-            Iterable<Product> products = productService.findAllByIdCompany(id);
-
-            List<ProductResponseDTO> productDTOList = new ArrayList<>();
-
-            for (Product product : products) {
-                Iterable<Price> price = priceService.findByIdProduct(product.getIdProduct());
-                Iterable<ProductCategory> productCategory = productCategoryService.findByIdProduct(product.getIdProduct());
-                List<CategoryDTO> categories = new ArrayList<>();
-                for (ProductCategory pc : productCategory) {
-                    Category category = categoryService.findByIdCategory(pc.getIdCategory());
-                    categories.add(CategoryDTO.builder().idCategory(category.getIdCategory())
-                            .name(category.getName())
-                            .build());
-                }
-                List<PriceDTO> prices = new ArrayList<>();
-                for (Price p : price) {
-                    prices.add(PriceDTO.builder().idCurrency(p.getIdCurrency())
-                            .price(p.getPrice())
-                            .idProduct(p.getIdProduct())
-                            .build());
-                }
-
-
-                productDTOList.add(ProductResponseDTO.builder().idProduct(product.getIdProduct())
-                        .code(product.getCode())
-                        .name(product.getName())
-                        .characteristics(product.getCharacteristics())
-                        .idCompany(product.getIdCompany())
-                        .prices(prices)
-                        .categories(categories)
-                        .build());
+            productFields = ProductFields.parse(fields, currency);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        try {
+            // The version is read before the data, so the ETag is never newer than the body
+            if (request.checkNotModified(catalogVersion.companyETag(id))) {
+                return null;
             }
-            if (productDTOList.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Products not found");
+            if (stream != null) {
+                return streamProducts(id, stream, productFields);
             }
-            return ResponseEntity.ok(productDTOList);
+            if (unpaged) {
+                List<ProductResponseDTO> productDTOList = catalogCache.findAllByIdCompany(id);
+                if (productDTOList.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Products not found");
+                }
+                return ResponseEntity.ok(productFields.apply(productDTOList));
+            }
+            return getProductPage(id, cursor, limit, productFields);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting products");
         }
@@ -111,96 +175,315 @@ public class ProductsController {
 
     /**
      * Handles the GET request to retrieve a product by its ID.
+     * The response carries the ETag of the product; a request whose If-None-Match matches it gets a 304
+     * without reading the database.
      *
-     * @param id The ID of the product.
+     * @param id       The ID of the product.
+     * @param fields   The comma separated fields of the product to return, or null for all the fields.
+     * @param currency The ID of the currency of the prices to return, or null for all the currencies.
+     * @param request  The web request, to check the If-None-Match header.
      * @return A ResponseEntity containing the product or an error message.
      */
     @GetMapping("/product/{id}")
-    public ResponseEntity<?> getProductById(@PathVariable Integer id) {
+    public ResponseEntity<?> getProductById(@PathVariable Integer id,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestParam(required = false) Integer currency,
+                                            WebRequest request) {
+        ProductFields productFields;
         try {
-            Product product = productService.findById(id);
+            productFields = ProductFields.parse(fields, currency);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        try {
+            if (request.checkNotModified(catalogVersion.productETag(id))) {
+                return null;
+            }
+            ProductResponseDTO product = catalogCache.findById(id);
             if (product == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Product not found");
             }
-            Iterable<Price> price = priceService.findByIdProduct(product.getIdProduct());
-            List<PriceDTO> prices = new ArrayList<>();
-            Iterable<ProductCategory> productCategory = productCategoryService.findByIdProduct(product.getIdProduct());
-            List<CategoryDTO> categories = new ArrayList<>();
-            for (ProductCategory pc : productCategory) {
-                Category category = categoryService.findByIdCategory(pc.getIdCategory());
-                categories.add(CategoryDTO.builder().idCategory(category.getIdCategory())
-                        .name(category.getName())
-                        .build());
-            }
-            for (Price p : price) {
-                prices.add(PriceDTO.builder().idCurrency(p.getIdCurrency())
-                        .price(p.getPrice())
-                        .idProduct(p.getIdProduct())
-                        .build());
-            }
-
-
-            return ResponseEntity.ok(ProductResponseDTO.builder().idProduct(product.getIdProduct())
-                    .code(product.getCode())
-                    .name(product.getName())
-                    .characteristics(product.getCharacteristics())
-                    .idCompany(product.getIdCompany())
-                    .prices(prices)
-                    .categories(categories)
-                    .build());
+            return ResponseEntity.ok(productFields.apply(product));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting product");
         }
     }
 
     /**
-     * Handles the GET request to retrieve all products.
+     * Handles the GET request to search products by their code, name and characteristics.
+     * The matches are ranked with BM25 by the in-memory search index; accents and case are ignored,
+     * and a word ending with '*' matches every word starting with it.
      *
-     * @return A ResponseEntity containing the list of products or an error message.
+     * @param q         The query.
+     * @param idCompany The ID of the company whose products are searched, or null for all the products.
+     * @param limit     The maximum number of products returned.
+     * @param fields    The comma separated fields of the products to return, or null for all the fields.
+     * @param currency  The ID of the currency of the prices to return, or null for all the currencies.
+     * @return A ResponseEntity containing the matching products, best first, or an error message.
      */
-    @GetMapping("/products")
-    public ResponseEntity<?> getProducts() {
+    @GetMapping("/products/search")
+    public ResponseEntity<?> searchProducts(@RequestParam String q,
+                                            @RequestParam(required = false) Integer idCompany,
+                                            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_SIZE) Integer limit,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestParam(required = false) Integer currency) {
+        ProductFields productFields;
         try {
-            Iterable<Product> products = productService.findAll();
-            List<ProductResponseDTO> productDTOList = new ArrayList<>();
-
-            for (Product product : products) {
-                Iterable<Price> price = priceService.findByIdProduct(product.getIdProduct());
-                List<PriceDTO> prices = new ArrayList<>();
-                for (Price p : price) {
-                    prices.add(PriceDTO.builder().idCurrency(p.getIdCurrency())
-                            .price(p.getPrice())
-                            .idProduct(p.getIdProduct())
-                            .build());
-                }
-                Iterable<ProductCategory> productCategory = productCategoryService.findByIdProduct(product.getIdProduct());
-                List<CategoryDTO> categories = new ArrayList<>();
-                for (ProductCategory pc : productCategory) {
-                    Category category = categoryService.findByIdCategory(pc.getIdCategory());
-                    categories.add(CategoryDTO.builder().idCategory(category.getIdCategory())
-                            .name(category.getName())
-                            .build());
-                }
-                productDTOList.add(ProductResponseDTO.builder().idProduct(product.getIdProduct())
-                        .code(product.getCode())
-                        .name(product.getName())
-                        .characteristics(product.getCharacteristics())
-                        .idCompany(product.getIdCompany())
-                        .prices(prices)
-                        .categories(categories)
-                        .build());
-            }
+            productFields = ProductFields.parse(fields, currency);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("The limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        try {
+            List<Integer> ids = searchIndex.search(q, idCompany, limit).stream().map(InvertedIndex.Hit::idProduct).toList();
+            List<ProductResponseDTO> productDTOList = catalogService.findAllById(ids, productFields);
             if (productDTOList.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Products not found");
             }
             return ResponseEntity.ok(productDTOList);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error searching products");
+        }
+    }
+
+    /**
+     * Handles the GET request to retrieve the statistics of the catalog cache.
+     *
+     * @return A ResponseEntity containing the hit, miss, load and eviction statistics of the caches.
+     */
+    @GetMapping("/products/cacheStats")
+    public ResponseEntity<?> getCatalogCacheStats() {
+        return ResponseEntity.ok(catalogCache.stats());
+    }
+
+    /**
+     * Handles the GET request to retrieve all products.
+     * The products are returned in pages read with keyset pagination, unless the unpaged flag is set
+     * or a stream format is requested. The products filtered by categories or by price are always returned in pages.
+     * Price bounds or a price sort return the products that have a price in the currency, sorted by that price.
+     * The fields and currency parameters select the parts of the products returned; the others are not read.
+     *
+     * @param idCompany  The ID of the company to filter the products by, or null for all the products.
+     * @param categories The IDs of the categories to filter the products by, or null for no filter.
+     * @param match      "all" if the products must be in all the categories, "any" if in any of them.
+     * @param currency   The ID of the currency of the prices to return and to filter and sort by, or null.
+     * @param minPrice   The minimum price in the currency, inclusive, or null.
+     * @param maxPrice   The maximum price in the currency, inclusive, or null.
+     * @param sort       "price" to sort by ascending price, "-price" by descending price. Requires the currency.
+     * @param cursor     The cursor returned with the previous page, or null for the first page.
+     * @param limit      The maximum number of products of the page.
+     * @param unpaged    If true, all the products are returned in a single list.
+     * @param stream     If "ndjson" or "json", all the products are streamed in that format.
+     * @param fields     The comma separated fields of the products to return, or null for all the fields.
+     * @return A ResponseEntity containing the page, list or stream of products or an error message.
+     */
+    @GetMapping("/products")
+    public ResponseEntity<?> getProducts(@RequestParam(required = false) Integer idCompany,
+                                         @RequestParam(required = false) List<Integer> categories,
+                                         @RequestParam(defaultValue = "all") String match,
+                                         @RequestParam(required = false) Integer currency,
+                                         @RequestParam(required = false) Double minPrice,
+                                         @RequestParam(required = false) Double maxPrice,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) Integer limit,
+                                         @RequestParam(defaultValue = "false") boolean unpaged,
+                                         @RequestParam(required = false) String stream,
+                                         @RequestParam(required = false) String fields) {
+        ProductFields productFields;
+        try {
+            productFields = ProductFields.parse(fields, currency);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        try {
+            boolean byPrice = minPrice != null || maxPrice != null || sort != null;
+            if (byPrice && categories != null && !categories.isEmpty()) {
+                return ResponseEntity.badRequest().body("The categories and price filters cannot be combined");
+            }
+            if (categories != null && !categories.isEmpty()) {
+                return getProductPageByCategories(idCompany, categories, match, cursor, limit, productFields);
+            }
+            if (byPrice) {
+                return getProductPageByPrice(idCompany, currency, minPrice, maxPrice, sort, cursor, limit, productFields);
+            }
+            if (stream != null) {
+                return streamProducts(idCompany, stream, productFields);
+            }
+            if (unpaged) {
+                List<ProductResponseDTO> productDTOList = idCompany == null
+                        ? catalogService.findAll(productFields)
+                        : productFields.apply(catalogCache.findAllByIdCompany(idCompany));
+                if (productDTOList.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Products not found");
+                }
+                return ResponseEntity.ok(productDTOList);
+            }
+            return getProductPage(idCompany, cursor, limit, productFields);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting products");
         }
     }
 
+    /**
+     * Reads a page of products with keyset pagination.
+     *
+     * @param idCompany The ID of the company to filter the products by, or null for all the products.
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param limit     The maximum number of products of the page.
+     * @param fields    The requested fields.
+     * @return A ResponseEntity containing the page of products or an error message.
+     */
+    private ResponseEntity<?> getProductPage(Integer idCompany, String cursor, Integer limit, ProductFields fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("The limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ProductPageDTO page;
+        try {
+            page = catalogService.findPage(idCompany, cursor, limit, fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        if (page.getProducts().isEmpty() && cursor == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Products not found");
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Reads a page of the products in all (or any) of the given categories, with keyset pagination.
+     * The ids of the products are found by intersecting or uniting the in-memory category bitmaps.
+     *
+     * @param idCompany  The ID of the company to filter the products by, or null for all the products.
+     * @param categories The IDs of the categories.
+     * @param match      "all" if the products must be in all the categories, "any" if in any of them.
+     * @param cursor     The cursor returned with the previous page, or null for the first page.
+     * @param limit      The maximum number of products of the page.
+     * @param fields     The requested fields.
+     * @return A ResponseEntity containing the page of products or an error message.
+     */
+    private ResponseEntity<?> getProductPageByCategories(Integer idCompany, List<Integer> categories, String match, String cursor, Integer limit, ProductFields fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("The limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean matchAll = "all".equalsIgnoreCase(match);
+        if (!matchAll && !"any".equalsIgnoreCase(match)) {
+            return ResponseEntity.badRequest().body("The match must be all or any");
+        }
+        int after;
+        try {
+            after = cursor == null ? 0 : (int) CursorCodec.decode(cursor, 1)[0];
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        List<Integer> ids = categoryIndex.findProductIds(categories, matchAll, idCompany, after, limit + 1);
+        String nextCursor = null;
+        if (ids.size() > limit) {
+            ids = ids.subList(0, limit);
+            nextCursor = CursorCodec.encode(ids.get(limit - 1));
+        }
+        List<ProductResponseDTO> productDTOList = catalogService.findAllById(ids, fields);
+        if (productDTOList.isEmpty() && cursor == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Products not found");
+        }
+        return ResponseEntity.ok(ProductPageDTO.builder().products(productDTOList)
+                .nextCursor(nextCursor)
+                .limit(limit)
+                .build());
+    }
+
+    /**
+     * Reads a page of the products that have a price in a currency, sorted by that price, with keyset pagination.
+     * The prices are read from the in-memory sorted index of the currency, so the range and the page are found
+     * without scanning the prices. The cursor holds the price and the id of the last product of the page.
+     *
+     * @param idCompany The ID of the company to filter the products by, or null for all the products.
+     * @param currency  The ID of the currency.
+     * @param minPrice  The minimum price, inclusive, or null.
+     * @param maxPrice  The maximum price, inclusive, or null.
+     * @param sort      "price", "-price" or null for ascending price.
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param limit     The maximum number of products of the page.
+     * @param fields    The requested fields.
+     * @return A ResponseEntity containing the page of products or an error message.
+     */
+    private ResponseEntity<?> getProductPageByPrice(Integer idCompany, Integer currency, Double minPrice, Double maxPrice, String sort, String cursor, Integer limit, ProductFields fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("The limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (currency == null) {
+            return ResponseEntity.badRequest().body("The currency is required to filter or sort by price");
+        }
+        if (sort != null && !"price".equals(sort) && !"-price".equals(sort)) {
+            return ResponseEntity.badRequest().body("The sort must be price or -price");
+        }
+        boolean descending = "-price".equals(sort);
+        IPriceIndex.Entry after = null;
+        try {
+            if (cursor != null) {
+                long[] values = CursorCodec.decode(cursor, 2);
+                after = new IPriceIndex.Entry(Double.longBitsToDouble(values[0]), (int) values[1], 0);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+        List<IPriceIndex.Entry> entries = priceIndex.findRange(currency, minPrice, maxPrice, idCompany, descending, after, limit + 1);
+        String nextCursor = null;
+        if (entries.size() > limit) {
+            entries = entries.subList(0, limit);
+            IPriceIndex.Entry last = entries.get(limit - 1);
+            nextCursor = CursorCodec.encode(Double.doubleToLongBits(last.price()), last.idProduct());
+        }
+        List<ProductResponseDTO> productDTOList = catalogService.findAllById(entries.stream().map(IPriceIndex.Entry::idProduct).toList(), fields);
+        if (productDTOList.isEmpty() && cursor == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Products not found");
+        }
+        return ResponseEntity.ok(ProductPageDTO.builder().products(productDTOList)
+                .nextCursor(nextCursor)
+                .limit(limit)
+                .build());
+    }
+
+    /**
+     * Streams all the products, or all the products of a company, as they are read.
+     * The products are read through a database cursor and assembled in chunks of STREAM_CHUNK_SIZE,
+     * so neither the server nor the client has to hold the whole catalog in memory.
+     * The "ndjson" format writes one product per line; the "json" format writes a single JSON array.
+     * Once the stream has started the status can no longer change, so a failure aborts the response.
+     *
+     * @param idCompany The ID of the company to filter the products by, or null for all the products.
+     * @param format    The stream format, "ndjson" or "json".
+     * @param fields    The requested fields.
+     * @return A ResponseEntity containing the stream of products or an error message.
+     */
+    private ResponseEntity<?> streamProducts(Integer idCompany, String format, ProductFields fields) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"json".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().body("The stream format must be ndjson or json");
+        }
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writerFor(ProductResponseDTO.class);
+            try (SequenceWriter sequenceWriter = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(outputStream)
+                    : writer.writeValuesAsArray(outputStream)) {
+                productService.forEachChunk(idCompany, STREAM_CHUNK_SIZE, chunk -> {
+                    try {
+                        sequenceWriter.writeAll(catalogService.assembleInNewTransaction(chunk, fields));
+                        sequenceWriter.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Handles the POST request to save a product.
+     * A retry sent with the same Idempotency-Key header gets back the first response, see IdempotencyFilter.
      *
      * @param productRequestDTO The product to save.
      * @return A ResponseEntity containing the saved product or an error message.
@@ -231,6 +514,7 @@ public class ProductsController {
                         .idProduct(product.getIdProduct())
                         .build());
             }
+            catalogCache.evictProduct(product.getIdProduct(), product.getIdCompany());
             return ResponseEntity.ok(ProductDTO.builder().idProduct(product.getIdProduct())
                     .code(product.getCode())
                     .name(product.getName())
@@ -251,21 +535,70 @@ public class ProductsController {
      * @return A ResponseEntity containing a success message or an error message.
      */
     @DeleteMapping("/product/{id}")
+    @Transactional(rollbackFor = Exception.class)
     public ResponseEntity<?> deleteProduct(@PathVariable Integer id) {
         try {
+            Product product = productService.findById(id);
 
             productCategoryService.deleteByIdProduct(id);
             priceService.deleteByIdProduct(id);
 
             productService.delete(id);
+            catalogCache.evictProduct(id, product == null ? null : product.getIdCompany());
             return ResponseEntity.ok(Map.of("statusCode", HttpStatus.OK.value(), "message", "Product deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error deleting product");
         }
     }
 
+    /**
+     * Handles the POST request to import products in bulk, with their prices and categories.
+     * The body is a CSV text (text/csv) with a header, or one ProductRequestDTO per line (application/x-ndjson).
+     * It is read as a stream and written in chunks, each chunk in its own transaction, so the rows written
+     * before a failure stay written; the report gives the number of rows imported and the error of each failed row.
+     *
+     * @param request The HTTP request, whose body is read as a stream.
+     * @return A ResponseEntity containing the report of the import or an error message.
+     */
+    @PostMapping(value = "/products/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importProducts(HttpServletRequest request) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            ImportReportDTO report = CSV.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                    ? productImport.importCsv(reader)
+                    : productImport.importNdjson(reader);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error importing products");
+        }
+    }
+
+    /**
+     * Handles the POST request to change many prices at once: the prices of a company, of a category
+     * or of a list of products, in one or all the currencies, by a percentage or by an amount.
+     * The prices are changed with set-based updates, and the cached catalog is dropped in one step.
+     *
+     * @param adjustment The products, the currency and the change.
+     * @return A ResponseEntity containing the number of prices changed or an error message.
+     */
+    @PostMapping("/prices/bulk-adjust")
+    public ResponseEntity<?> adjustPrices(@RequestBody PriceAdjustmentDTO adjustment) {
+        try {
+            int updated = priceService.adjust(adjustment);
+            return ResponseEntity.ok(Map.of("statusCode", HttpStatus.OK.value(), "message", "Prices adjusted successfully", "updated", updated));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error adjusting prices");
+        }
+    }
+
     /**
      * Handles the PUT request to update a product.
+     * The product, its prices and its categories are compared to the stored ones and only the differences
+     * are written: a product sent unchanged causes no write at all. The prices and categories sent are all
+     * the prices and categories of the product; a null list leaves them as they are.
      *
      * @param productRequestDTO The product to update.
      * @return A ResponseEntity containing the updated product or an error message.
@@ -274,7 +607,15 @@ public class ProductsController {
     @Transactional(rollbackFor = Exception.class)
     public ResponseEntity<?> updateProduct(@RequestBody ProductRequestDTO productRequestDTO) {
         try {
-            Product product = productService.save(
+            // The company is read before the save, which updates the managed entity in place
+            Product previous = productRequestDTO.getIdProduct() == null ? null : productService.findById(productRequestDTO.getIdProduct());
+            Integer previousIdCompany = previous == null ? null : previous.getIdCompany();
+            boolean productChanged = previous == null
+                    || !Objects.equals(previous.getCode(), productRequestDTO.getCode())
+                    || !Objects.equals(previous.getName(), productRequestDTO.getName())
+                    || !Objects.equals(previous.getCharacteristics(), productRequestDTO.getCharacteristics())
+                    || !Objects.equals(previous.getIdCompany(), productRequestDTO.getIdCompany());
+            Product product = !productChanged ? previous : productService.save(
                     ProductDTO.builder().idProduct(productRequestDTO.getIdProduct())
                             .code(productRequestDTO.getCode())
                             .name(productRequestDTO.getName())
@@ -282,19 +623,22 @@ public class ProductsController {
                             .idCompany(productRequestDTO.getIdCompany())
                             .build()
             );
-            List<PriceDTO> prices = productRequestDTO.getPrices();
-            for (PriceDTO priceDTO : prices) {
-                priceService.save(PriceDTO.builder().idCurrency(priceDTO.getIdCurrency())
-                        .price(priceDTO.getPrice())
-                        .idProduct(product.getIdProduct())
-                        .build());
+            boolean changed = productChanged;
+            if (productRequestDTO.getPrices() != null) {
+                changed |= priceService.replaceAll(product.getIdProduct(), productRequestDTO.getPrices());
             }
-            List<CategoryDTO> categories = productRequestDTO.getCategories();
-            productCategoryService.deleteByIdProduct(product.getIdProduct());
-            for (CategoryDTO categoryDTO : categories) {
-                productCategoryService.save(ProductCategory.builder().idCategory(categoryDTO.getIdCategory())
-                        .idProduct(product.getIdProduct())
-                        .build());
+            if (productRequestDTO.getCategories() != null) {
+                changed |= productCategoryService.replaceAll(product.getIdProduct(),
+                        productRequestDTO.getCategories().stream().map(CategoryDTO::getIdCategory).toList());
+            }
+            if (changed) {
+                catalogCache.evictProduct(product.getIdProduct(), product.getIdCompany());
+            }
+            if (previousIdCompany != null && !previousIdCompany.equals(product.getIdCompany())) {
+                catalogCache.evictProduct(product.getIdProduct(), previousIdCompany);
+                // The rows of the product move between the matrices of the two companies
+                priceMatrix.evictCompany(previousIdCompany);
+                priceMatrix.evictCompany(product.getIdCompany());
             }
             return ResponseEntity.ok(ProductDTO.builder().idProduct(product.getIdProduct())
                     .code(product.getCode())
@@ -314,9 +658,12 @@ public class ProductsController {
      * @return A ResponseEntity containing a success message or an error message.
      */
     @DeleteMapping("/productsCompany/{id}")
+    @Transactional(rollbackFor = Exception.class)
     public ResponseEntity<?> deleteProductsByCompany(@PathVariable Integer id) {
         try {
             productService.deleteByIdCompany(id);
+            catalogCache.evictCompany(id);
+            priceMatrix.evictCompany(id);
             return ResponseEntity.ok("Products deleted");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error deleting products");
@@ -333,7 +680,7 @@ public class ProductsController {
     public ResponseEntity<?> sendInventoryEmailPDF(@PathVariable Integer idCompany) {
         try {
             String otherApiUrl = "https://3wln6v114a.execute-api.us-east-2.amazonaws.com/sendEmailPDF";
-            BuildPDFMethod buildPDFMethod = new BuildPDFMethod(companyService, productService, priceService, productCategoryService, categoryService);
+            BuildPDFMethod buildPDFMethod = new BuildPDFMethod(companyService, catalogCache, dictionary, priceMatrix);
             String base64Email = buildPDFMethod.generateDocumentPDF(idCompany);
 
             if (base64Email == null) {
@@ -0,0 +1,79 @@
+package com.codestock.codeStockBackEnd.controller;
+
+import com.codestock.codeStockBackEnd.model.dto.StockDTO;
+import com.codestock.codeStockBackEnd.service.IProduct;
+import com.codestock.codeStockBackEnd.service.IStock;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * This class represents the Stock Controller.
+ * It handles HTTP requests and responses for the units in stock of the products.
+ * It uses Spring Boot annotations for RESTful web services.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Stock", description = "Stock Controller")
+public class StockController {
+
+    private final IStock stockService;
+    private final IProduct productService;
+
+    /**
+     * Constructor for the StockController.
+     * It uses Spring's @Autowired annotation for dependency injection.
+     *
+     * @param stockService   The service to handle the stock of the products.
+     * @param productService The service to find the product of a stock.
+     */
+    @Autowired
+    public StockController(IStock stockService, IProduct productService) {
+        this.stockService = stockService;
+        this.productService = productService;
+    }
+
+    /**
+     * Handles the GET request to retrieve the units in stock of a product.
+     *
+     * @param id The ID of the product.
+     * @return A ResponseEntity containing the stock or an error message.
+     */
+    @GetMapping("/product/{id}/stock")
+    public ResponseEntity<?> getStock(@PathVariable Integer id) {
+        try {
+            StockDTO stock = stockService.findByIdProduct(id);
+            if (stock == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Stock not found");
+            }
+            return ResponseEntity.ok(stock);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error getting stock");
+        }
+    }
+
+    /**
+     * Handles the PUT request to set the units in stock of a product, and whether it is hot.
+     * A hot product, such as one on a flash sale, is sold from units held in memory.
+     *
+     * @param id       The ID of the product.
+     * @param stockDTO The StockDTO object that contains the units in stock and, optionally, whether the product is hot.
+     * @return A ResponseEntity containing the new stock or an error message.
+     */
+    @PutMapping("/product/{id}/stock")
+    public ResponseEntity<?> setStock(@PathVariable Integer id, @RequestBody StockDTO stockDTO) {
+        try {
+            if (stockDTO.getStock() == null || stockDTO.getStock() < 0 || stockDTO.getStock() > Integer.MAX_VALUE) {
+                return ResponseEntity.badRequest().body("Invalid stock");
+            }
+            if (productService.findById(id) == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Product not found");
+            }
+            return ResponseEntity.ok(stockService.setStock(id, stockDTO.getStock().intValue(), stockDTO.getHot()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error saving stock");
+        }
+    }
+}
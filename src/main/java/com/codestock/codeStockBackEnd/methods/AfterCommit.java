@@ -0,0 +1,87 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * This class runs actions once the current transaction has been committed.
+ * It is used to keep in-memory state (caches, indexes) in step with the database:
+ * an action registered inside a transaction that is rolled back is never run,
+ * and readers cannot reload the old rows after the action has run.
+ * Outside a transaction the action is run immediately.
+ * The actions registered with runLast are run after all the others, whatever the order of registration.
+ * The actions registered with runOnRollback undo in-memory changes made inside a transaction that is not committed.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see org.springframework.transaction.support.TransactionSynchronizationManager
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the given action after the current transaction commits, or immediately if there is no transaction.
+     *
+     * @param action The action to be run.
+     */
+    public static void run(Runnable action) {
+        register(action, 0);
+    }
+
+    /**
+     * Runs the given action after the current transaction commits, once all the other actions have been run,
+     * or immediately if there is no transaction.
+     * It is used to publish a new version only after every cache has dropped the old data.
+     *
+     * @param action The action to be run.
+     */
+    public static void runLast(Runnable action) {
+        register(action, Ordered.LOWEST_PRECEDENCE);
+    }
+
+    /**
+     * Runs the given action after the current transaction is rolled back, or never if there is no transaction.
+     *
+     * @param action The action to be run.
+     */
+    public static void runOnRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Registers the given action with the given order.
+     *
+     * @param action The action to be run.
+     * @param order  The order of the action; lower values are run first.
+     */
+    private static void register(Runnable action, int order) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return order;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
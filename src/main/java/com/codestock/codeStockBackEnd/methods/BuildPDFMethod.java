@@ -1,10 +1,13 @@
 package com.codestock.codeStockBackEnd.methods;
 
 import com.codestock.codeStockBackEnd.model.dto.CategoryDTO;
-import com.codestock.codeStockBackEnd.model.dto.PriceDTO;
 import com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO;
-import com.codestock.codeStockBackEnd.model.entity.*;
-import com.codestock.codeStockBackEnd.service.*;
+import com.codestock.codeStockBackEnd.model.entity.Company;
+import com.codestock.codeStockBackEnd.model.entity.Currency;
+import com.codestock.codeStockBackEnd.service.ICatalogCache;
+import com.codestock.codeStockBackEnd.service.ICompany;
+import com.codestock.codeStockBackEnd.service.IDictionary;
+import com.codestock.codeStockBackEnd.service.IPriceMatrix;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
@@ -28,17 +31,15 @@ import java.util.stream.Collectors;
 public class BuildPDFMethod {
 
     private final ICompany companyService;
-    private final IProduct productService;
-    private final IPrice priceService;
-    private final IProductCategory productCategoryService;
-    private final ICategory categoryService;
+    private final ICatalogCache catalogCache;
+    private final IDictionary dictionary;
+    private final IPriceMatrix priceMatrix;
 
-    public BuildPDFMethod(ICompany companyService, IProduct productService, IPrice priceService, IProductCategory productCategoryService, ICategory categoryService) {
+    public BuildPDFMethod(ICompany companyService, ICatalogCache catalogCache, IDictionary dictionary, IPriceMatrix priceMatrix) {
         this.companyService = companyService;
-        this.productService = productService;
-        this.priceService = priceService;
-        this.productCategoryService = productCategoryService;
-        this.categoryService = categoryService;
+        this.catalogCache = catalogCache;
+        this.dictionary = dictionary;
+        this.priceMatrix = priceMatrix;
     }
 
     /**
@@ -93,15 +94,16 @@ public class BuildPDFMethod {
         paragraph.add(new Phrase(Chunk.NEWLINE));
         document.add(paragraph);
 
-        PdfPTable tabla = new PdfPTable(9);
+        // One price column per currency of the dictionary
+        List<Currency> currencies = dictionary.getCurrencies();
+        PdfPTable tabla = new PdfPTable(5 + currencies.size());
         tabla.addCell(new PdfPCell(new Phrase("idProduct", fontText)));
         tabla.addCell(new PdfPCell(new Phrase("Codigo", fontText)));
         tabla.addCell(new PdfPCell(new Phrase("Nombre", fontText)));
         tabla.addCell(new PdfPCell(new Phrase("Caracteristicas", fontText)));
-        tabla.addCell(new PdfPCell(new Phrase("USD", fontText)));
-        tabla.addCell(new PdfPCell(new Phrase("COP", fontText)));
-        tabla.addCell(new PdfPCell(new Phrase("EUR", fontText)));
-        tabla.addCell(new PdfPCell(new Phrase("BRL", fontText)));
+        for (Currency currency : currencies) {
+            tabla.addCell(new PdfPCell(new Phrase(currency.getIndicator(), fontText)));
+        }
         tabla.addCell(new PdfPCell(new Phrase("Categorias", fontText)));
 
         List<ProductResponseDTO> productDTOList = getProductByCompany(idCompany);
@@ -117,10 +119,9 @@ public class BuildPDFMethod {
             tabla.addCell(new PdfPCell(new Phrase(product.getCode(), fontText)));
             tabla.addCell(new PdfPCell(new Phrase(product.getName(), fontText)));
             tabla.addCell(new PdfPCell(new Phrase(product.getCharacteristics(), fontText)));
-            tabla.addCell(new PdfPCell(new Phrase(product.getPrices().get(0).getPrice().toString(), fontText)));
-            tabla.addCell(new PdfPCell(new Phrase(product.getPrices().get(1).getPrice().toString(), fontText)));
-            tabla.addCell(new PdfPCell(new Phrase(product.getPrices().get(2).getPrice().toString(), fontText)));
-            tabla.addCell(new PdfPCell(new Phrase(product.getPrices().get(3).getPrice().toString(), fontText)));
+            for (Currency currency : currencies) {
+                tabla.addCell(new PdfPCell(new Phrase(getPrice(product, currency.getIdCurrency()), fontText)));
+            }
             tabla.addCell(categoriesCell);
         }
         document.add(tabla);
@@ -130,43 +131,26 @@ public class BuildPDFMethod {
         return Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray());
     }
 
+    /**
+     * This method finds the price of a product in a currency, in the price matrix.
+     *
+     * @param product    The product.
+     * @param idCurrency The ID of the currency.
+     * @return The price as text, or an empty string if the product has no price in the currency.
+     */
+    private String getPrice(ProductResponseDTO product, Integer idCurrency) {
+        Double price = priceMatrix.findPrice(product.getIdCompany(), product.getIdProduct(), idCurrency);
+        return price == null ? "" : price.toString();
+    }
+
     /**
      * This method fetches the products of a company from the database.
-     * It returns a list of ProductResponseDTO objects.
+     * The products are read through the catalog cache, and assembled in a constant number of queries on a miss.
      *
      * @param idCompany The ID of the company to fetch the products for.
      * @return A list of ProductResponseDTO objects representing the products of the company.
      */
     public List<ProductResponseDTO> getProductByCompany(Integer idCompany) {
-        Iterable<Product> products = productService.findAllByIdCompany(idCompany);
-        List<ProductResponseDTO> productDTOList = new ArrayList<>();
-
-        for (Product product : products) {
-            Iterable<Price> prices = priceService.findByIdProduct(product.getIdProduct());
-            List<PriceDTO> priceDTOList = new ArrayList<>();
-            for (Price price : prices) {
-                priceDTOList.add(PriceDTO.builder().idCurrency(price.getIdCurrency())
-                        .price(price.getPrice())
-                        .build());
-            }
-            Iterable<ProductCategory> productCategories = productCategoryService.findByIdProduct(product.getIdProduct());
-            List<CategoryDTO> categoryDTOList = new ArrayList<>();
-            for (ProductCategory productCategory : productCategories) {
-                Category category = categoryService.findByIdCategory(productCategory.getIdCategory());
-                categoryDTOList.add(CategoryDTO.builder()
-                        .name(category.getName())
-                        .build());
-            }
-            productDTOList.add(ProductResponseDTO.builder().idProduct(product.getIdProduct())
-                    .code(product.getCode())
-                    .name(product.getName())
-                    .characteristics(product.getCharacteristics())
-                    .idCompany(product.getIdCompany())
-                    .prices(priceDTOList)
-                    .categories(categoryDTOList)
-                    .build());
-
-        }
-        return productDTOList;
+        return catalogCache.findAllByIdCompany(idCompany);
     }
 }
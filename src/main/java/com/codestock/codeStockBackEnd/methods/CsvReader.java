@@ -0,0 +1,97 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads the records of a CSV text (RFC 4180) one at a time, so the text is never held in memory.
+ * The fields are separated by commas; a field between double quotes may hold commas, line breaks
+ * and doubled double quotes. Blank lines are skipped.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.BufferedReader
+ */
+public final class CsvReader {
+
+    private final BufferedReader reader;
+    private long line;
+    private long recordLine;
+
+    /**
+     * Constructor for the CsvReader class.
+     *
+     * @param reader The reader of the CSV text.
+     */
+    public CsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the text.
+     * @throws IOException              If the text cannot be read.
+     * @throws IllegalArgumentException If a quoted field is not closed before the end of the text.
+     */
+    public List<String> next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    /**
+     * Returns the line where the last record read starts.
+     *
+     * @return The line, starting at 1.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+}
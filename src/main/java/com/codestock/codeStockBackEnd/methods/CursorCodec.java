@@ -0,0 +1,59 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * This class encodes and decodes the opaque cursors used by the keyset (seek) pagination.
+ * A cursor holds the sort key values of the last row of a page, so the next page can be read
+ * with a WHERE key > cursor condition instead of an OFFSET.
+ * Clients must treat the cursor as an opaque string.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ */
+public final class CursorCodec {
+
+    private static final String VERSION = "v1";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes the given key values into an opaque cursor.
+     *
+     * @param values The key values of the last row of the page.
+     * @return The opaque cursor.
+     */
+    public static String encode(long... values) {
+        StringBuilder builder = new StringBuilder(VERSION);
+        for (long value : values) {
+            builder.append(':').append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor into its key values.
+     *
+     * @param cursor The opaque cursor.
+     * @param size   The number of key values the cursor must hold.
+     * @return The key values of the cursor.
+     * @throws IllegalArgumentException If the cursor is malformed.
+     */
+    public static long[] decode(String cursor, int size) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != size + 1 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = Long.parseLong(parts[i + 1]);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
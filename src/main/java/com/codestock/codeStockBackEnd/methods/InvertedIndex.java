@@ -0,0 +1,486 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class is an in-memory inverted index of products, ranked with BM25.
+ * Each term points to a posting list of (document, weighted term frequency) pairs, kept in a byte array
+ * as variable-length integers, the documents as deltas from the previous one. A posting costs 2 or 3 bytes.
+ * A document is one indexed version of a product: updating a product adds a new document and marks the
+ * old one dead (a tombstone), so posting lists are only ever appended to. When the dead documents
+ * outnumber the live ones, the posting lists are rewritten without them.
+ * Every SKIP_INTERVAL postings, a posting list records where the next document starts, so a cursor can jump ahead.
+ * Each term counts its live documents, for the inverse document frequency, and each live document keeps
+ * the posting lists of its terms, to uncount them when it dies.
+ * The terms are kept in a sorted map, so a prefix query is a range of the map.
+ * A query is evaluated with MaxScore: each term has an upper bound of its score, and the terms whose bounds
+ * together cannot reach the worst of the best results so far are only read, by jumping, for the documents
+ * found through the other terms, and not at all once the document cannot make it into the results.
+ * The code of a product weighs more than its name, and its name more than its characteristics.
+ * Searches share a read lock, writes take the write lock.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.SearchTokenizer
+ */
+public final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int CODE_WEIGHT = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int CHARACTERISTICS_WEIGHT = 1;
+
+    /**
+     * The maximum number of terms a prefix query expands to.
+     */
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    /**
+     * The minimum number of dead documents before the posting lists are rewritten.
+     */
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    /**
+     * The number of postings between two skip entries of a posting list.
+     */
+    private static final int SKIP_INTERVAL = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Integer, Integer> documentByProduct = new HashMap<>();
+    private final BitSet dead = new BitSet();
+    private int[] documentProduct = new int[16];
+    private int[] documentLength = new int[16];
+    private Postings[][] documentTerms = new Postings[16][];
+    private int documentCount;
+    private int deadCount;
+    private long totalLength;
+
+    /**
+     * Indexes a product, replacing its previous version.
+     *
+     * @param idProduct       The id of the product.
+     * @param code            The code of the product.
+     * @param name            The name of the product.
+     * @param characteristics The characteristics of the product.
+     */
+    public void put(int idProduct, String code, String name, String characteristics) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(frequencies, code, CODE_WEIGHT)
+                + count(frequencies, name, NAME_WEIGHT)
+                + count(frequencies, characteristics, CHARACTERISTICS_WEIGHT);
+        lock.writeLock().lock();
+        try {
+            kill(idProduct);
+            int document = documentCount++;
+            if (document == documentProduct.length) {
+                documentProduct = Arrays.copyOf(documentProduct, document * 2);
+                documentLength = Arrays.copyOf(documentLength, document * 2);
+                documentTerms = Arrays.copyOf(documentTerms, document * 2);
+            }
+            documentProduct[document] = idProduct;
+            documentLength[document] = length;
+            documentByProduct.put(idProduct, document);
+            totalLength += length;
+            Postings[] postingsOfDocument = new Postings[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Postings postings = terms.computeIfAbsent(entry.getKey(), key -> new Postings());
+                postings.add(document, entry.getValue());
+                postings.liveFrequency++;
+                postingsOfDocument[i++] = postings;
+            }
+            documentTerms[document] = postingsOfDocument;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param idProduct The id of the product.
+     */
+    public void remove(int idProduct) {
+        lock.writeLock().lock();
+        try {
+            kill(idProduct);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of products in the index.
+     *
+     * @return The number of live documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the products that match any term of the query, best first.
+     * A word of the query ending with '*' matches every term starting with it.
+     *
+     * @param query The query.
+     * @param limit The maximum number of results.
+     * @return The matches, best first.
+     */
+    public List<Hit> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Cursor> cursors = new ArrayList<>();
+            int live = documentByProduct.size();
+            double averageLength = live == 0 ? 1 : Math.max(1.0, (double) totalLength / live);
+            for (String word : query.trim().split("\\s+")) {
+                boolean prefix = word.endsWith("*");
+                List<String> queryTerms = SearchTokenizer.tokenize(word);
+                for (int i = 0; i < queryTerms.size(); i++) {
+                    String term = queryTerms.get(i);
+                    if (prefix && i == queryTerms.size() - 1) {
+                        int expanded = 0;
+                        for (Map.Entry<String, Postings> entry : terms.tailMap(term, true).entrySet()) {
+                            if (!entry.getKey().startsWith(term) || expanded++ == MAX_PREFIX_TERMS) {
+                                break;
+                            }
+                            add(cursors, entry.getValue(), live);
+                        }
+                    } else {
+                        Postings postings = terms.get(term);
+                        if (postings != null) {
+                            add(cursors, postings, live);
+                        }
+                    }
+                }
+            }
+            return collect(cursors, limit, averageLength);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a cursor over a posting list to a query, unless all its documents are dead.
+     *
+     * @param cursors  The cursors of the query.
+     * @param postings The posting list.
+     * @param live     The number of live documents.
+     */
+    private static void add(List<Cursor> cursors, Postings postings, int live) {
+        if (postings.liveFrequency > 0) {
+            double idf = idf(postings, live);
+            // The score of a term grows with its frequency and shrinks with the length of the document, which is at least 0
+            double maxScore = idf * postings.maxFrequency * (K1 + 1) / (postings.maxFrequency + K1 * (1 - B));
+            cursors.add(new Cursor(postings, idf, maxScore));
+        }
+    }
+
+    /**
+     * Walks the posting lists with MaxScore and keeps the best matches.
+     * The cursors are sorted by upper bound; the first ones, whose bounds add up to no more than the worst
+     * of the best matches, are not essential: a document only found through them cannot make it into the results.
+     * The documents are taken from the essential cursors, and the other cursors jump to them, the highest bound
+     * first, until the bounds left cannot lift the document over the worst of the best matches.
+     *
+     * @param cursors       The cursors over the posting lists of the query terms.
+     * @param limit         The maximum number of results.
+     * @param averageLength The average length of the live documents.
+     * @return The matches, best first.
+     */
+    private List<Hit> collect(List<Cursor> cursors, int limit, double averageLength) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        cursors.sort(Comparator.comparingDouble(cursor -> cursor.maxScore));
+        int size = cursors.size();
+        // bounds[i] is the sum of the upper bounds of the cursors 0 to i
+        double[] bounds = new double[size];
+        for (int i = 0; i < size; i++) {
+            bounds[i] = (i == 0 ? 0 : bounds[i - 1]) + cursors.get(i).maxScore;
+        }
+        cursors.forEach(Cursor::next);
+        int essential = 0;
+        while (essential < size) {
+            int document = Integer.MAX_VALUE;
+            for (int i = essential; i < size; i++) {
+                document = Math.min(document, cursors.get(i).document);
+            }
+            if (document == Integer.MAX_VALUE) {
+                break;
+            }
+            boolean live = !dead.get(document);
+            double score = 0;
+            double norm = K1 * (1 - B + B * documentLength[document] / averageLength);
+            for (int i = essential; i < size; i++) {
+                Cursor cursor = cursors.get(i);
+                if (cursor.document == document) {
+                    if (live) {
+                        score += cursor.score(norm);
+                    }
+                    cursor.next();
+                }
+            }
+            if (!live) {
+                continue;
+            }
+            boolean pruned = false;
+            for (int i = essential - 1; i >= 0 && !pruned; i--) {
+                if (best.size() == limit && score + bounds[i] <= best.peek().score()) {
+                    pruned = true;
+                } else {
+                    Cursor cursor = cursors.get(i);
+                    cursor.advance(document);
+                    if (cursor.document == document) {
+                        score += cursor.score(norm);
+                    }
+                }
+            }
+            if (!pruned && (best.size() < limit || score > best.peek().score())) {
+                best.add(new Hit(documentProduct[document], score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                while (best.size() == limit && essential < size && bounds[essential] <= best.peek().score()) {
+                    essential++;
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return hits;
+    }
+
+    /**
+     * Computes the BM25 inverse document frequency of a term, from the live documents holding it.
+     *
+     * @param postings The posting list of the term.
+     * @param live     The number of live documents.
+     * @return The inverse document frequency.
+     */
+    private static double idf(Postings postings, int live) {
+        int frequency = Math.min(postings.liveFrequency, live);
+        return Math.log(1 + (live - frequency + 0.5) / (frequency + 0.5));
+    }
+
+    /**
+     * Adds the weighted frequencies of the terms of a field.
+     *
+     * @param frequencies The frequencies of the terms of the product.
+     * @param text        The text of the field.
+     * @param weight      The weight of the field.
+     * @return The weighted number of terms of the field.
+     */
+    private static int count(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> fieldTerms = SearchTokenizer.tokenize(text);
+        fieldTerms.forEach(term -> frequencies.merge(term, weight, Integer::sum));
+        return fieldTerms.size() * weight;
+    }
+
+    /**
+     * Marks the current document of a product as dead. Must be called with the write lock.
+     *
+     * @param idProduct The id of the product.
+     */
+    private void kill(int idProduct) {
+        Integer document = documentByProduct.remove(idProduct);
+        if (document != null) {
+            for (Postings postings : documentTerms[document]) {
+                postings.liveFrequency--;
+            }
+            documentTerms[document] = null;
+            dead.set(document);
+            deadCount++;
+            totalLength -= documentLength[document];
+        }
+    }
+
+    /**
+     * Rewrites the posting lists without the dead documents, renumbering the live ones in the same order,
+     * when the dead documents outnumber the live ones. Must be called with the write lock.
+     */
+    private void compactIfNeeded() {
+        if (deadCount < MIN_DEAD_TO_COMPACT || deadCount < documentByProduct.size()) {
+            return;
+        }
+        int[] renumber = new int[documentCount];
+        int live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            renumber[document] = dead.get(document) ? -1 : live++;
+        }
+        Iterator<Postings> iterator = terms.values().iterator();
+        while (iterator.hasNext()) {
+            Postings old = iterator.next();
+            Postings compacted = new Postings();
+            Cursor cursor = new Cursor(old, 0, 0);
+            for (cursor.next(); cursor.document != Integer.MAX_VALUE; cursor.next()) {
+                if (renumber[cursor.document] >= 0) {
+                    compacted.add(renumber[cursor.document], cursor.frequency);
+                }
+            }
+            if (compacted.documentFrequency == 0) {
+                iterator.remove();
+            } else {
+                old.replaceWith(compacted);
+            }
+        }
+        int[] newProduct = new int[Math.max(16, live)];
+        int[] newLength = new int[Math.max(16, live)];
+        Postings[][] newTerms = new Postings[Math.max(16, live)][];
+        for (int document = 0; document < documentCount; document++) {
+            if (renumber[document] >= 0) {
+                newProduct[renumber[document]] = documentProduct[document];
+                newLength[renumber[document]] = documentLength[document];
+                newTerms[renumber[document]] = documentTerms[document];
+            }
+        }
+        documentByProduct.replaceAll((idProduct, document) -> renumber[document]);
+        documentProduct = newProduct;
+        documentLength = newLength;
+        documentTerms = newTerms;
+        documentCount = live;
+        dead.clear();
+        deadCount = 0;
+    }
+
+    /**
+     * A product matching a query, and its score.
+     *
+     * @param idProduct The id of the product.
+     * @param score     The BM25 score.
+     */
+    public record Hit(int idProduct, double score) {
+    }
+
+    /**
+     * The posting list of a term: (document delta, frequency) pairs as variable-length integers,
+     * and every SKIP_INTERVAL postings a skip entry: the document before the posting and the offset of the posting.
+     */
+    private static final class Postings {
+        private byte[] data = new byte[8];
+        private int length;
+        private int lastDocument = -1;
+        private int documentFrequency;
+        private int liveFrequency;
+        private int maxFrequency;
+        private int[] skips = new int[0];
+        private int skipCount;
+
+        private void add(int document, int frequency) {
+            if (documentFrequency > 0 && documentFrequency % SKIP_INTERVAL == 0) {
+                if (skipCount * 2 == skips.length) {
+                    skips = Arrays.copyOf(skips, Math.max(8, skips.length * 2));
+                }
+                skips[skipCount * 2] = lastDocument;
+                skips[skipCount * 2 + 1] = length;
+                skipCount++;
+            }
+            if (length + 10 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+            }
+            write(document - lastDocument);
+            write(frequency);
+            lastDocument = document;
+            documentFrequency++;
+            maxFrequency = Math.max(maxFrequency, frequency);
+        }
+
+        private void write(int value) {
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+
+        private void replaceWith(Postings other) {
+            data = Arrays.copyOf(other.data, other.length);
+            length = other.length;
+            lastDocument = other.lastDocument;
+            documentFrequency = other.documentFrequency;
+            maxFrequency = other.maxFrequency;
+            skips = Arrays.copyOf(other.skips, other.skipCount * 2);
+            skipCount = other.skipCount;
+        }
+    }
+
+    /**
+     * A cursor decoding a posting list, one document at a time, with the upper bound of the score of its term.
+     */
+    private static final class Cursor {
+        private final byte[] data;
+        private final int length;
+        private final int[] skips;
+        private final int skipCount;
+        private final double idf;
+        private final double maxScore;
+        private int position;
+        private int skip;
+        private int document = -1;
+        private int frequency;
+
+        private Cursor(Postings postings, double idf, double maxScore) {
+            this.data = postings.data;
+            this.length = postings.length;
+            this.skips = postings.skips;
+            this.skipCount = postings.skipCount;
+            this.idf = idf;
+            this.maxScore = maxScore;
+        }
+
+        private void next() {
+            if (position >= length) {
+                document = Integer.MAX_VALUE;
+                return;
+            }
+            document += read();
+            frequency = read();
+        }
+
+        /**
+         * Moves to the first document at or after the target, jumping over the postings before the last skip entry
+         * whose document is before the target.
+         */
+        private void advance(int target) {
+            if (document >= target) {
+                return;
+            }
+            while (skip < skipCount && skips[skip * 2] < target) {
+                if (skips[skip * 2 + 1] > position) {
+                    document = skips[skip * 2];
+                    position = skips[skip * 2 + 1];
+                }
+                skip++;
+            }
+            do {
+                next();
+            } while (document < target);
+        }
+
+        private double score(double norm) {
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+
+        private int read() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import com.codestock.codeStockBackEnd.model.dto.PriceDTO;
+import com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO;
+import com.codestock.codeStockBackEnd.model.dto.SparseProductResponseDTO;
+
+import java.util.*;
+
+/**
+ * This class describes the parts of a ProductResponseDTO requested by a client (a sparse fieldset),
+ * and the currency its prices are filtered by.
+ * It is used to skip the characteristics column, the category links or the prices that are not needed,
+ * and to trim the products already assembled by a cache. The trimmed products are SparseProductResponseDTOs,
+ * whose fields that are not requested are left null and are not written in the response.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO
+ * @see com.codestock.codeStockBackEnd.model.dto.SparseProductResponseDTO
+ */
+public final class ProductFields {
+
+    /**
+     * The names of the fields of a ProductResponseDTO.
+     */
+    private static final Set<String> NAMES = Set.of("idProduct", "code", "name", "characteristics", "idCompany", "prices", "categories");
+
+    /**
+     * All the fields, in all the currencies.
+     */
+    public static final ProductFields ALL = new ProductFields(NAMES, null);
+
+    private final Set<String> fields;
+    private final Integer idCurrency;
+
+    private ProductFields(Set<String> fields, Integer idCurrency) {
+        this.fields = fields;
+        this.idCurrency = idCurrency;
+    }
+
+    /**
+     * Parses the fields and currency parameters of a request.
+     *
+     * @param fields     The comma separated names of the fields, or null for all the fields.
+     * @param idCurrency The id of the currency of the prices, or null for all the currencies.
+     * @return The requested fields.
+     * @throws IllegalArgumentException If a field name is unknown.
+     */
+    public static ProductFields parse(String fields, Integer idCurrency) {
+        if (fields == null || fields.isBlank()) {
+            return idCurrency == null ? ALL : new ProductFields(NAMES, idCurrency);
+        }
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        return new ProductFields(requested, idCurrency);
+    }
+
+    /**
+     * @param name The name of a field of a ProductResponseDTO.
+     * @return True if the field is requested.
+     */
+    public boolean has(String name) {
+        return fields.contains(name);
+    }
+
+    /**
+     * @return True if the characteristics are requested.
+     */
+    public boolean characteristics() {
+        return fields.contains("characteristics");
+    }
+
+    /**
+     * @return True if the prices are requested.
+     */
+    public boolean prices() {
+        return fields.contains("prices");
+    }
+
+    /**
+     * @return True if the categories are requested.
+     */
+    public boolean categories() {
+        return fields.contains("categories");
+    }
+
+    /**
+     * @return The id of the currency of the prices, or null for all the currencies.
+     */
+    public Integer idCurrency() {
+        return idCurrency;
+    }
+
+    /**
+     * @return True if every field is requested, in all the currencies.
+     */
+    public boolean isAll() {
+        return this == ALL || (fields.size() == NAMES.size() && idCurrency == null);
+    }
+
+    /**
+     * Keeps the requested fields of an assembled product.
+     *
+     * @param product The assembled product, which is not modified.
+     * @return The product itself if every field is requested, otherwise a trimmed SparseProductResponseDTO copy.
+     */
+    public ProductResponseDTO apply(ProductResponseDTO product) {
+        if (isAll() || product == null) {
+            return product;
+        }
+        List<PriceDTO> prices = null;
+        if (prices() && product.getPrices() != null) {
+            prices = idCurrency == null ? product.getPrices() : product.getPrices().stream()
+                    .filter(price -> idCurrency.equals(price.getIdCurrency()))
+                    .toList();
+        }
+        return new SparseProductResponseDTO(has("idProduct") ? product.getIdProduct() : null,
+                has("code") ? product.getCode() : null,
+                has("name") ? product.getName() : null,
+                characteristics() ? product.getCharacteristics() : null,
+                has("idCompany") ? product.getIdCompany() : null,
+                prices,
+                categories() ? product.getCategories() : null);
+    }
+
+    /**
+     * Keeps the requested fields of assembled products.
+     *
+     * @param products The assembled products, which are not modified.
+     * @return The products themselves if every field is requested, otherwise trimmed copies.
+     */
+    public List<ProductResponseDTO> apply(List<ProductResponseDTO> products) {
+        return isAll() ? products : products.stream().map(this::apply).toList();
+    }
+}
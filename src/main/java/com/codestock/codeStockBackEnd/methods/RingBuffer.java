@@ -0,0 +1,95 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class is a bounded queue for many producer threads and a single consumer thread, without locks.
+ * Each slot has a sequence number telling whether it is free for the producer of a given position or
+ * holds an element for the consumer: a producer claims a position with a compare-and-set on the tail,
+ * fills the slot and publishes it by advancing its sequence; the consumer reads the slots in order and frees them.
+ * A producer never waits: when the buffer is full the element is refused.
+ *
+ * @param <E> The type of the elements.
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.util.concurrent.atomic.AtomicLongArray
+ */
+public final class RingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity The number of slots, a power of two.
+     * @throws IllegalArgumentException If the capacity is not a power of two.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two");
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends an element, from any thread.
+     *
+     * @param element The element.
+     * @return True if the element was appended, false if the buffer is full.
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) (position & mask);
+            long free = sequences.get(slot) - position;
+            if (free == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (free < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves the elements published so far to a collection, in the order they were appended.
+     * It must only be called by the consumer thread.
+     *
+     * @param sink The collection receiving the elements.
+     * @param max  The maximum number of elements moved.
+     * @return The number of elements moved.
+     */
+    public int drainTo(Collection<? super E> sink, int max) {
+        int moved = 0;
+        while (moved < max) {
+            int slot = (int) (head & mask);
+            if (sequences.get(slot) != head + 1) {
+                break;
+            }
+            sink.add(slots.get(slot));
+            slots.set(slot, null);
+            sequences.set(slot, head + mask + 1);
+            head++;
+            moved++;
+        }
+        return moved;
+    }
+}
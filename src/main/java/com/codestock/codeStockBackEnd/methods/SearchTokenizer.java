@@ -0,0 +1,64 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * This class splits the text of the products into search terms.
+ * The text is folded to lower case without accents, so "Camión" and "camion" give the same term,
+ * and split on every character that is not a letter or a digit.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.text.Normalizer
+ */
+public final class SearchTokenizer {
+
+    /**
+     * The longest term kept; longer ones are cut.
+     */
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Folds a text to lower case without accents.
+     *
+     * @param text The text.
+     * @return The folded text.
+     */
+    public static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a text into folded terms, in order and with repetitions.
+     *
+     * @param text The text, may be null.
+     * @return The list of terms.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean termChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                terms.add(folded.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
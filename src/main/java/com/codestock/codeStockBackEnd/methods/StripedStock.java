@@ -0,0 +1,245 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class holds in memory the units of a hot product already taken from its stock in the database.
+ * The units are spread over several cells, and an order takes its units from a single cell with a
+ * compare-and-set, so concurrent orders of the same product rarely touch the same memory and never wait on a lock.
+ * Only when no cell has enough units are the cells merged under the lock of the object. The units are added
+ * by a refill thread, a block at a time, so the row of the product is updated once per block instead of once
+ * per order, and the threads of the orders never touch the database.
+ * Once retired, the object neither gives nor takes units, and the units it held are dropped.
+ * Being dry is only a hint that the database had no units at the last refill: it is cleared by the next refill
+ * that adds units, and it tells how long ago it was set, so the database can be asked again.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.util.concurrent.atomic.AtomicLongArray
+ */
+public final class StripedStock {
+
+    /**
+     * The result of a take that got its units.
+     */
+    public static final int TAKEN = 1;
+
+    /**
+     * The result of a take without enough units in memory.
+     */
+    public static final int SHORT = 0;
+
+    /**
+     * The result of a take on a retired object.
+     */
+    public static final int RETIRED = -1;
+
+    // Number of longs between two cells, so each cell is on its own cache line
+    private static final int PADDING = 8;
+
+    private final int cells;
+    private final AtomicLongArray units;
+    private volatile boolean retired;
+    private volatile boolean dry;
+    private volatile long driedAt;
+    private long refills;
+
+    /**
+     * Creates an empty stock with one cell per processor, rounded up to a power of two.
+     */
+    public StripedStock() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an empty stock with the given number of cells, rounded up to a power of two.
+     *
+     * @param cells The number of cells.
+     */
+    public StripedStock(int cells) {
+        this.cells = Integer.highestOneBit(Math.max(1, cells * 2 - 1));
+        this.units = new AtomicLongArray(this.cells * PADDING);
+    }
+
+    /**
+     * Takes units from memory.
+     *
+     * @param quantity The units to take.
+     * @return TAKEN if the units were taken, SHORT if the cells do not hold enough of them, RETIRED if this object is retired.
+     */
+    public int take(int quantity) {
+        int start = ThreadLocalRandom.current().nextInt(cells);
+        for (int i = 0; i < cells && !retired; i++) {
+            int cell = ((start + i) & (cells - 1)) * PADDING;
+            long current;
+            while ((current = units.get(cell)) >= quantity) {
+                if (units.compareAndSet(cell, current, current - quantity)) {
+                    return TAKEN;
+                }
+            }
+        }
+        return takeSlow(quantity);
+    }
+
+    /**
+     * Gives back units taken by an order that was not placed. Nothing is done if this object is retired.
+     *
+     * @param quantity The units to give back.
+     */
+    public void release(int quantity) {
+        if (!retired) {
+            units.addAndGet(ThreadLocalRandom.current().nextInt(cells) * PADDING, quantity);
+        }
+    }
+
+    /**
+     * Adds a block of units taken from the database, and wakes up the threads waiting for a refill.
+     *
+     * @param quantity The units to add.
+     * @return True if the units were added, false if this object is retired and the units must be given back.
+     */
+    public synchronized boolean add(long quantity) {
+        if (retired) {
+            return false;
+        }
+        spread(quantity);
+        dry = false;
+        refills++;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Records that the database has no more units to add, and wakes up the threads waiting for a refill.
+     */
+    public synchronized void markDry() {
+        driedAt = System.nanoTime();
+        dry = true;
+        refills++;
+        notifyAll();
+    }
+
+    /**
+     * Records that a refill failed without telling whether the database has units, and wakes up the threads
+     * waiting for a refill, so they can ask again or give up.
+     */
+    public synchronized void refillFailed() {
+        refills++;
+        notifyAll();
+    }
+
+    /**
+     * Tells whether the last refill found no units left in the database.
+     *
+     * @return True if the database has no more units to add.
+     */
+    public boolean isDry() {
+        return dry;
+    }
+
+    /**
+     * Tells whether this object is dry since at least the given time, so the database may have units again.
+     *
+     * @param nanos The time.
+     * @return True if the last refill found no units at least that long ago.
+     */
+    public boolean isDryFor(long nanos) {
+        return dry && System.nanoTime() - driedAt >= nanos;
+    }
+
+    /**
+     * Returns the number of refills done so far, to wait for the next one.
+     *
+     * @return The number of refills.
+     */
+    public synchronized long refills() {
+        return refills;
+    }
+
+    /**
+     * Waits until a refill is done after the given one, this object is retired or the time runs out.
+     *
+     * @param after The number of refills seen before asking for a new one.
+     * @param nanos The maximum time to wait.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    public synchronized void awaitRefill(long after, long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        long left;
+        while (refills == after && !retired && (left = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, left);
+        }
+    }
+
+    /**
+     * Returns the units held in memory.
+     *
+     * @return The sum of the units of the cells.
+     */
+    public long held() {
+        long sum = 0;
+        for (int i = 0; i < cells; i++) {
+            sum += units.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Retires this object, empties its cells and wakes up the threads waiting for a refill.
+     *
+     * @return The units the cells held.
+     */
+    public synchronized long retire() {
+        retired = true;
+        notifyAll();
+        return drain();
+    }
+
+    /**
+     * Merges the cells and takes the units from them if they hold enough, then spreads the units left over the cells again.
+     *
+     * @param quantity The units to take.
+     * @return TAKEN if the units were taken, SHORT if there are not enough of them, RETIRED if this object is retired.
+     */
+    private synchronized int takeSlow(int quantity) {
+        if (retired) {
+            return RETIRED;
+        }
+        long pooled = drain();
+        try {
+            if (pooled >= quantity) {
+                pooled -= quantity;
+                return TAKEN;
+            }
+            return SHORT;
+        } finally {
+            spread(pooled);
+        }
+    }
+
+    /**
+     * Spreads units evenly over the cells.
+     *
+     * @param quantity The units to spread.
+     */
+    private void spread(long quantity) {
+        for (int i = 0; i < cells; i++) {
+            units.addAndGet(i * PADDING, quantity / cells + (i < quantity % cells ? 1 : 0));
+        }
+    }
+
+    /**
+     * Empties the cells.
+     *
+     * @return The units the cells held.
+     */
+    private long drain() {
+        long sum = 0;
+        for (int i = 0; i < cells; i++) {
+            sum += units.getAndSet(i * PADDING, 0);
+        }
+        return sum;
+    }
+}
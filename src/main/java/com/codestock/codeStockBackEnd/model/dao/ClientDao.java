@@ -1,7 +1,10 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.Client;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 /**
  * This interface represents the Data Access Object (DAO) for the Client entity.
@@ -19,8 +22,11 @@ public interface ClientDao extends CrudRepository<Client, Integer> {
 
     /**
      * This method is used to delete a Client by the person's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param id The ID of the person.
      */
-    void deleteByIdPerson(Integer id);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Client c WHERE c.idPerson = :id")
+    void deleteByIdPerson(@Param("id") Integer id);
 }
\ No newline at end of file
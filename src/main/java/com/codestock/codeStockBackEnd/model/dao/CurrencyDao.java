@@ -0,0 +1,11 @@
+package com.codestock.codeStockBackEnd.model.dao;
+
+import com.codestock.codeStockBackEnd.model.entity.Currency;
+import org.springframework.data.repository.CrudRepository;
+
+/**
+ * This interface represents the Data Access Object (DAO) for the Currency entity.
+ * It extends the CrudRepository interface from Spring Data JPA to provide CRUD operations for the Currency entity.
+ */
+public interface CurrencyDao extends CrudRepository<Currency, Integer> {
+}
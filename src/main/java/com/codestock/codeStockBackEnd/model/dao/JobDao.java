@@ -0,0 +1,33 @@
+package com.codestock.codeStockBackEnd.model.dao;
+
+import com.codestock.codeStockBackEnd.model.entity.Job;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents the Data Access Object (DAO) for the Job entity.
+ * It extends the CrudRepository interface from Spring Data JPA to provide CRUD operations for the Job entity.
+ */
+public interface JobDao extends CrudRepository<Job, Integer> {
+
+    /**
+     * This method is used to find a Job of the given type and target in one of the given statuses.
+     *
+     * @param type     The type of the job.
+     * @param idTarget The ID of the row the job works on.
+     * @param statuses The statuses.
+     * @return The first Job entity found, null otherwise.
+     */
+    Job findFirstByTypeAndIdTargetAndStatusIn(String type, Integer idTarget, Collection<String> statuses);
+
+    /**
+     * This method is used to find all Jobs of the given type in one of the given statuses, oldest first.
+     *
+     * @param type     The type of the job.
+     * @param statuses The statuses.
+     * @return A List of the Job entities found.
+     */
+    List<Job> findByTypeAndStatusInOrderByIdJobAsc(String type, Collection<String> statuses);
+}
@@ -1,7 +1,13 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
 
 /**
  * This interface represents the Data Access Object (DAO) for the Order entity.
@@ -16,4 +22,25 @@ public interface OrderDao extends CrudRepository<Order, Integer> {
      * @return An Iterable of Order entities if found, empty Iterable otherwise.
      */
     Iterable<Order> findAllByIdClient(Integer idClient);
+
+    /**
+     * This method is used to read the dated Orders of a client, newest first, with keyset pagination.
+     * It seeks on (date, idOrden) after the last order of the previous page, so it is served by the
+     * (idClient, date, idOrden) index and every page costs the same no matter how deep it is.
+     *
+     * @param idClient     The ID of the client.
+     * @param from         The first date of the orders, inclusive, or null for no lower bound.
+     * @param to           The last date of the orders, inclusive, or null for no upper bound.
+     * @param afterDate    The date of the last order of the previous page, or null for the first page.
+     * @param afterIdOrder The ID of the last order of the previous page, or null for the first page.
+     * @param pageable     The number of orders to read.
+     * @return A List of the Order entities, newest first.
+     */
+    @Query("SELECT o FROM Order o WHERE o.idClient = :idClient AND o.date IS NOT NULL"
+            + " AND (:from IS NULL OR o.date >= :from) AND (:to IS NULL OR o.date <= :to)"
+            + " AND (:afterDate IS NULL OR o.date < :afterDate OR (o.date = :afterDate AND o.idOrder < :afterIdOrder))"
+            + " ORDER BY o.date DESC, o.idOrder DESC")
+    List<Order> findPageByIdClient(@Param("idClient") Integer idClient, @Param("from") Date from, @Param("to") Date to,
+                                   @Param("afterDate") Date afterDate, @Param("afterIdOrder") Integer afterIdOrder,
+                                   Pageable pageable);
 }
\ No newline at end of file
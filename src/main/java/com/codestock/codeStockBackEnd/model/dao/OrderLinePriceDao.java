@@ -0,0 +1,35 @@
+package com.codestock.codeStockBackEnd.model.dao;
+
+import com.codestock.codeStockBackEnd.model.entity.OrderLinePrice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents the Data Access Object (DAO) for the OrderLinePrice entity.
+ * It extends the CrudRepository interface from Spring Data JPA to provide CRUD operations for the OrderLinePrice entity.
+ */
+public interface OrderLinePriceDao extends CrudRepository<OrderLinePrice, Integer> {
+
+    /**
+     * This method is used to find all OrderLinePrices of the given orders with a single query.
+     *
+     * @param idOrders The IDs of the orders.
+     * @return A List of the OrderLinePrice entities found.
+     */
+    List<OrderLinePrice> findByIdOrderIn(Collection<Integer> idOrders);
+
+    /**
+     * This method is used to delete all OrderLinePrices of an order.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
+     *
+     * @param idOrder The ID of the order.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM OrderLinePrice olp WHERE olp.idOrder = :idOrder")
+    void deleteByIdOrder(@Param("idOrder") Integer idOrder);
+}
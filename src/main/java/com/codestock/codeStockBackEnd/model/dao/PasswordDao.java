@@ -1,7 +1,10 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.Password;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 /**
  * This interface represents the Data Access Object (DAO) for the Password entity.
@@ -11,10 +14,13 @@ public interface PasswordDao extends CrudRepository<Password, Integer> {
 
     /**
      * This method is used to delete a Password by the user's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param id The ID of the user.
      */
-    void deleteByIdUser(Integer id);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Password pw WHERE pw.idUser = :id")
+    void deleteByIdUser(@Param("id") Integer id);
 
     /**
      * This method is used to find a Password by the user's ID.
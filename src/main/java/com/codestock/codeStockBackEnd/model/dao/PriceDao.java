@@ -1,7 +1,13 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.Price;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * This interface represents the Data Access Object (DAO) for the Price entity.
@@ -11,10 +17,13 @@ public interface PriceDao extends CrudRepository<Price, Integer> {
 
     /**
      * This method is used to delete a Price by the product's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param id The ID of the product.
      */
-    void deleteByIdProduct(Integer id);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Price pr WHERE pr.idProduct = :id")
+    void deleteByIdProduct(@Param("id") Integer id);
 
     /**
      * This method is used to find all Prices by the product's ID.
@@ -25,4 +34,91 @@ public interface PriceDao extends CrudRepository<Price, Integer> {
 
 
     Iterable<Price> findByIdProduct(Integer id);
-}
\ No newline at end of file
+
+    /**
+     * This method is used to find all Prices of the given products with a single query.
+     *
+     * @param idProducts The IDs of the products.
+     * @return A List of the Price entities found.
+     */
+    List<Price> findByIdProductIn(Collection<Integer> idProducts);
+
+    /**
+     * This method is used to read the prices of the products of a company with a single join query.
+     * The rows are read as scalars, so no Price entity is built.
+     *
+     * @param idCompany The ID of the company.
+     * @return A List of rows holding the product's ID, the currency's ID and the price.
+     */
+    @Query("SELECT pr.idProduct, pr.idCurrency, pr.price FROM Price pr, Product p WHERE pr.idProduct = p.idProduct AND p.idCompany = :idCompany")
+    List<Object[]> findPriceRowsByIdCompany(@Param("idCompany") Integer idCompany);
+
+    /**
+     * This method is used to read all the prices with the company of their product, as scalars.
+     *
+     * @return A List of rows holding the currency's ID, the product's ID, the price and the company's ID.
+     */
+    @Query("SELECT pr.idCurrency, pr.idProduct, pr.price, p.idCompany FROM Price pr, Product p WHERE pr.idProduct = p.idProduct")
+    List<Object[]> findAllPriceRows();
+
+    /**
+     * This method is used to change the prices of all the Products of a company in a single UPDATE.
+     * Each price becomes price * factor + amount, and never less than 0.
+     *
+     * @param idCompany  The ID of the company.
+     * @param idCurrency The ID of the currency, or null for all the currencies.
+     * @param factor     The factor applied to the prices.
+     * @param amount     The amount added to the prices.
+     * @return The number of prices changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Price pr SET pr.price = CASE WHEN pr.price * :factor + :amount < 0 THEN 0.0 ELSE pr.price * :factor + :amount END"
+            + " WHERE pr.idProduct IN (SELECT p.idProduct FROM Product p WHERE p.idCompany = :idCompany)"
+            + " AND (:idCurrency IS NULL OR pr.idCurrency = :idCurrency)")
+    int adjustByIdCompany(@Param("idCompany") Integer idCompany, @Param("idCurrency") Integer idCurrency,
+                          @Param("factor") double factor, @Param("amount") double amount);
+
+    /**
+     * This method is used to change the prices of all the Products of a category in a single UPDATE.
+     * Each price becomes price * factor + amount, and never less than 0.
+     *
+     * @param idCategory The ID of the category.
+     * @param idCurrency The ID of the currency, or null for all the currencies.
+     * @param factor     The factor applied to the prices.
+     * @param amount     The amount added to the prices.
+     * @return The number of prices changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Price pr SET pr.price = CASE WHEN pr.price * :factor + :amount < 0 THEN 0.0 ELSE pr.price * :factor + :amount END"
+            + " WHERE pr.idProduct IN (SELECT pc.idProduct FROM ProductCategory pc WHERE pc.idCategory = :idCategory)"
+            + " AND (:idCurrency IS NULL OR pr.idCurrency = :idCurrency)")
+    int adjustByIdCategory(@Param("idCategory") Integer idCategory, @Param("idCurrency") Integer idCurrency,
+                           @Param("factor") double factor, @Param("amount") double amount);
+
+    /**
+     * This method is used to change the prices of the given Products in a single UPDATE.
+     * Each price becomes price * factor + amount, and never less than 0.
+     *
+     * @param idProducts The IDs of the Products.
+     * @param idCurrency The ID of the currency, or null for all the currencies.
+     * @param factor     The factor applied to the prices.
+     * @param amount     The amount added to the prices.
+     * @return The number of prices changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Price pr SET pr.price = CASE WHEN pr.price * :factor + :amount < 0 THEN 0.0 ELSE pr.price * :factor + :amount END"
+            + " WHERE pr.idProduct IN :idProducts"
+            + " AND (:idCurrency IS NULL OR pr.idCurrency = :idCurrency)")
+    int adjustByIdProductIn(@Param("idProducts") Collection<Integer> idProducts, @Param("idCurrency") Integer idCurrency,
+                            @Param("factor") double factor, @Param("amount") double amount);
+
+    /**
+     * This method is used to delete all Prices of the given products.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
+     *
+     * @param idProducts The IDs of the products.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Price pr WHERE pr.idProduct IN :idProducts")
+    void deleteByIdProductIn(@Param("idProducts") Collection<Integer> idProducts);
+}
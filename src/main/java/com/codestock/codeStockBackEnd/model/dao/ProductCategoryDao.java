@@ -1,7 +1,13 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.ProductCategory;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * This interface represents the Data Access Object (DAO) for the ProductCategory entity.
@@ -25,18 +31,59 @@ public interface ProductCategoryDao extends CrudRepository<ProductCategory, Inte
      */
     Iterable<ProductCategory> findByIdCategory(Integer idCategory);
 
+    /**
+     * This method is used to read all the category links as scalars, so no ProductCategory entity is built.
+     *
+     * @return A List of rows holding the category's ID and the product's ID.
+     */
+    @Query("SELECT pc.idCategory, pc.idProduct FROM ProductCategory pc")
+    List<Object[]> findAllCategoryRows();
+
     /**
      * This method is used to delete all ProductCategories by the product's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param idProduct The ID of the product.
      */
-    void deleteByIdProduct(Integer idProduct);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductCategory pc WHERE pc.idProduct = :idProduct")
+    void deleteByIdProduct(@Param("idProduct") Integer idProduct);
 
     /**
      * This method is used to delete a specific ProductCategory by the category's ID and the product's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param idCategory The ID of the category.
      * @param idProduct The ID of the product.
      */
-    void deleteByIdCategoryAndIdProduct(Integer idCategory, Integer idProduct);
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductCategory pc WHERE pc.idCategory = :idCategory AND pc.idProduct = :idProduct")
+    void deleteByIdCategoryAndIdProduct(@Param("idCategory") Integer idCategory, @Param("idProduct") Integer idProduct);
+
+    /**
+     * This method is used to find all ProductCategories of the given products.
+     *
+     * @param idProducts The IDs of the products.
+     * @return An Iterable of ProductCategory entities if found, empty Iterable otherwise.
+     */
+    Iterable<ProductCategory> findByIdProductIn(Collection<Integer> idProducts);
+
+    /**
+     * This method is used to find all ProductCategories of the products of a company with a single join query.
+     *
+     * @param idCompany The ID of the company.
+     * @return An Iterable of ProductCategory entities if found, empty Iterable otherwise.
+     */
+    @Query("SELECT pc FROM ProductCategory pc, Product p WHERE pc.idProduct = p.idProduct AND p.idCompany = :idCompany")
+    Iterable<ProductCategory> findByIdCompany(@Param("idCompany") Integer idCompany);
+
+    /**
+     * This method is used to delete all ProductCategories of the given products.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
+     *
+     * @param idProducts The IDs of the products.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductCategory pc WHERE pc.idProduct IN :idProducts")
+    void deleteByIdProductIn(@Param("idProducts") Collection<Integer> idProducts);
+}
@@ -1,7 +1,18 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This interface represents the Data Access Object (DAO) for the Product entity.
@@ -20,10 +31,115 @@ public interface ProductDao extends JpaRepository<Product, Integer> {
      */
     Iterable<Product> findAllByIdCompany(Integer IdCompany);
 
+    /**
+     * This method is used to find the IDs of all Products of a company.
+     *
+     * @param idCompany The ID of the company.
+     * @return A List of the IDs of the Products, in ascending order.
+     */
+    @Query("SELECT p.idProduct FROM Product p WHERE p.idCompany = :idCompany ORDER BY p.idProduct")
+    List<Integer> findIdProductsByIdCompany(@Param("idCompany") Integer idCompany);
+
+    /**
+     * This method is used to read the company of each of the given Products as scalars, with a single query.
+     *
+     * @param idProducts The IDs of the Products.
+     * @return A List of rows holding the product's ID and the company's ID, for the Products found.
+     */
+    @Query("SELECT p.idProduct, p.idCompany FROM Product p WHERE p.idProduct IN :idProducts")
+    List<Object[]> findCompanyRowsByIdProductIn(@Param("idProducts") Collection<Integer> idProducts);
+
+    /**
+     * This method is used to read the company of every Product as scalars, so no Product entity is built.
+     *
+     * @return A List of rows holding the company's ID and the product's ID.
+     */
+    @Query("SELECT p.idCompany, p.idProduct FROM Product p")
+    List<Object[]> findAllCompanyRows();
+
     /**
      * This method is used to delete all Products by the company's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param id The ID of the company.
      */
-    void deleteByIdCompany(Integer id);
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.idCompany = :id")
+    void deleteByIdCompany(@Param("id") Integer id);
+
+    /**
+     * This method is used to read Products by their IDs, as entities or as a projection.
+     * A closed projection such as ProductSummary selects only its columns.
+     *
+     * @param idProducts The IDs of the Products.
+     * @param type       The class of the result: Product or a projection of it.
+     * @param <T>        The type of the result.
+     * @return A List of the Products found, in no particular order.
+     */
+    <T> List<T> findByIdProductIn(Collection<Integer> idProducts, Class<T> type);
+
+    /**
+     * This method is used to read a page of Products with keyset pagination, as entities or as a projection.
+     * It seeks on the primary key, so every page costs the same no matter how deep it is.
+     *
+     * @param idProduct The ID of the last Product of the previous page, or 0 for the first page.
+     * @param limit     The maximum number of Products to read.
+     * @param type      The class of the result: Product or a projection of it.
+     * @param <T>       The type of the result.
+     * @return A List of Products ordered by ID.
+     */
+    <T> List<T> findByIdProductGreaterThanOrderByIdProductAsc(Integer idProduct, Limit limit, Class<T> type);
+
+    /**
+     * This method is used to read a page of the Products of a company with keyset pagination,
+     * as entities or as a projection. It seeks on the (idCompany, idProduct) index.
+     *
+     * @param idCompany The ID of the company.
+     * @param idProduct The ID of the last Product of the previous page, or 0 for the first page.
+     * @param limit     The maximum number of Products to read.
+     * @param type      The class of the result: Product or a projection of it.
+     * @param <T>       The type of the result.
+     * @return A List of Products ordered by ID.
+     */
+    <T> List<T> findByIdCompanyAndIdProductGreaterThanOrderByIdProductAsc(Integer idCompany, Integer idProduct, Limit limit, Class<T> type);
+
+    /**
+     * This method is used to read all Products through a forward-only cursor.
+     * The MySQL driver streams the rows one by one when the fetch size is Integer.MIN_VALUE,
+     * so the whole result is never held in memory. The Stream must be consumed inside a transaction and closed.
+     *
+     * @return A Stream of Product entities ordered by ID.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p FROM Product p ORDER BY p.idProduct")
+    Stream<Product> streamAll();
+
+    /**
+     * This method is used to read all Products of a company through a forward-only cursor.
+     *
+     * @param idCompany The ID of the company.
+     * @return A Stream of Product entities ordered by ID.
+     * @see #streamAll()
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p FROM Product p WHERE p.idCompany = :idCompany ORDER BY p.idProduct")
+    Stream<Product> streamAllByIdCompany(@Param("idCompany") Integer idCompany);
+
+    /**
+     * This method is used to delete the given Products.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
+     *
+     * @param idProducts The IDs of the Products.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.idProduct IN :idProducts")
+    void deleteByIdProductIn(@Param("idProducts") Collection<Integer> idProducts);
+
+    /**
+     * This method is used to count the Products of a company.
+     *
+     * @param idCompany The ID of the company.
+     * @return The number of Products of the company.
+     */
+    long countByIdCompany(Integer idCompany);
+}
@@ -1,7 +1,13 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.ProductOrder;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * This interface represents the Data Access Object (DAO) for the ProductOrder entity.
@@ -17,11 +23,22 @@ public interface ProductOrderDao extends CrudRepository<ProductOrder, Integer> {
      */
     Iterable<ProductOrder> findByIdOrder(int idOrder);
 
+    /**
+     * This method is used to find all ProductOrders of the given orders with a single query.
+     *
+     * @param idOrders The IDs of the orders.
+     * @return A List of the ProductOrder entities, ordered by order and product.
+     */
+    List<ProductOrder> findByIdOrderInOrderByIdOrderAscIdProductAsc(Collection<Integer> idOrders);
+
     /**
      * This method is used to delete a ProductOrder by the order's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param idOrder The ID of the order.
      */
-    void deleteByIdOrder(int idOrder);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductOrder po WHERE po.idOrder = :idOrder")
+    void deleteByIdOrder(@Param("idOrder") int idOrder);
 
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.codestock.codeStockBackEnd.model.dao;
+
+import com.codestock.codeStockBackEnd.model.entity.ProductStock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents the Data Access Object (DAO) for the ProductStock entity.
+ * It extends the JpaRepository interface from Spring Data JPA to provide CRUD operations for the ProductStock entity.
+ */
+public interface ProductStockDao extends JpaRepository<ProductStock, Integer> {
+
+    /**
+     * This method is used to find the stock of the given products.
+     *
+     * @param idProducts The IDs of the products.
+     * @return A List of the ProductStock entities found; the products without stock tracked are left out.
+     */
+    List<ProductStock> findByIdProductIn(Collection<Integer> idProducts);
+
+    /**
+     * This method is used to find the stock of all the hot products.
+     *
+     * @return A List of the ProductStock entities of the hot products.
+     */
+    List<ProductStock> findByHotTrue();
+
+    /**
+     * This method is used to find the stock of a product and lock its row until the end of the transaction.
+     *
+     * @param idProduct The ID of the product.
+     * @return The ProductStock entity found, null otherwise.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductStock s WHERE s.idProduct = :idProduct")
+    ProductStock findForUpdate(@Param("idProduct") Integer idProduct);
+
+    /**
+     * This method is used to take units from the stock of a product, only if there are enough of them.
+     * It runs a single conditional UPDATE, with no read first; like any update, it keeps the row locked
+     * until the transaction ends, so the orders of the same product still wait for each other's commit.
+     *
+     * @param idProduct The ID of the product.
+     * @param quantity  The units to take.
+     * @return The number of rows updated: 0 if the stock is not tracked or there are not enough units.
+     */
+    @Modifying
+    @Query("UPDATE ProductStock s SET s.stock = s.stock - :quantity WHERE s.idProduct = :idProduct AND s.stock >= :quantity")
+    int decrement(@Param("idProduct") Integer idProduct, @Param("quantity") Integer quantity);
+
+    /**
+     * This method is used to give back units to the stock of a product.
+     *
+     * @param idProduct The ID of the product.
+     * @param quantity  The units to give back.
+     * @return The number of rows updated: 0 if the stock is not tracked.
+     */
+    @Modifying
+    @Query("UPDATE ProductStock s SET s.stock = s.stock + :quantity WHERE s.idProduct = :idProduct")
+    int increment(@Param("idProduct") Integer idProduct, @Param("quantity") Integer quantity);
+}
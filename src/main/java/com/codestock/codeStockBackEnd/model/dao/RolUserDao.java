@@ -1,7 +1,10 @@
 package com.codestock.codeStockBackEnd.model.dao;
 
 import com.codestock.codeStockBackEnd.model.entity.RolUser;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 /**
  * This interface represents the Data Access Object (DAO) for the RolUser entity.
@@ -21,8 +24,11 @@ public interface RolUserDao extends CrudRepository<RolUser, Integer> {
 
     /**
      * This method is used to delete a RolUser by the user's ID.
+     * It runs a single DELETE statement instead of loading and removing the rows one by one.
      *
      * @param id The ID of the user.
      */
-    void deleteByIdUser(Integer id);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM RolUser ru WHERE ru.idUser = :id")
+    void deleteByIdUser(@Param("id") Integer id);
 }
\ No newline at end of file
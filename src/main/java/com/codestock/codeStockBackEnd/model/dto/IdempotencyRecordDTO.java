@@ -0,0 +1,50 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for the record of a request sent with an Idempotency-Key.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the fingerprint of the request and, once the request is done, its response, to be sent back to the retries.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class IdempotencyRecordDTO implements Serializable {
+
+    /**
+     * The SHA-256 of the body of the request, in hexadecimal.
+     */
+    private String fingerprint;
+
+    /**
+     * The HTTP status of the response, or null while the request is in progress.
+     */
+    private Integer status;
+
+    /**
+     * The content type of the response, or null if it has none.
+     */
+    private String contentType;
+
+    /**
+     * The body of the response.
+     */
+    @ToString.Exclude
+    private byte[] body;
+
+    /**
+     * The date the request was received.
+     */
+    private Date created;
+}
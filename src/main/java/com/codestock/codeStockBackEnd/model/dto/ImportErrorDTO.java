@@ -0,0 +1,32 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for a row of an import that was not imported.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class ImportErrorDTO implements Serializable {
+
+    /**
+     * The line of the row in the imported file, starting at 1.
+     */
+    private Long line;
+
+    /**
+     * The reason why the row was not imported.
+     */
+    private String message;
+}
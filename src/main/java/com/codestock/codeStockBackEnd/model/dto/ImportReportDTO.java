@@ -0,0 +1,39 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for the report of a product import.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the number of rows imported and failed, and the errors of the failed rows.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class ImportReportDTO implements Serializable {
+
+    /**
+     * The number of products imported.
+     */
+    private Integer imported;
+
+    /**
+     * The number of rows not imported.
+     */
+    private Integer failed;
+
+    /**
+     * The errors of the rows not imported, in order. Only the first errors are kept.
+     */
+    private List<ImportErrorDTO> errors;
+}
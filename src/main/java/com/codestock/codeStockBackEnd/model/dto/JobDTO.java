@@ -0,0 +1,69 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for a background job.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the type, the status and the progress of the job.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class JobDTO implements Serializable {
+
+    /**
+     * The ID of the job.
+     */
+    private Integer idJob;
+
+    /**
+     * The type of the job.
+     */
+    private String type;
+
+    /**
+     * The ID of the row the job works on.
+     */
+    private Integer idTarget;
+
+    /**
+     * The status of the job: PENDING, RUNNING, DONE or FAILED.
+     */
+    private String status;
+
+    /**
+     * The number of items processed so far.
+     */
+    private Integer processed;
+
+    /**
+     * The number of items to process.
+     */
+    private Integer total;
+
+    /**
+     * The error that stopped the job, if it failed.
+     */
+    private String error;
+
+    /**
+     * The date when the job was created.
+     */
+    private Date created;
+
+    /**
+     * The date when the job was last updated.
+     */
+    private Date updated;
+}
@@ -0,0 +1,40 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for a line of an order.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the product ordered, its quantity and its unit prices when the order was placed;
+ * the details of the product are in the products of the order.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class OrderLineDTO implements Serializable {
+
+    /**
+     * The ID of the product ordered.
+     */
+    private Integer idProduct;
+
+    /**
+     * The quantity of the product ordered.
+     */
+    private Integer quantity;
+
+    /**
+     * The unit prices of the product, one per currency, when the order was placed.
+     */
+    private List<PriceDTO> prices;
+}
@@ -0,0 +1,39 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for an order to be placed, once its client is known.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class OrderPlacementDTO implements Serializable {
+
+    /**
+     * The ID of the client placing the order.
+     */
+    private Integer idClient;
+
+    /**
+     * The date of the order, or null for today.
+     */
+    private Date date;
+
+    /**
+     * The products of the order and their quantities.
+     */
+    private List<OrderProductRequestDTO> products;
+}
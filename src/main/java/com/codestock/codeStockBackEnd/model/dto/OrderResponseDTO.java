@@ -35,13 +35,19 @@ public class OrderResponseDTO {
     private Integer idClient;
 
     /**
-     * The total cost of the order.
+     * The totals of the order, one per currency in which every product of the order had a price
+     * when the order was placed.
      */
-    private Double total;
+    private List<OrderTotalDTO> totals;
 
     /**
      * The list of products in the order.
      * Each product is represented by an instance of ProductResponseDTO which contains the product details.
      */
     private List<ProductResponseDTO> products;
+
+    /**
+     * The lines of the order: the ID of each product ordered and its quantity.
+     */
+    private List<OrderLineDTO> lines;
 }
\ No newline at end of file
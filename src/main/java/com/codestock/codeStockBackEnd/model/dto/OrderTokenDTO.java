@@ -0,0 +1,57 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for the status of an order sent to the ingestion queue.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class OrderTokenDTO implements Serializable {
+
+    /**
+     * The status of an order waiting in the queue.
+     */
+    public static final String QUEUED = "QUEUED";
+
+    /**
+     * The status of an order placed.
+     */
+    public static final String PLACED = "PLACED";
+
+    /**
+     * The status of an order that could not be placed.
+     */
+    public static final String FAILED = "FAILED";
+
+    /**
+     * The token returned when the order was queued.
+     */
+    private String token;
+
+    /**
+     * The status of the order: QUEUED, PLACED or FAILED.
+     */
+    private String status;
+
+    /**
+     * The ID of the order once it is placed.
+     */
+    private Integer idOrder;
+
+    /**
+     * The reason the order could not be placed.
+     */
+    private String error;
+}
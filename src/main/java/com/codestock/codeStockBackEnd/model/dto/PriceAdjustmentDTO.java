@@ -0,0 +1,55 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for a bulk adjustment of prices.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the products whose prices change (a company, a category or a list of products),
+ * the currency, and the change: a percentage or an amount.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class PriceAdjustmentDTO implements Serializable {
+
+    /**
+     * The ID of the company whose products are repriced.
+     */
+    private Integer idCompany;
+
+    /**
+     * The ID of the category whose products are repriced.
+     */
+    private Integer idCategory;
+
+    /**
+     * The IDs of the products repriced.
+     */
+    private List<Integer> idProducts;
+
+    /**
+     * The ID of the currency of the prices changed, or null for all the currencies.
+     */
+    private Integer idCurrency;
+
+    /**
+     * The change of the prices in percent, e.g. 10 for +10% or -5 for -5%.
+     */
+    private Double percent;
+
+    /**
+     * The amount added to the prices, e.g. -2.5.
+     */
+    private Double amount;
+}
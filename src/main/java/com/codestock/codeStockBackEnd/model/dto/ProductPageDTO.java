@@ -0,0 +1,39 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for a page of products.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the products of the page and the cursor to request the next one.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class ProductPageDTO implements Serializable {
+
+    /**
+     * The products of the page.
+     */
+    private List<ProductResponseDTO> products;
+
+    /**
+     * The opaque cursor to request the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * The maximum number of products of the page.
+     */
+    private Integer limit;
+}
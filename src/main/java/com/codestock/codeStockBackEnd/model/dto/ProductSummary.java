@@ -0,0 +1,32 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+/**
+ * This interface represents a closed projection of the Product entity without its characteristics.
+ * Spring Data JPA selects only the columns of the getters, so the characteristics TEXT column is never read.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.entity.Product
+ */
+public interface ProductSummary {
+
+    /**
+     * @return The ID of the product.
+     */
+    Integer getIdProduct();
+
+    /**
+     * @return The code of the product.
+     */
+    String getCode();
+
+    /**
+     * @return The name of the product.
+     */
+    String getName();
+
+    /**
+     * @return The ID of the company that owns the product.
+     */
+    Integer getIdCompany();
+}
@@ -0,0 +1,40 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for the sales of a period: a day, a week or a month.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the units sold in the period and the revenue in each currency.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class SalesBucketDTO implements Serializable {
+
+    /**
+     * The first day of the period: the day itself, the Monday of the week or the first day of the month.
+     */
+    private LocalDate start;
+
+    /**
+     * The number of units sold in the period.
+     */
+    private Long units;
+
+    /**
+     * The revenue of the period, one per currency.
+     */
+    private List<SalesRevenueDTO> revenue;
+}
@@ -0,0 +1,32 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for the revenue of a period in a currency.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class SalesRevenueDTO implements Serializable {
+
+    /**
+     * The ID of the currency.
+     */
+    private Integer idCurrency;
+
+    /**
+     * The revenue in the currency, from the unit prices of the orders when they were placed.
+     */
+    private Double revenue;
+}
@@ -0,0 +1,42 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * This class represents a ProductResponseDTO trimmed to the fields requested by a client (a sparse fieldset).
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * Its null fields are not written, so the fields left out of the sparse fieldset do not appear in the response,
+ * while a full ProductResponseDTO keeps writing its null fields.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO
+ * @see com.codestock.codeStockBackEnd.methods.ProductFields
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SparseProductResponseDTO extends ProductResponseDTO {
+
+    /**
+     * Constructor for the SparseProductResponseDTO class, with the requested fields and null for the others.
+     *
+     * @param idProduct       The ID of the product.
+     * @param code            The code of the product.
+     * @param name            The name of the product.
+     * @param characteristics The characteristics of the product.
+     * @param idCompany       The ID of the company that owns the product.
+     * @param prices          The list of prices for the product.
+     * @param categories      The list of categories the product belongs to.
+     */
+    public SparseProductResponseDTO(Integer idProduct, String code, String name, String characteristics, Integer idCompany,
+                                    List<PriceDTO> prices, List<CategoryDTO> categories) {
+        super(idProduct, code, name, characteristics, idCompany, prices, categories);
+    }
+}
@@ -0,0 +1,37 @@
+package com.codestock.codeStockBackEnd.model.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the Data Transfer Object (DTO) for the stock of a product.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class StockDTO implements Serializable {
+
+    /**
+     * The ID of the product.
+     */
+    private Integer idProduct;
+
+    /**
+     * The units of the product available, counting the units of a hot product held in memory.
+     */
+    private Long stock;
+
+    /**
+     * Whether the product is sold from units held in memory, such as during a flash sale.
+     */
+    private Boolean hot;
+}
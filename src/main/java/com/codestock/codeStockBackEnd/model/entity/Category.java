@@ -16,6 +16,7 @@ import lombok.*;
  * @see jakarta.persistence.Column
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
  */
 @Data
 @AllArgsConstructor
@@ -32,7 +33,9 @@ public class Category {
      */
     @Id
     @Column(name = "idCategory")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "category_id")
+    @TableGenerator(name = "category_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "category", allocationSize = IdSequence.ALLOCATION_SIZE)
     private Integer idCategory;
 
     /**
@@ -19,6 +19,7 @@ import java.io.Serializable;
  * @see jakarta.persistence.Column
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
  * @see java.io.Serializable
  */
 @Data
@@ -36,7 +37,9 @@ public class Client implements Serializable {
      */
     @Id
     @Column(name = "idClient")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "client_id")
+    @TableGenerator(name = "client_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "client", allocationSize = IdSequence.ALLOCATION_SIZE)
     Integer idClient;
 
     /**
@@ -0,0 +1,52 @@
+package com.codestock.codeStockBackEnd.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * This class represents the Currency entity.
+ * It is annotated with JPA annotations to define the table and column mappings.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see jakarta.persistence.Entity
+ * @see jakarta.persistence.Table
+ * @see jakarta.persistence.Id
+ * @see jakarta.persistence.Column
+ * @see jakarta.persistence.GeneratedValue
+ * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "currency")
+public class Currency {
+
+    /**
+     * The ID of the currency.
+     * It is the primary key of the Currency table.
+     */
+    @Id
+    @Column(name = "idCurrency")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "currency_id")
+    @TableGenerator(name = "currency_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "currency", allocationSize = IdSequence.ALLOCATION_SIZE)
+    private Integer idCurrency;
+
+    /**
+     * The name of the currency.
+     */
+    @Column(name = "name")
+    private String name;
+
+    /**
+     * The indicator (ISO code) of the currency, such as USD.
+     */
+    @Column(name = "indicator")
+    private String indicator;
+}
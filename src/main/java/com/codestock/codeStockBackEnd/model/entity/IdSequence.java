@@ -0,0 +1,40 @@
+package com.codestock.codeStockBackEnd.model.entity;
+
+/**
+ * This class holds the settings of the id_sequence table, which hands out the ids of the entities.
+ * The table has a row per entity table, holding the next free id. A node reserves a block of
+ * ALLOCATION_SIZE ids by reading and increasing that value under a row lock, in its own transaction,
+ * then hands the ids of the block out from memory (the Hibernate pooled-lo optimizer).
+ * Unlike an auto increment column, the id of a new row is known before the insert,
+ * so Hibernate can send the inserts in JDBC batches. Several nodes never get the same block.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see jakarta.persistence.TableGenerator
+ * @see com.codestock.codeStockBackEnd.config.HibernateConfig
+ */
+public final class IdSequence {
+
+    /**
+     * The name of the table.
+     */
+    public static final String TABLE = "id_sequence";
+
+    /**
+     * The column holding the name of the entity table.
+     */
+    public static final String NAME_COLUMN = "name";
+
+    /**
+     * The column holding the next free id.
+     */
+    public static final String VALUE_COLUMN = "next_val";
+
+    /**
+     * The number of ids reserved at once.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdSequence() {
+    }
+}
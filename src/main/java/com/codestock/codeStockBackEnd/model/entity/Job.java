@@ -0,0 +1,117 @@
+package com.codestock.codeStockBackEnd.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * This class represents the Job entity.
+ * It is annotated with JPA annotations to define the table and column mappings.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures a background job, such as the deletion of a company, and its progress.
+ * The progress is saved with every chunk of work, so a job interrupted by a restart is resumed where it stopped.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see jakarta.persistence.Entity
+ * @see jakarta.persistence.Table
+ * @see jakarta.persistence.Id
+ * @see jakarta.persistence.Column
+ * @see jakarta.persistence.GeneratedValue
+ * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "job")
+public class Job {
+
+    /**
+     * The type of the jobs deleting a company.
+     */
+    public static final String COMPANY_DELETION = "COMPANY_DELETION";
+
+    /**
+     * The status of a job waiting to be run.
+     */
+    public static final String PENDING = "PENDING";
+
+    /**
+     * The status of a job being run.
+     */
+    public static final String RUNNING = "RUNNING";
+
+    /**
+     * The status of a job finished successfully.
+     */
+    public static final String DONE = "DONE";
+
+    /**
+     * The status of a job stopped by an error.
+     */
+    public static final String FAILED = "FAILED";
+
+    /**
+     * The ID of the job.
+     * It is the primary key of the Job table.
+     */
+    @Id
+    @Column(name = "idJob")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "job_id")
+    @TableGenerator(name = "job_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "job", allocationSize = IdSequence.ALLOCATION_SIZE)
+    private Integer idJob;
+
+    /**
+     * The type of the job.
+     */
+    @Column(name = "type")
+    private String type;
+
+    /**
+     * The ID of the row the job works on, such as the ID of the company to delete.
+     */
+    @Column(name = "idTarget")
+    private Integer idTarget;
+
+    /**
+     * The status of the job: PENDING, RUNNING, DONE or FAILED.
+     */
+    @Column(name = "status")
+    private String status;
+
+    /**
+     * The number of items processed so far.
+     */
+    @Column(name = "processed")
+    private Integer processed;
+
+    /**
+     * The number of items to process, counted when the job was created.
+     */
+    @Column(name = "total")
+    private Integer total;
+
+    /**
+     * The error that stopped the job, if it failed.
+     */
+    @Column(name = "error")
+    private String error;
+
+    /**
+     * The date when the job was created.
+     */
+    @Column(name = "created")
+    private Date created;
+
+    /**
+     * The date when the job was last updated.
+     */
+    @Column(name = "updated")
+    private Date updated;
+}
@@ -19,6 +19,7 @@ import java.util.Date;
  * @see jakarta.persistence.Column
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
  */
 @Data
 @AllArgsConstructor
@@ -35,7 +36,9 @@ public class Order {
      */
     @Id
     @Column(name = "idOrden")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orden_id")
+    @TableGenerator(name = "orden_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "orden", allocationSize = IdSequence.ALLOCATION_SIZE)
     private Integer idOrder;
 
     /**
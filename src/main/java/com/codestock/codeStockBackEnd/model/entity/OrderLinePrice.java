@@ -0,0 +1,123 @@
+package com.codestock.codeStockBackEnd.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * This class represents the OrderLinePrice entity.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * It is annotated with JPA annotations to define the table and column mappings.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the unit price of a product of an order in a currency, as it was when the order was placed,
+ * so later price changes do not change the orders already placed.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see jakarta.persistence.Entity
+ * @see jakarta.persistence.Table
+ * @see jakarta.persistence.Id
+ * @see jakarta.persistence.Column
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "product_order_price")
+@IdClass(OrderLinePriceKey.class)
+public class OrderLinePrice implements Serializable {
+
+    /**
+     * The ID of the order.
+     * It is a part of the composite key of the OrderLinePrice table.
+     */
+    @Id
+    @Column(name = "idOrder")
+    private Integer idOrder;
+
+    /**
+     * The ID of the product.
+     * It is a part of the composite key of the OrderLinePrice table.
+     */
+    @Id
+    @Column(name = "idProduct")
+    private Integer idProduct;
+
+    /**
+     * The ID of the currency.
+     * It is a part of the composite key of the OrderLinePrice table.
+     */
+    @Id
+    @Column(name = "idCurrency")
+    private Integer idCurrency;
+
+    /**
+     * The unit price of the product in the currency when the order was placed.
+     */
+    @Column(name = "unitPrice")
+    private Double unitPrice;
+}
+
+/**
+ * This class represents the composite key for the OrderLinePrice entity.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+class OrderLinePriceKey implements Serializable {
+
+    /**
+     * The ID of the order.
+     * It is a part of the composite key of the OrderLinePrice table.
+     */
+    private Integer idOrder;
+
+    /**
+     * The ID of the product.
+     * It is a part of the composite key of the OrderLinePrice table.
+     */
+    private Integer idProduct;
+
+    /**
+     * The ID of the currency.
+     * It is a part of the composite key of the OrderLinePrice table.
+     */
+    private Integer idCurrency;
+
+    /**
+     * Checks if the specified object is equal to this OrderLinePriceKey.
+     *
+     * @param o The object to compare this OrderLinePriceKey against
+     * @return true if the given object represents an OrderLinePriceKey equivalent to this one, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderLinePriceKey key = (OrderLinePriceKey) o;
+        return idOrder.equals(key.idOrder) && idProduct.equals(key.idProduct) && idCurrency.equals(key.idCurrency);
+    }
+
+    /**
+     * Returns a hash code value for this OrderLinePriceKey.
+     *
+     * @return a hash code value for this object.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(idOrder, idProduct, idCurrency);
+    }
+}
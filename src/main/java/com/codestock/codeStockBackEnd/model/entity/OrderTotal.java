@@ -0,0 +1,108 @@
+package com.codestock.codeStockBackEnd.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * This class represents the OrderTotal entity.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * It is annotated with JPA annotations to define the table and column mappings.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the total of an order in a currency, computed from the unit prices when the order was placed.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see jakarta.persistence.Entity
+ * @see jakarta.persistence.Table
+ * @see jakarta.persistence.Id
+ * @see jakarta.persistence.Column
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "order_total")
+@IdClass(OrderTotalKey.class)
+public class OrderTotal implements Serializable {
+
+    /**
+     * The ID of the order.
+     * It is a part of the composite key of the OrderTotal table.
+     */
+    @Id
+    @Column(name = "idOrder")
+    private Integer idOrder;
+
+    /**
+     * The ID of the currency.
+     * It is a part of the composite key of the OrderTotal table.
+     */
+    @Id
+    @Column(name = "idCurrency")
+    private Integer idCurrency;
+
+    /**
+     * The total of the order in the currency.
+     */
+    @Column(name = "total")
+    private Double total;
+}
+
+/**
+ * This class represents the composite key for the OrderTotal entity.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+class OrderTotalKey implements Serializable {
+
+    /**
+     * The ID of the order.
+     * It is a part of the composite key of the OrderTotal table.
+     */
+    private Integer idOrder;
+
+    /**
+     * The ID of the currency.
+     * It is a part of the composite key of the OrderTotal table.
+     */
+    private Integer idCurrency;
+
+    /**
+     * Checks if the specified object is equal to this OrderTotalKey.
+     *
+     * @param o The object to compare this OrderTotalKey against
+     * @return true if the given object represents an OrderTotalKey equivalent to this one, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderTotalKey key = (OrderTotalKey) o;
+        return idOrder.equals(key.idOrder) && idCurrency.equals(key.idCurrency);
+    }
+
+    /**
+     * Returns a hash code value for this OrderTotalKey.
+     *
+     * @return a hash code value for this object.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(idOrder, idCurrency);
+    }
+}
@@ -25,7 +25,9 @@ public class Password implements Serializable {
      */
     @Id
     @Column(name = "idPassword")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "password_id")
+    @TableGenerator(name = "password_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "password", allocationSize = IdSequence.ALLOCATION_SIZE)
     Integer idPassword;
 
     /**
@@ -24,7 +24,9 @@ public class Person implements Serializable {
 
     @Id // Indicates that this is the primary key of the entity
     @Column(name = "idPerson") // Maps this field to the "idPerson" column in the database
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Indicates that this value is automatically generated by the database
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_id") // Indicates that this value is taken from a block of ids reserved in the id_sequence table
+    @TableGenerator(name = "person_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "person", allocationSize = IdSequence.ALLOCATION_SIZE)
     Integer idPerson;
 
     @Column(name = "name") // Maps this field to the "name" column in the database
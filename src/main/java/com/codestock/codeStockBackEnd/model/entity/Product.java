@@ -20,6 +20,7 @@ import java.io.Serializable;
  * @see jakarta.persistence.Column
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
  * @see java.io.Serializable
  */
 @Data
@@ -37,7 +38,9 @@ public class Product implements Serializable {
      */
     @Id
     @Column(name = "idProduct")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id")
+    @TableGenerator(name = "product_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "product", allocationSize = IdSequence.ALLOCATION_SIZE)
     private Integer idProduct;
 
     /**
@@ -53,6 +53,13 @@ public class ProductOrder {
      */
     @Column(name = "quantity")
     private Integer quantity;
+
+    /**
+     * The ID of the company of the product when the order was placed.
+     * The sales rollups add and remove the line with this company, even if the product moves to another one later.
+     */
+    @Column(name = "idCompany")
+    private Integer idCompany;
 }
 
 /**
@@ -0,0 +1,51 @@
+package com.codestock.codeStockBackEnd.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the ProductStock entity.
+ * It implements Serializable interface for the object to be converted into a byte stream.
+ * It is annotated with JPA annotations to define the table and column mappings.
+ * The Lombok library annotations are used to reduce boilerplate code.
+ * It captures the units of a product in stock; a product without a row has no stock tracked and is never short.
+ * A hot product, such as one on a flash sale, is sold from units taken from this row in blocks and kept in memory.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see jakarta.persistence.Entity
+ * @see jakarta.persistence.Table
+ * @see jakarta.persistence.Id
+ * @see jakarta.persistence.Column
+ * @see java.io.Serializable
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "product_stock")
+public class ProductStock implements Serializable {
+
+    /**
+     * The ID of the product.
+     */
+    @Id
+    @Column(name = "idProduct")
+    private Integer idProduct;
+
+    /**
+     * The units of the product in stock, not counting the units of a hot product held in memory.
+     */
+    @Column(name = "stock")
+    private Integer stock;
+
+    /**
+     * Whether the product is sold from units held in memory.
+     */
+    @Column(name = "hot")
+    private Boolean hot;
+}
@@ -20,6 +20,7 @@ import java.io.Serializable;
  * @see jakarta.persistence.Column
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
  * @see java.io.Serializable
  */
 @Data
@@ -37,7 +38,9 @@ public class Rol implements Serializable {
      */
     @Id
     @Column(name = "idRole")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "role_id")
+    @TableGenerator(name = "role_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "role", allocationSize = IdSequence.ALLOCATION_SIZE)
     private int idRole;
 
     /**
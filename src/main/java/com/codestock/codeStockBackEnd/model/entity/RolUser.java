@@ -20,6 +20,7 @@ import java.io.Serializable;
  * @see jakarta.persistence.Column
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.TableGenerator
  * @see java.io.Serializable
  */
 @Data
@@ -37,7 +38,9 @@ public class RolUser implements Serializable {
      */
     @Id
     @Column(name = "idUserRol")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_role_id")
+    @TableGenerator(name = "user_role_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "user_role", allocationSize = IdSequence.ALLOCATION_SIZE)
     private int idUserRole;
 
     /**
@@ -22,7 +22,9 @@ public class User implements Serializable {
     @Id  // JPA annotation to denote the primary key
     @Column(name = "idUser")
     // JPA annotation to specify the details of the column that will be used to create the field in the database
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // JPA annotation to specify the primary key generation strategy
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id") // Indicates that this value is taken from a block of ids reserved in the id_sequence table
+    @TableGenerator(name = "user_id", table = IdSequence.TABLE, pkColumnName = IdSequence.NAME_COLUMN,
+            valueColumnName = IdSequence.VALUE_COLUMN, pkColumnValue = "user", allocationSize = IdSequence.ALLOCATION_SIZE)
     Integer idUser;
 
     @Column(name = "email") // JPA annotation to specify the details of the column that will be used to create the field in the database
@@ -0,0 +1,99 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.methods.ProductFields;
+import com.codestock.codeStockBackEnd.model.dto.ProductPageDTO;
+import com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO;
+import com.codestock.codeStockBackEnd.model.entity.Product;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * This interface represents the Catalog service.
+ * It assembles ProductResponseDTOs (product, prices and categories) for a whole set of products at once,
+ * using a constant number of queries instead of one query per product and per category.
+ * The methods are annotated with @Transactional to manage the transactions.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO
+ * @see com.codestock.codeStockBackEnd.model.entity.Product
+ * @see org.springframework.transaction.annotation.Transactional
+ */
+public interface ICatalog {
+
+    /**
+     * Finds the assembled product with the given id.
+     *
+     * @param id The id of the product to be found.
+     * @return The assembled product, or null if no product with the given id exists.
+     */
+    @Transactional(readOnly = true)
+    ProductResponseDTO findById(Integer id);
+
+    /**
+     * Finds all the assembled products.
+     *
+     * @param fields The requested fields.
+     * @return A list of all the assembled products.
+     */
+    @Transactional(readOnly = true)
+    List<ProductResponseDTO> findAll(ProductFields fields);
+
+    /**
+     * Finds all the assembled products of the given company.
+     *
+     * @param idCompany The id of the company whose products are to be found.
+     * @return A list of the assembled products of the company.
+     */
+    @Transactional(readOnly = true)
+    List<ProductResponseDTO> findAllByIdCompany(Integer idCompany);
+
+    /**
+     * Finds the assembled products with the given ids, in the order of the ids.
+     * Ids of missing products are skipped.
+     *
+     * @param ids    The ids of the products to be found.
+     * @param fields The requested fields.
+     * @return A list of the assembled products.
+     */
+    @Transactional(readOnly = true)
+    List<ProductResponseDTO> findAllById(List<Integer> ids, ProductFields fields);
+
+    /**
+     * Assembles the given products, keeping their order.
+     * Categories are loaded for all the products at once, prices are read from the price matrix.
+     *
+     * @param products The products to be assembled.
+     * @param fields   The requested fields.
+     * @return A list of the assembled products.
+     */
+    @Transactional(readOnly = true)
+    List<ProductResponseDTO> assemble(List<Product> products, ProductFields fields);
+
+    /**
+     * Assembles the given products in a new transaction.
+     * It is used while a streaming cursor keeps the current connection busy:
+     * the prices and categories are then read on a separate connection.
+     *
+     * @param products The products to be assembled.
+     * @param fields   The requested fields.
+     * @return A list of the assembled products.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    List<ProductResponseDTO> assembleInNewTransaction(List<Product> products, ProductFields fields);
+
+    /**
+     * Finds a page of assembled products with keyset pagination.
+     *
+     * @param idCompany The id of the company whose products are to be found, or null for all the products.
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param limit     The maximum number of products of the page.
+     * @param fields    The requested fields.
+     * @return The page of assembled products.
+     * @throws IllegalArgumentException If the cursor is malformed.
+     */
+    @Transactional(readOnly = true)
+    ProductPageDTO findPage(Integer idCompany, String cursor, int limit, ProductFields fields);
+}
\ No newline at end of file
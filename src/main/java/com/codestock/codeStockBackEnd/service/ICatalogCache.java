@@ -0,0 +1,63 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This interface represents the Catalog Cache service.
+ * It is a bounded read-through cache of the assembled products, keyed by product and by company,
+ * in front of the Catalog service. Writers must evict the entries they affect.
+ * The cached objects are shared between requests and must not be modified.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.ICatalog
+ * @see com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO
+ */
+public interface ICatalogCache {
+
+    /**
+     * Finds the assembled product with the given id, loading it on a miss.
+     *
+     * @param id The id of the product to be found.
+     * @return The assembled product, or null if no product with the given id exists.
+     */
+    ProductResponseDTO findById(Integer id);
+
+    /**
+     * Finds all the assembled products of the given company, loading them on a miss.
+     *
+     * @param idCompany The id of the company whose products are to be found.
+     * @return An unmodifiable list of the assembled products of the company.
+     */
+    List<ProductResponseDTO> findAllByIdCompany(Integer idCompany);
+
+    /**
+     * Evicts a product and the product list of its company, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product.
+     */
+    void evictProduct(Integer idProduct, Integer idCompany);
+
+    /**
+     * Evicts the product list of a company and all its products, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    void evictCompany(Integer idCompany);
+
+    /**
+     * Evicts every product and every product list, once the current transaction commits.
+     */
+    void evictAll();
+
+    /**
+     * Returns the hit, miss, load and eviction statistics of the caches.
+     *
+     * @return A map of the statistics of each cache.
+     */
+    Map<String, Map<String, Object>> stats();
+}
@@ -0,0 +1,82 @@
+package com.codestock.codeStockBackEnd.service;
+
+import java.util.Collection;
+
+/**
+ * This interface represents the Catalog Version service.
+ * It keeps in memory monotonically increasing versions of the catalog data (per company, per product,
+ * of the company list and of the category list) and turns them into strong ETags,
+ * so that a request whose If-None-Match matches can be answered with 304 without touching the database.
+ * The versions are bumped once the writing transaction commits, after the caches have been evicted.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.AfterCommit
+ */
+public interface ICatalogVersion {
+
+    /**
+     * Returns the ETag of the products of a company.
+     *
+     * @param idCompany The id of the company.
+     * @return The strong ETag, quoted.
+     */
+    String companyETag(Integer idCompany);
+
+    /**
+     * Returns the ETag of a product.
+     *
+     * @param idProduct The id of the product.
+     * @return The strong ETag, quoted.
+     */
+    String productETag(Integer idProduct);
+
+    /**
+     * Returns the ETag of the list of companies.
+     *
+     * @return The strong ETag, quoted.
+     */
+    String companiesETag();
+
+    /**
+     * Returns the ETag of the list of categories.
+     *
+     * @return The strong ETag, quoted.
+     */
+    String categoriesETag();
+
+    /**
+     * Bumps the version of a product and of its company, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product, or null if unknown.
+     */
+    void bumpProduct(Integer idProduct, Integer idCompany);
+
+    /**
+     * Bumps the versions of many products of a company, and of the company, once the current transaction commits.
+     *
+     * @param idProducts The ids of the products.
+     * @param idCompany  The id of the company of the products.
+     */
+    void bumpProducts(Collection<Integer> idProducts, Integer idCompany);
+
+    /**
+     * Bumps the version of a company and of the list of companies, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    void bumpCompany(Integer idCompany);
+
+    /**
+     * Bumps the version of the list of categories and of every product, since products embed category names,
+     * once the current transaction commits.
+     */
+    void bumpCategories();
+
+    /**
+     * Bumps the version of every product and every company, once the current transaction commits.
+     * It is used after a write that changes many products at once.
+     */
+    void bumpAll();
+}
@@ -0,0 +1,75 @@
+package com.codestock.codeStockBackEnd.service;
+
+import java.util.List;
+
+/**
+ * This interface represents the Category Index service.
+ * It keeps in memory a compressed bitmap of product ids per category and per company,
+ * so filtering the products by several categories is an intersection or a union of bitmaps.
+ * The writes are applied once the current transaction commits.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see org.roaringbitmap.RoaringBitmap
+ */
+public interface ICategoryIndex {
+
+    /**
+     * Finds the ids of the products in all (or any) of the given categories, in ascending order.
+     *
+     * @param idCategories   The ids of the categories.
+     * @param matchAll       If true, the products must be in all the categories; otherwise in any of them.
+     * @param idCompany      The id of the company of the products, or null for all the products.
+     * @param afterIdProduct Only the ids greater than this one are returned.
+     * @param count          The maximum number of ids returned.
+     * @return The ids of the products, in ascending order.
+     */
+    List<Integer> findProductIds(List<Integer> idCategories, boolean matchAll, Integer idCompany, int afterIdProduct, int count);
+
+    /**
+     * Adds a product to a category, once the current transaction commits.
+     *
+     * @param idCategory The id of the category.
+     * @param idProduct  The id of the product.
+     */
+    void addToCategory(Integer idCategory, Integer idProduct);
+
+    /**
+     * Removes a product from all the categories, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     */
+    void removeFromCategories(Integer idProduct);
+
+    /**
+     * Removes a product from a category, once the current transaction commits.
+     *
+     * @param idCategory The id of the category.
+     * @param idProduct  The id of the product.
+     */
+    void removeFromCategory(Integer idCategory, Integer idProduct);
+
+    /**
+     * Adds a product to a company, once the current transaction commits.
+     *
+     * @param idProduct         The id of the product.
+     * @param idCompany         The id of the company of the product.
+     * @param previousIdCompany The id of the company the product belonged to before, or null.
+     */
+    void addToCompany(Integer idProduct, Integer idCompany, Integer previousIdCompany);
+
+    /**
+     * Removes a product from its company and from all the categories, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product.
+     */
+    void removeProduct(Integer idProduct, Integer idCompany);
+
+    /**
+     * Removes a company and its products, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    void removeCompany(Integer idCompany);
+}
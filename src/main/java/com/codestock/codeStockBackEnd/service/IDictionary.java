@@ -0,0 +1,64 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.entity.Category;
+import com.codestock.codeStockBackEnd.model.entity.Currency;
+
+import java.util.List;
+
+/**
+ * This interface represents the Dictionary service.
+ * It holds the small reference tables (category and currency) in memory,
+ * so that looking up a name by id is a memory read instead of a query.
+ * The dictionaries are immutable snapshots, replaced as a whole when a table changes.
+ * The returned objects are shared and must not be modified.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.entity.Category
+ * @see com.codestock.codeStockBackEnd.model.entity.Currency
+ */
+public interface IDictionary {
+
+    /**
+     * Finds the category with the given id.
+     *
+     * @param idCategory The id of the category.
+     * @return The category, or null if no category with the given id exists.
+     */
+    Category getCategory(int idCategory);
+
+    /**
+     * Finds the name of the category with the given id.
+     *
+     * @param idCategory The id of the category.
+     * @return The name of the category, or null if no category with the given id exists.
+     */
+    String getCategoryName(int idCategory);
+
+    /**
+     * Finds all the categories.
+     *
+     * @return An unmodifiable list of the categories, ordered by id.
+     */
+    List<Category> getCategories();
+
+    /**
+     * Finds the currency with the given id.
+     *
+     * @param idCurrency The id of the currency.
+     * @return The currency, or null if no currency with the given id exists.
+     */
+    Currency getCurrency(int idCurrency);
+
+    /**
+     * Finds all the currencies.
+     *
+     * @return An unmodifiable list of the currencies, ordered by id.
+     */
+    List<Currency> getCurrencies();
+
+    /**
+     * Reloads the dictionaries from the database and swaps them atomically.
+     */
+    void reload();
+}
@@ -0,0 +1,22 @@
+package com.codestock.codeStockBackEnd.service;
+
+/**
+ * This interface represents the Id Allocator service.
+ * It reserves blocks of ids from the id_sequence table, for the rows written without Hibernate.
+ * It shares the table with the Hibernate table generators, so the ids never collide.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.entity.IdSequence
+ */
+public interface IIdAllocator {
+
+    /**
+     * Reserves a block of consecutive ids, in its own transaction.
+     *
+     * @param name  The name of the entity table.
+     * @param count The number of ids.
+     * @return The first id of the block.
+     */
+    int reserve(String name, int count);
+}
@@ -0,0 +1,42 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.dto.IdempotencyRecordDTO;
+
+/**
+ * This interface represents the Idempotency service.
+ * It remembers, for a limited time, the response of each write request sent with an Idempotency-Key,
+ * so a retry of the request gets the same response without the write being run again.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.IdempotencyRecordDTO
+ */
+public interface IIdempotency {
+
+    /**
+     * Claims a key for a request, unless it was already used.
+     *
+     * @param key         The key, scoped to the caller, path and query of the request.
+     * @param fingerprint The fingerprint of the body of the request.
+     * @return The claim, without status, if the request must be run, or the record of the response to send back.
+     * @throws IllegalArgumentException If the key was used with a different body.
+     * @throws IllegalStateException    If a request with the key is still in progress.
+     */
+    IdempotencyRecordDTO begin(String key, String fingerprint);
+
+    /**
+     * Saves the response of a request whose key was claimed, unless its claim was taken over by another request.
+     *
+     * @param key    The key.
+     * @param record The record of the request, with its response and the creation date of its claim.
+     */
+    void complete(String key, IdempotencyRecordDTO record);
+
+    /**
+     * Releases a claimed key whose request failed, so it can be retried, unless its claim was taken over by another request.
+     *
+     * @param key   The key.
+     * @param claim The claim returned by begin.
+     */
+    void abandon(String key, IdempotencyRecordDTO claim);
+}
@@ -0,0 +1,32 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.entity.Job;
+
+/**
+ * This interface represents the Job service.
+ * It runs the long operations, such as the deletion of a company, in the background,
+ * and keeps their progress in the job table.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.entity.Job
+ */
+public interface IJob {
+
+    /**
+     * Starts the deletion of a company and of its products in the background.
+     * If the company is already being deleted, the running job is returned instead of a new one.
+     *
+     * @param idCompany The id of the company to be deleted.
+     * @return The job deleting the company.
+     */
+    Job startCompanyDeletion(Integer idCompany);
+
+    /**
+     * Finds the job with the given id.
+     *
+     * @param idJob The id of the job to be found.
+     * @return The found job, or null if no job with the given id exists.
+     */
+    Job findById(Integer idJob);
+}
@@ -1,8 +1,15 @@
 package com.codestock.codeStockBackEnd.service;
 
+import com.codestock.codeStockBackEnd.model.dto.OrderPageDTO;
+import com.codestock.codeStockBackEnd.model.dto.OrderPlacementDTO;
+import com.codestock.codeStockBackEnd.model.dto.OrderProductRequestDTO;
+import com.codestock.codeStockBackEnd.model.dto.OrderResponseDTO;
 import com.codestock.codeStockBackEnd.model.entity.Order;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
+import java.util.List;
+
 /**
  * This interface represents the Order service.
  * It provides methods for managing orders.
@@ -25,6 +32,42 @@ public interface IOrder {
     @Transactional
     Order save(Order order);
 
+    /**
+     * Places an order with its products.
+     * The lines of the same product are merged, and all the products are checked with a single query
+     * before anything is written; then the units are taken from the stock of the products.
+     *
+     * @param idClient The id of the client making the order.
+     * @param date     The date of the order.
+     * @param products The products of the order and their quantities.
+     * @return The saved order.
+     * @throws IllegalArgumentException If the order has no products, a quantity is not positive, a product does not exist
+     *                                  or does not have enough units in stock.
+     */
+    @Transactional
+    Order placeOrder(Integer idClient, Date date, List<OrderProductRequestDTO> products);
+
+    /**
+     * Places several orders in the current transaction, sharing the queries and the batched inserts.
+     * If one of them cannot be placed, none is.
+     *
+     * @param placements The orders to be placed.
+     * @return The saved orders, in the same order.
+     * @throws IllegalArgumentException If an order has no products, a quantity is not positive, a product does not exist
+     *                                  or does not have enough units in stock.
+     */
+    @Transactional
+    List<Order> placeOrders(List<OrderPlacementDTO> placements);
+
+    /**
+     * Checks the lines of an order and the products it holds, without writing anything.
+     *
+     * @param products The products of the order and their quantities.
+     * @throws IllegalArgumentException If the order has no products, a quantity is not positive or a product does not exist.
+     */
+    @Transactional(readOnly = true)
+    void checkOrder(List<OrderProductRequestDTO> products);
+
     /**
      * Deletes the order with the given id.
      *
@@ -50,4 +93,39 @@ public interface IOrder {
      */
     @Transactional
     Order findById(Integer id);
+
+    /**
+     * Finds the order with the given id, with its lines and its products.
+     *
+     * @param id The id of the order to be found.
+     * @return The assembled order, or null if no order with the given id exists.
+     */
+    @Transactional
+    OrderResponseDTO findHistoryById(Integer id);
+
+    /**
+     * Finds all the orders of a client, with their lines and their products.
+     * Without dates, the orders with no date are included too.
+     *
+     * @param idClient The id of the client whose orders are to be found.
+     * @param from     The first date of the orders, inclusive, or null for no lower bound.
+     * @param to       The last date of the orders, inclusive, or null for no upper bound.
+     * @return A list of the assembled orders.
+     */
+    @Transactional
+    List<OrderResponseDTO> findHistoryByIdClient(Integer idClient, Date from, Date to);
+
+    /**
+     * Finds a page of the dated orders of a client, newest first, with their lines and their products.
+     *
+     * @param idClient The id of the client whose orders are to be found.
+     * @param from     The first date of the orders, inclusive, or null for no lower bound.
+     * @param to       The last date of the orders, inclusive, or null for no upper bound.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param limit    The maximum number of orders of the page.
+     * @return The page of assembled orders.
+     * @throws IllegalArgumentException If the cursor is not valid.
+     */
+    @Transactional
+    OrderPageDTO findHistoryPage(Integer idClient, Date from, Date to, String cursor, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.dto.OrderPlacementDTO;
+import com.codestock.codeStockBackEnd.model.dto.OrderTokenDTO;
+
+/**
+ * This interface represents the Order Queue service.
+ * It accepts orders to be placed in the background, many of them per transaction,
+ * and gives a token for each one to find out later whether it was placed.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.OrderTokenDTO
+ */
+public interface IOrderQueue {
+
+    /**
+     * Checks an order and queues it to be placed.
+     *
+     * @param placement The order to be placed.
+     * @return The token of the order.
+     * @throws IllegalArgumentException If the order has no products, a quantity is not positive or a product does not exist.
+     * @throws IllegalStateException    If the queue is full.
+     */
+    String submit(OrderPlacementDTO placement);
+
+    /**
+     * Finds the status of a queued order.
+     *
+     * @param token The token of the order.
+     * @return The status of the order, or null if the token is unknown or expired.
+     */
+    OrderTokenDTO findByToken(String token);
+}
@@ -1,9 +1,13 @@
 package com.codestock.codeStockBackEnd.service;
 
+import com.codestock.codeStockBackEnd.model.dto.PriceAdjustmentDTO;
 import com.codestock.codeStockBackEnd.model.dto.PriceDTO;
 import com.codestock.codeStockBackEnd.model.entity.Price;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * This interface represents the Price service.
  * It provides methods for managing prices.
@@ -35,6 +39,15 @@ public interface IPrice {
     @Transactional
     void deleteByIdProduct(Integer id);
 
+    /**
+     * Deletes the prices of the given products, with a single statement.
+     *
+     * @param idProducts The ids of the products, all of the same company.
+     * @param idCompany  The id of the company of the products.
+     */
+    @Transactional
+    void deleteByIdProductIn(Collection<Integer> idProducts, Integer idCompany);
+
     /**
      * Finds all prices with the given product id.
      *
@@ -43,4 +56,26 @@ public interface IPrice {
      */
     @Transactional(readOnly = true)
     Iterable<Price> findByIdProduct(Integer id);
+
+    /**
+     * Changes the prices of a company, a category or a list of products by a percentage or an amount,
+     * with set-based updates.
+     *
+     * @param adjustment The products, the currency and the change.
+     * @return The number of prices changed.
+     * @throws IllegalArgumentException If the adjustment does not give exactly one scope and exactly one change.
+     */
+    @Transactional
+    int adjust(PriceAdjustmentDTO adjustment);
+
+    /**
+     * Makes the prices of a product the given ones, writing only the differences.
+     * The prices are compared to the cent, the precision of the price column.
+     *
+     * @param idProduct The id of the product.
+     * @param prices    All the prices of the product, one per currency.
+     * @return True if a price was added, changed or removed.
+     */
+    @Transactional
+    boolean replaceAll(Integer idProduct, List<PriceDTO> prices);
 }
\ No newline at end of file
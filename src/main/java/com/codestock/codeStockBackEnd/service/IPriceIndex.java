@@ -0,0 +1,79 @@
+package com.codestock.codeStockBackEnd.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents the Price Index service.
+ * It keeps in memory, for each currency and for each currency and company, the prices sorted by (price, idProduct),
+ * so a price range or a page sorted by price is found in logarithmic time.
+ * The writes are applied once the current transaction commits.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IPrice
+ */
+public interface IPriceIndex {
+
+    /**
+     * Finds the prices of a currency in a range, sorted by price then by product.
+     *
+     * @param idCurrency The id of the currency.
+     * @param minPrice   The minimum price, inclusive, or null.
+     * @param maxPrice   The maximum price, inclusive, or null.
+     * @param idCompany  The id of the company of the products, or null for all the products.
+     * @param descending If true, the prices are sorted from the highest.
+     * @param after      The last entry of the previous page, or null for the first page.
+     * @param count      The maximum number of entries returned.
+     * @return The entries, in order.
+     */
+    List<Entry> findRange(int idCurrency, Double minPrice, Double maxPrice, Integer idCompany, boolean descending, Entry after, int count);
+
+    /**
+     * Sets the price of a product in a currency, once the current transaction commits.
+     *
+     * @param idCurrency The id of the currency.
+     * @param idProduct  The id of the product.
+     * @param idCompany  The id of the company of the product.
+     * @param price      The price, or null to remove it.
+     */
+    void put(Integer idCurrency, Integer idProduct, Integer idCompany, Double price);
+
+    /**
+     * Removes all the prices of a product, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     */
+    void removeProduct(Integer idProduct);
+
+    /**
+     * Removes all the prices of many products, once the current transaction commits.
+     *
+     * @param idProducts The ids of the products.
+     */
+    void removeProducts(Collection<Integer> idProducts);
+
+    /**
+     * Moves the prices of a product to another company, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the new company of the product.
+     */
+    void moveProduct(Integer idProduct, Integer idCompany);
+
+    /**
+     * Drops the whole index once the current transaction commits; it is built again on the next query.
+     * It is used after a write that changes many prices at once.
+     */
+    void invalidate();
+
+    /**
+     * A price of a product.
+     *
+     * @param price     The price.
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product.
+     */
+    record Entry(double price, int idProduct, int idCompany) {
+    }
+}
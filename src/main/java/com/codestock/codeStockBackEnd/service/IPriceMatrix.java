@@ -0,0 +1,70 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.dto.PriceDTO;
+
+import java.util.List;
+
+/**
+ * This interface represents the Price Matrix service.
+ * It holds the prices of each company in memory, in a primitive matrix of product slots by currency slots,
+ * instead of one Price entity per value. A company is loaded on its first read.
+ * The writes are applied once the current transaction commits.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.PriceDTO
+ * @see com.codestock.codeStockBackEnd.service.IPrice
+ */
+public interface IPriceMatrix {
+
+    /**
+     * Finds the prices of a product.
+     *
+     * @param idCompany The id of the company of the product.
+     * @param idProduct The id of the product.
+     * @return A list of the prices of the product, ordered by currency.
+     */
+    List<PriceDTO> findPrices(Integer idCompany, Integer idProduct);
+
+    /**
+     * Finds the price of a product in a currency.
+     *
+     * @param idCompany  The id of the company of the product.
+     * @param idProduct  The id of the product.
+     * @param idCurrency The id of the currency.
+     * @return The price, or null if the product has no price in the currency.
+     */
+    Double findPrice(Integer idCompany, Integer idProduct, Integer idCurrency);
+
+    /**
+     * Sets the price of a product in a currency, once the current transaction commits.
+     *
+     * @param idCompany  The id of the company of the product.
+     * @param idProduct  The id of the product.
+     * @param idCurrency The id of the currency.
+     * @param price      The price.
+     */
+    void put(Integer idCompany, Integer idProduct, Integer idCurrency, Double price);
+
+    /**
+     * Removes all the prices of a product, once the current transaction commits.
+     *
+     * @param idCompany The id of the company of the product.
+     * @param idProduct The id of the product.
+     */
+    void removeProduct(Integer idCompany, Integer idProduct);
+
+    /**
+     * Evicts the prices of a company, once the current transaction commits.
+     * They are loaded again on the next read.
+     *
+     * @param idCompany The id of the company.
+     */
+    void evictCompany(Integer idCompany);
+
+    /**
+     * Evicts the prices of every company, once the current transaction commits.
+     * They are loaded again on the next read.
+     */
+    void evictAll();
+}
@@ -4,6 +4,10 @@ import com.codestock.codeStockBackEnd.model.dto.ProductDTO;
 import com.codestock.codeStockBackEnd.model.entity.Product;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * This interface represents the Product service.
  * It provides methods for managing products.
@@ -43,6 +47,15 @@ public interface IProduct {
     @Transactional
     void deleteByIdCompany(Integer id);
 
+    /**
+     * Deletes the given products, with a single statement. Their prices and categories must be deleted first.
+     *
+     * @param idProducts The ids of the products, all of the same company.
+     * @param idCompany  The id of the company of the products.
+     */
+    @Transactional
+    void deleteByIdProductIn(Collection<Integer> idProducts, Integer idCompany);
+
     /**
      * Finds the product with the given id.
      *
@@ -68,4 +81,15 @@ public interface IProduct {
      */
     @Transactional(readOnly = true)
     Iterable<Product> findAllByIdCompany(Integer IdCompany);
+
+    /**
+     * Reads all products, or all products of a company, through a forward-only cursor
+     * and hands them to the consumer in chunks. Only one chunk is held in memory at a time.
+     *
+     * @param idCompany The id of the company, or null for all the products.
+     * @param chunkSize The number of products of each chunk.
+     * @param consumer  The consumer of the chunks.
+     */
+    @Transactional(readOnly = true)
+    void forEachChunk(Integer idCompany, int chunkSize, Consumer<List<Product>> consumer);
 }
\ No newline at end of file
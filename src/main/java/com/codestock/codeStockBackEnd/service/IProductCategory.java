@@ -3,6 +3,8 @@ package com.codestock.codeStockBackEnd.service;
 import com.codestock.codeStockBackEnd.model.entity.ProductCategory;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+
 /**
  * This interface represents the ProductCategory service.
  * It provides methods for managing product categories.
@@ -33,6 +35,15 @@ public interface IProductCategory {
     @Transactional
     void deleteByIdProduct(Integer idProduct);
 
+    /**
+     * Deletes the product categories of the given products, with a single statement.
+     *
+     * @param idProducts The ids of the products, all of the same company.
+     * @param idCompany  The id of the company of the products.
+     */
+    @Transactional
+    void deleteByIdProductIn(Collection<Integer> idProducts, Integer idCompany);
+
     /**
      * Finds all product categories with the given product id.
      *
@@ -41,4 +52,14 @@ public interface IProductCategory {
      */
     @Transactional(readOnly = true)
     Iterable<ProductCategory> findByIdProduct(Integer idProduct);
+
+    /**
+     * Makes the categories of a product the given ones, writing only the differences.
+     *
+     * @param idProduct    The id of the product.
+     * @param idCategories The ids of all the categories of the product.
+     * @return True if a category was added or removed.
+     */
+    @Transactional
+    boolean replaceAll(Integer idProduct, Collection<Integer> idCategories);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.dto.ImportReportDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * This interface represents the Product Import service.
+ * It imports new products, with their prices and categories, from a CSV or NDJSON text read as a stream.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ */
+public interface IProductImport {
+
+    /**
+     * Imports the products of a CSV text.
+     * The first record is the header; the columns are code, name, characteristics, idCompany,
+     * prices as idCurrency:price pairs separated by ';', and categories as ids separated by ';'.
+     *
+     * @param reader The reader of the text.
+     * @return The report of the import.
+     * @throws IOException              If the text cannot be read.
+     * @throws IllegalArgumentException If the header is missing or lacks a required column.
+     */
+    ImportReportDTO importCsv(BufferedReader reader) throws IOException;
+
+    /**
+     * Imports the products of an NDJSON text: one product per line, in the format of ProductRequestDTO.
+     *
+     * @param reader The reader of the text.
+     * @return The report of the import.
+     * @throws IOException If the text cannot be read.
+     */
+    ImportReportDTO importNdjson(BufferedReader reader) throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.dto.SalesBucketDTO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents the Sales Rollup service.
+ * It keeps the daily sales of every product of every company, units and revenue per currency,
+ * up to date as the orders are placed and deleted, and reads them by day, week or month.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.SalesBucketDTO
+ */
+public interface ISalesRollup {
+
+    /**
+     * The length of the periods the sales are read by.
+     */
+    enum Granularity {
+        DAY, WEEK, MONTH
+    }
+
+    /**
+     * Adds the lines of some orders to the daily sales, in the current transaction.
+     * The lines and their unit prices must have been written already.
+     *
+     * @param idOrders The ids of the orders.
+     */
+    void addOrders(Collection<Integer> idOrders);
+
+    /**
+     * Removes the lines of an order from the daily sales, in the current transaction.
+     * It must be called before the lines and their unit prices are deleted.
+     *
+     * @param idOrder The id of the order.
+     */
+    void removeOrder(Integer idOrder);
+
+    /**
+     * Finds the sales of a company, by period, oldest first. The periods without sales are left out.
+     *
+     * @param idCompany   The id of the company.
+     * @param idProduct   The id of a product of the company to read the sales of, or null for all the products.
+     * @param from        The first day of the sales, inclusive.
+     * @param to          The last day of the sales, inclusive.
+     * @param granularity The length of the periods.
+     * @return A list of the sales of each period.
+     */
+    List<SalesBucketDTO> findSales(Integer idCompany, Integer idProduct, LocalDate from, LocalDate to, Granularity granularity);
+}
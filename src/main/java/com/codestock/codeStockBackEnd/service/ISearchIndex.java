@@ -0,0 +1,56 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.methods.InvertedIndex;
+
+import java.util.List;
+
+/**
+ * This interface represents the Search Index service.
+ * It keeps an in-memory inverted index over the code, name and characteristics of the products,
+ * one per company, and ranks the matches of a query with BM25.
+ * The writes are applied once the current transaction commits.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.InvertedIndex
+ */
+public interface ISearchIndex {
+
+    /**
+     * Searches the products matching a query, best first.
+     * A word of the query ending with '*' is a prefix.
+     *
+     * @param query     The query.
+     * @param idCompany The id of the company whose products are searched, or null for all the products.
+     * @param limit     The maximum number of results.
+     * @return The matches, best first.
+     */
+    List<InvertedIndex.Hit> search(String query, Integer idCompany, int limit);
+
+    /**
+     * Indexes a product, once the current transaction commits.
+     *
+     * @param idProduct         The id of the product.
+     * @param idCompany         The id of the company of the product.
+     * @param code              The code of the product.
+     * @param name              The name of the product.
+     * @param characteristics   The characteristics of the product.
+     * @param previousIdCompany The id of the company the product belonged to before, or null.
+     */
+    void index(Integer idProduct, Integer idCompany, String code, String name, String characteristics, Integer previousIdCompany);
+
+    /**
+     * Removes a product from the index, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product.
+     */
+    void remove(Integer idProduct, Integer idCompany);
+
+    /**
+     * Removes all the products of a company from the index, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    void removeCompany(Integer idCompany);
+}
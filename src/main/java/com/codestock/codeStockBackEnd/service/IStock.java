@@ -0,0 +1,53 @@
+package com.codestock.codeStockBackEnd.service;
+
+import com.codestock.codeStockBackEnd.model.dto.StockDTO;
+
+import java.util.Map;
+
+/**
+ * This interface represents the Stock service.
+ * It keeps the units in stock of the products and takes the units of the orders from them,
+ * so an order is never placed for more units than there are.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.model.dto.StockDTO
+ */
+public interface IStock {
+
+    /**
+     * Takes the units of an order from the stock of its products, in the current transaction.
+     * The products without stock tracked are skipped. If the transaction is rolled back, the units are given back.
+     *
+     * @param quantities The units of each product of the order.
+     * @throws IllegalArgumentException If a product does not have enough units in stock.
+     */
+    void reserve(Map<Integer, Integer> quantities);
+
+    /**
+     * Gives back the units of a deleted order to the stock of its products, in the current transaction.
+     * The products without stock tracked are skipped.
+     *
+     * @param quantities The units of each product of the order.
+     */
+    void restock(Map<Integer, Integer> quantities);
+
+    /**
+     * Finds the stock of a product.
+     *
+     * @param idProduct The id of the product.
+     * @return The stock of the product, or null if its stock is not tracked.
+     */
+    StockDTO findByIdProduct(Integer idProduct);
+
+    /**
+     * Sets the units in stock of a product, and whether it is hot.
+     * The units of a hot product held in memory are dropped, since the new stock replaces them.
+     *
+     * @param idProduct The id of the product.
+     * @param stock     The units in stock.
+     * @param hot       Whether the product is hot, or null to keep it as it is.
+     * @return The new stock of the product.
+     */
+    StockDTO setStock(Integer idProduct, int stock, Boolean hot);
+}
@@ -0,0 +1,173 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO;
+import com.codestock.codeStockBackEnd.service.ICatalog;
+import com.codestock.codeStockBackEnd.service.ICatalogCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents the Catalog Cache service implementation.
+ * It implements the ICatalogCache interface with two Caffeine caches: one of products keyed by idProduct
+ * and one of product lists keyed by idCompany, weighed by the number of products they hold.
+ * Caffeine evicts by frequency and recency (W-TinyLFU), so a scan of rarely read companies
+ * does not push the popular ones out. The entries also expire after a fixed time, which bounds
+ * the staleness of changes made outside this application.
+ * Evictions are run after the commit of the writing transaction, so readers cannot reload the old rows.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.ICatalogCache
+ * @see com.codestock.codeStockBackEnd.service.ICatalog
+ * @see com.github.benmanes.caffeine.cache.Caffeine
+ */
+@Service
+public class CatalogCacheImpl implements ICatalogCache {
+
+    /**
+     * The maximum number of products cached by id.
+     */
+    private static final long MAX_PRODUCTS = 10_000;
+
+    /**
+     * The maximum number of products held by all the cached company lists.
+     */
+    private static final long MAX_COMPANY_PRODUCTS = 50_000;
+
+    /**
+     * The time after which a cached entry is reloaded.
+     */
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final ICatalog catalogService;
+    private final Cache<Integer, ProductResponseDTO> byProduct;
+    private final Cache<Integer, List<ProductResponseDTO>> byCompany;
+
+    /**
+     * Constructor for the CatalogCacheImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param catalogService The service to assemble the products on a miss.
+     */
+    @Autowired
+    public CatalogCacheImpl(ICatalog catalogService) {
+        this.catalogService = catalogService;
+        this.byProduct = Caffeine.newBuilder()
+                .maximumSize(MAX_PRODUCTS)
+                .expireAfterWrite(TTL)
+                .recordStats()
+                .build();
+        this.byCompany = Caffeine.newBuilder()
+                .maximumWeight(MAX_COMPANY_PRODUCTS)
+                .<Integer, List<ProductResponseDTO>>weigher((idCompany, products) -> products.size() + 1)
+                .expireAfterWrite(TTL)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Finds the assembled product with the given id, loading it on a miss.
+     * Missing products are not cached.
+     *
+     * @param id The id of the product to be found.
+     * @return The assembled product, or null if no product with the given id exists.
+     */
+    @Override
+    public ProductResponseDTO findById(Integer id) {
+        return byProduct.get(id, catalogService::findById);
+    }
+
+    /**
+     * Finds all the assembled products of the given company, loading them on a miss.
+     *
+     * @param idCompany The id of the company whose products are to be found.
+     * @return An unmodifiable list of the assembled products of the company.
+     */
+    @Override
+    public List<ProductResponseDTO> findAllByIdCompany(Integer idCompany) {
+        return byCompany.get(idCompany, key -> Collections.unmodifiableList(catalogService.findAllByIdCompany(key)));
+    }
+
+    /**
+     * Evicts a product and the product list of its company, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product.
+     */
+    @Override
+    public void evictProduct(Integer idProduct, Integer idCompany) {
+        AfterCommit.run(() -> {
+            byProduct.invalidate(idProduct);
+            if (idCompany != null) {
+                byCompany.invalidate(idCompany);
+            }
+        });
+    }
+
+    /**
+     * Evicts the product list of a company and all its products, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    @Override
+    public void evictCompany(Integer idCompany) {
+        AfterCommit.run(() -> {
+            byCompany.invalidate(idCompany);
+            byProduct.asMap().values().removeIf(product -> idCompany.equals(product.getIdCompany()));
+        });
+    }
+
+    /**
+     * Evicts every product and every product list, once the current transaction commits.
+     */
+    @Override
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            byCompany.invalidateAll();
+            byProduct.invalidateAll();
+        });
+    }
+
+    /**
+     * Returns the hit, miss, load and eviction statistics of the caches.
+     *
+     * @return A map of the statistics of each cache.
+     */
+    @Override
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("byProduct", stats(byProduct.stats(), byProduct.estimatedSize()));
+        stats.put("byCompany", stats(byCompany.stats(), byCompany.estimatedSize()));
+        return stats;
+    }
+
+    /**
+     * Converts the statistics of a cache into a map.
+     *
+     * @param cacheStats The statistics of the cache.
+     * @param size       The estimated number of entries of the cache.
+     * @return A map of the statistics.
+     */
+    private Map<String, Object> stats(CacheStats cacheStats, long size) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", size);
+        map.put("hitCount", cacheStats.hitCount());
+        map.put("missCount", cacheStats.missCount());
+        map.put("hitRate", cacheStats.hitRate());
+        map.put("loadCount", cacheStats.loadCount());
+        map.put("averageLoadPenaltyMs", cacheStats.averageLoadPenalty() / 1_000_000.0);
+        map.put("evictionCount", cacheStats.evictionCount());
+        return map;
+    }
+}
@@ -0,0 +1,287 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.CursorCodec;
+import com.codestock.codeStockBackEnd.methods.ProductFields;
+import com.codestock.codeStockBackEnd.model.dao.ProductCategoryDao;
+import com.codestock.codeStockBackEnd.model.dao.ProductDao;
+import com.codestock.codeStockBackEnd.model.dto.CategoryDTO;
+import com.codestock.codeStockBackEnd.model.dto.PriceDTO;
+import com.codestock.codeStockBackEnd.model.dto.ProductPageDTO;
+import com.codestock.codeStockBackEnd.model.dto.ProductResponseDTO;
+import com.codestock.codeStockBackEnd.model.dto.ProductSummary;
+import com.codestock.codeStockBackEnd.model.entity.Product;
+import com.codestock.codeStockBackEnd.model.entity.ProductCategory;
+import com.codestock.codeStockBackEnd.service.ICatalog;
+import com.codestock.codeStockBackEnd.service.IDictionary;
+import com.codestock.codeStockBackEnd.service.IPriceMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * This class represents the Catalog service implementation.
+ * It implements the ICatalog interface and assembles ProductResponseDTOs in a constant number of queries:
+ * one for the products and one for their category links.
+ * The category names are read from the in-memory dictionary.
+ * The prices are read from the in-memory price matrix of each company.
+ * Category links are loaded with a join on the company, or with IN queries for an explicit list of products.
+ * Only the requested fields are loaded: without the characteristics the products are read through the
+ * ProductSummary projection, without the categories their links are not read, and a currency
+ * reads a single price of the matrix.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.ICatalog
+ * @see com.codestock.codeStockBackEnd.model.dao.ProductDao
+ * @see com.codestock.codeStockBackEnd.service.IPriceMatrix
+ * @see com.codestock.codeStockBackEnd.model.dao.ProductCategoryDao
+ * @see com.codestock.codeStockBackEnd.service.IDictionary
+ */
+@Service
+public class CatalogImpl implements ICatalog {
+
+    /**
+     * The maximum number of ids sent in a single IN query.
+     */
+    private static final int IN_BATCH_SIZE = 1000;
+
+    private final ProductDao productDao;
+    private final IPriceMatrix priceMatrix;
+    private final ProductCategoryDao productCategoryDao;
+    private final IDictionary dictionary;
+
+    /**
+     * Constructor for the CatalogImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param productDao         The DAO to read the products.
+     * @param priceMatrix        The matrix of the prices.
+     * @param productCategoryDao The DAO to read the product category links.
+     * @param dictionary         The dictionary of the category names.
+     */
+    @Autowired
+    public CatalogImpl(ProductDao productDao, IPriceMatrix priceMatrix, ProductCategoryDao productCategoryDao, IDictionary dictionary) {
+        this.productDao = productDao;
+        this.priceMatrix = priceMatrix;
+        this.productCategoryDao = productCategoryDao;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Finds the assembled product with the given id.
+     *
+     * @param id The id of the product to be found.
+     * @return The assembled product, or null if no product with the given id exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductResponseDTO findById(Integer id) {
+        Product product = productDao.findById(id).orElse(null);
+        if (product == null) {
+            return null;
+        }
+        return assemble(List.of(product), ProductFields.ALL).get(0);
+    }
+
+    /**
+     * Finds all the assembled products.
+     *
+     * @param fields The requested fields.
+     * @return A list of all the assembled products.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> findAll(ProductFields fields) {
+        return build(productDao.findAll(), fields.categories() ? productCategoryDao.findAll() : List.of(), fields);
+    }
+
+    /**
+     * Finds all the assembled products of the given company.
+     *
+     * @param idCompany The id of the company whose products are to be found.
+     * @return A list of the assembled products of the company.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> findAllByIdCompany(Integer idCompany) {
+        return build(productDao.findAllByIdCompany(idCompany), productCategoryDao.findByIdCompany(idCompany), ProductFields.ALL);
+    }
+
+    /**
+     * Finds the assembled products with the given ids, in the order of the ids.
+     *
+     * @param ids    The ids of the products to be found.
+     * @param fields The requested fields.
+     * @return A list of the assembled products.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> findAllById(List<Integer> ids, ProductFields fields) {
+        Map<Integer, Product> productsById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + IN_BATCH_SIZE, ids.size()));
+            read(fields, type -> productDao.findByIdProductIn(batch, type))
+                    .forEach(product -> productsById.put(product.getIdProduct(), product));
+        }
+        List<Product> products = new ArrayList<>();
+        for (Integer id : ids) {
+            Product product = productsById.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return assemble(products, fields);
+    }
+
+    /**
+     * Assembles the given products, keeping their order.
+     * The ids are sent in IN queries of at most IN_BATCH_SIZE ids.
+     *
+     * @param products The products to be assembled.
+     * @param fields   The requested fields.
+     * @return A list of the assembled products.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> assemble(List<Product> products, ProductFields fields) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (!fields.categories()) {
+            return build(products, List.of(), fields);
+        }
+        List<Integer> ids = products.stream().map(Product::getIdProduct).toList();
+        List<ProductCategory> productCategories = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + IN_BATCH_SIZE, ids.size()));
+            productCategoryDao.findByIdProductIn(batch).forEach(productCategories::add);
+        }
+        return build(products, productCategories, fields);
+    }
+
+    /**
+     * Assembles the given products in a new transaction, on a separate connection.
+     *
+     * @param products The products to be assembled.
+     * @param fields   The requested fields.
+     * @return A list of the assembled products.
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<ProductResponseDTO> assembleInNewTransaction(List<Product> products, ProductFields fields) {
+        return assemble(products, fields);
+    }
+
+    /**
+     * Finds a page of assembled products with keyset pagination.
+     * One extra product is read to know whether there is a next page.
+     *
+     * @param idCompany The id of the company whose products are to be found, or null for all the products.
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param limit     The maximum number of products of the page.
+     * @param fields    The requested fields.
+     * @return The page of assembled products.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPageDTO findPage(Integer idCompany, String cursor, int limit, ProductFields fields) {
+        int after = cursor == null ? 0 : (int) CursorCodec.decode(cursor, 1)[0];
+        List<Product> products = read(fields, type -> idCompany == null
+                ? productDao.findByIdProductGreaterThanOrderByIdProductAsc(after, Limit.of(limit + 1), type)
+                : productDao.findByIdCompanyAndIdProductGreaterThanOrderByIdProductAsc(idCompany, after, Limit.of(limit + 1), type));
+
+        String nextCursor = null;
+        if (products.size() > limit) {
+            products = products.subList(0, limit);
+            nextCursor = CursorCodec.encode(products.get(limit - 1).getIdProduct());
+        }
+        return ProductPageDTO.builder().products(assemble(products, fields))
+                .nextCursor(nextCursor)
+                .limit(limit)
+                .build();
+    }
+
+    /**
+     * Reads products as entities, or through the ProductSummary projection when the characteristics
+     * are not requested. The projected rows are copied into detached Product instances without characteristics.
+     *
+     * @param fields The requested fields.
+     * @param query  The query, given the class of its result.
+     * @return The products, in the order of the query.
+     */
+    private List<Product> read(ProductFields fields, Function<Class<?>, List<?>> query) {
+        if (fields.characteristics()) {
+            return query.apply(Product.class).stream().map(Product.class::cast).toList();
+        }
+        return query.apply(ProductSummary.class).stream().map(ProductSummary.class::cast)
+                .map(summary -> Product.builder().idProduct(summary.getIdProduct())
+                        .code(summary.getCode())
+                        .name(summary.getName())
+                        .idCompany(summary.getIdCompany())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Finds the requested prices of a product in the price matrix.
+     *
+     * @param product The product.
+     * @param fields  The requested fields.
+     * @return The prices of the product, its price in the requested currency, or null if the prices are not requested.
+     */
+    private List<PriceDTO> findPrices(Product product, ProductFields fields) {
+        if (!fields.prices()) {
+            return null;
+        }
+        if (fields.idCurrency() == null) {
+            return priceMatrix.findPrices(product.getIdCompany(), product.getIdProduct());
+        }
+        Double price = priceMatrix.findPrice(product.getIdCompany(), product.getIdProduct(), fields.idCurrency());
+        List<PriceDTO> prices = new ArrayList<>();
+        if (price != null) {
+            prices.add(PriceDTO.builder().idCurrency(fields.idCurrency())
+                    .price(price)
+                    .idProduct(product.getIdProduct())
+                    .build());
+        }
+        return prices;
+    }
+
+    /**
+     * Builds the ProductResponseDTOs from the already loaded rows, with the requested fields only.
+     * Unless every field is requested, they are trimmed to SparseProductResponseDTOs, which leave out the other fields.
+     *
+     * @param products          The products, in the order of the result.
+     * @param productCategories The category links of the products.
+     * @param fields            The requested fields.
+     * @return A list of the assembled products.
+     */
+    private List<ProductResponseDTO> build(Iterable<Product> products, Iterable<ProductCategory> productCategories, ProductFields fields) {
+        Map<Integer, List<CategoryDTO>> categoriesByProduct = new HashMap<>();
+        for (ProductCategory productCategory : productCategories) {
+            categoriesByProduct.computeIfAbsent(productCategory.getIdProduct(), key -> new ArrayList<>())
+                    .add(CategoryDTO.builder().idCategory(productCategory.getIdCategory())
+                            .name(dictionary.getCategoryName(productCategory.getIdCategory()))
+                            .build());
+        }
+
+        List<ProductResponseDTO> productDTOList = new ArrayList<>();
+        for (Product product : products) {
+            productDTOList.add(fields.apply(ProductResponseDTO.builder().idProduct(fields.has("idProduct") ? product.getIdProduct() : null)
+                    .code(fields.has("code") ? product.getCode() : null)
+                    .name(fields.has("name") ? product.getName() : null)
+                    .characteristics(fields.characteristics() ? product.getCharacteristics() : null)
+                    .idCompany(fields.has("idCompany") ? product.getIdCompany() : null)
+                    .prices(findPrices(product, fields))
+                    .categories(fields.categories() ? categoriesByProduct.getOrDefault(product.getIdProduct(), new ArrayList<>()) : null)
+                    .build()));
+        }
+        return productDTOList;
+    }
+}
@@ -0,0 +1,207 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class represents the Catalog Version service implementation.
+ * It implements the ICatalogVersion interface with in-memory counters:
+ * one per company, a fixed array of stripes shared by the products (a product uses the stripe of its id),
+ * one for the list of companies, one for the list of categories and one for the whole catalog.
+ * A shared stripe can only make an ETag change more often than needed, never keep it when the product changed.
+ * Every ETag starts with the start time of the application, so the counters restarting at zero
+ * cannot bring back an ETag given before a restart.
+ * The counters are per instance of the application: a write served by another instance does not bump them.
+ * So every ETag also holds the number of the current TTL window, the same time after which the catalog caches
+ * reload their entries, and an instance that missed a write stops answering 304 for the old data within that time.
+ * Within one instance, a write changes the ETags as soon as it commits.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.ICatalogVersion
+ * @see com.codestock.codeStockBackEnd.methods.AfterCommit
+ */
+@Service
+public class CatalogVersionImpl implements ICatalogVersion {
+
+    /**
+     * The number of product stripes, a power of two.
+     */
+    private static final int PRODUCT_STRIPES = 4096;
+
+    /**
+     * The time after which every ETag changes, the same as the catalog cache.
+     */
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentHashMap<Integer, AtomicLong> companies = new ConcurrentHashMap<>();
+    private final AtomicLongArray products = new AtomicLongArray(PRODUCT_STRIPES);
+    private final AtomicLong companyList = new AtomicLong();
+    private final AtomicLong categories = new AtomicLong();
+    private final AtomicLong catalog = new AtomicLong();
+
+    /**
+     * Returns the ETag of the products of a company.
+     * The products embed category names, so the version of the categories is part of it.
+     *
+     * @param idCompany The id of the company.
+     * @return The strong ETag, quoted.
+     */
+    @Override
+    public String companyETag(Integer idCompany) {
+        AtomicLong version = companies.get(idCompany);
+        return eTag("c", shared(), version == null ? 0 : version.get());
+    }
+
+    /**
+     * Returns the ETag of a product.
+     *
+     * @param idProduct The id of the product.
+     * @return The strong ETag, quoted.
+     */
+    @Override
+    public String productETag(Integer idProduct) {
+        return eTag("p", shared(), products.get(stripe(idProduct)));
+    }
+
+    /**
+     * Returns the ETag of the list of companies.
+     *
+     * @return The strong ETag, quoted.
+     */
+    @Override
+    public String companiesETag() {
+        return eTag("l", 0, companyList.get());
+    }
+
+    /**
+     * Returns the ETag of the list of categories.
+     *
+     * @return The strong ETag, quoted.
+     */
+    @Override
+    public String categoriesETag() {
+        return eTag("k", 0, categories.get());
+    }
+
+    /**
+     * Bumps the version of a product and of its company, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product, or null if unknown.
+     */
+    @Override
+    public void bumpProduct(Integer idProduct, Integer idCompany) {
+        AfterCommit.runLast(() -> {
+            if (idProduct != null) {
+                products.incrementAndGet(stripe(idProduct));
+            }
+            if (idCompany != null) {
+                company(idCompany).incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Bumps the versions of many products of a company, and of the company, once the current transaction commits.
+     *
+     * @param idProducts The ids of the products.
+     * @param idCompany  The id of the company of the products.
+     */
+    @Override
+    public void bumpProducts(Collection<Integer> idProducts, Integer idCompany) {
+        BitSet stripes = new BitSet(PRODUCT_STRIPES);
+        idProducts.forEach(idProduct -> stripes.set(stripe(idProduct)));
+        AfterCommit.runLast(() -> {
+            stripes.stream().forEach(products::incrementAndGet);
+            if (idCompany != null) {
+                company(idCompany).incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Bumps the version of a company and of the list of companies, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    @Override
+    public void bumpCompany(Integer idCompany) {
+        AfterCommit.runLast(() -> {
+            if (idCompany != null) {
+                company(idCompany).incrementAndGet();
+            }
+            companyList.incrementAndGet();
+        });
+    }
+
+    /**
+     * Bumps the version of the list of categories, once the current transaction commits.
+     * It is part of every product and company ETag.
+     */
+    @Override
+    public void bumpCategories() {
+        AfterCommit.runLast(categories::incrementAndGet);
+    }
+
+    /**
+     * Bumps the version of every product and every company, once the current transaction commits.
+     */
+    @Override
+    public void bumpAll() {
+        AfterCommit.runLast(catalog::incrementAndGet);
+    }
+
+    /**
+     * Returns the version shared by every product and company: the sum of the versions of the categories
+     * and of the whole catalog. Both only grow, so the sum changes whenever either is bumped.
+     *
+     * @return The shared version.
+     */
+    private long shared() {
+        return categories.get() + catalog.get();
+    }
+
+    /**
+     * Finds the counter of a company, creating it on first use.
+     *
+     * @param idCompany The id of the company.
+     * @return The counter of the company.
+     */
+    private AtomicLong company(Integer idCompany) {
+        return companies.computeIfAbsent(idCompany, key -> new AtomicLong());
+    }
+
+    /**
+     * Finds the stripe of a product.
+     *
+     * @param idProduct The id of the product.
+     * @return The index of the stripe.
+     */
+    private static int stripe(Integer idProduct) {
+        return idProduct & (PRODUCT_STRIPES - 1);
+    }
+
+    /**
+     * Builds a strong ETag, which also holds the current TTL window.
+     *
+     * @param kind    The kind of resource.
+     * @param shared  The version shared by all the resources of the kind.
+     * @param version The version of the resource.
+     * @return The strong ETag, quoted.
+     */
+    private String eTag(String kind, long shared, long version) {
+        long window = System.currentTimeMillis() / TTL.toMillis();
+        return "\"" + kind + epoch + "." + window + "." + shared + "." + version + "\"";
+    }
+}
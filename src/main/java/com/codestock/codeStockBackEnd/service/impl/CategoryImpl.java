@@ -1,9 +1,12 @@
 package com.codestock.codeStockBackEnd.service.impl;
 
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
 import com.codestock.codeStockBackEnd.model.dao.CategoryDao;
 import com.codestock.codeStockBackEnd.model.dto.CategoryDTO;
 import com.codestock.codeStockBackEnd.model.entity.Category;
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
 import com.codestock.codeStockBackEnd.service.ICategory;
+import com.codestock.codeStockBackEnd.service.IDictionary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
  * This class represents the Category service implementation.
  * It implements the ICategory interface and provides methods for managing categories.
  * It uses the CategoryDao to interact with the database.
+ * The reads are served from the in-memory dictionary, which is reloaded after a category is saved.
  * It is annotated with @Service to indicate that it's a service component in the Spring framework.
  * It is also annotated with @Transactional to manage the transactions.
  *
@@ -19,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
  * @version 1.0
  * @see com.codestock.codeStockBackEnd.service.ICategory
  * @see com.codestock.codeStockBackEnd.model.dao.CategoryDao
+ * @see com.codestock.codeStockBackEnd.service.IDictionary
  * @see org.springframework.stereotype.Service
  * @see org.springframework.transaction.annotation.Transactional
  */
@@ -26,20 +31,27 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoryImpl implements ICategory {
 
     private final CategoryDao categoryDao;
+    private final IDictionary dictionary;
+    private final ICatalogVersion catalogVersion;
 
     /**
      * Constructor for the CategoryImpl class.
      * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
      *
-     * @param categoryDao The DAO (Data Access Object) to interact with the database.
+     * @param categoryDao    The DAO (Data Access Object) to interact with the database.
+     * @param dictionary     The in-memory dictionary of the categories.
+     * @param catalogVersion The catalog versions, bumped by the writes.
      */
     @Autowired
-    public CategoryImpl(CategoryDao categoryDao) {
+    public CategoryImpl(CategoryDao categoryDao, IDictionary dictionary, ICatalogVersion catalogVersion) {
         this.categoryDao = categoryDao;
+        this.dictionary = dictionary;
+        this.catalogVersion = catalogVersion;
     }
 
     /**
      * Saves the given category.
+     * The dictionary is reloaded once the transaction commits, then the version of the categories is bumped.
      *
      * @param categoryDTO The category to be saved.
      * @return The saved category.
@@ -47,19 +59,22 @@ public class CategoryImpl implements ICategory {
     @Override
     @Transactional
     public Category save(CategoryDTO categoryDTO) {
-        return categoryDao.save(Category.builder().idCategory(categoryDTO.getIdCategory())
+        Category category = categoryDao.save(Category.builder().idCategory(categoryDTO.getIdCategory())
                 .name(categoryDTO.getName()).build());
+        AfterCommit.run(dictionary::reload);
+        catalogVersion.bumpCategories();
+        return category;
     }
 
     /**
      * Finds all categories.
      *
-     * @return The list of all categories.
+     * @return The list of all categories, from the dictionary.
      */
 
     @Override
     public Iterable<Category> findAllCategory() {
-        return categoryDao.findAll();
+        return dictionary.getCategories();
     }
 
 
@@ -67,12 +82,12 @@ public class CategoryImpl implements ICategory {
      * Finds the category with the given id.
      *
      * @param id The id of the category to be found.
-     * @return The found category, or null if no category with the given id exists.
+     * @return The found category, from the dictionary, or null if no category with the given id exists.
      */
     @Override
     @Transactional(readOnly = true)
     public Category findByIdCategory(Integer id) {
-        return categoryDao.findById(id).orElse(null);
+        return id == null ? null : dictionary.getCategory(id);
     }
 
 }
\ No newline at end of file
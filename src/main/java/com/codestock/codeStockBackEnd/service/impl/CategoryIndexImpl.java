@@ -0,0 +1,221 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.model.dao.ProductCategoryDao;
+import com.codestock.codeStockBackEnd.model.dao.ProductDao;
+import com.codestock.codeStockBackEnd.service.ICategoryIndex;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class represents the Category Index service implementation.
+ * It implements the ICategoryIndex interface with Roaring bitmaps, which store sorted ints in compressed
+ * containers and intersect or unite them without decompressing.
+ * The bitmaps are built from two scalar queries on the first filter, holding the write lock,
+ * so a write committed meanwhile waits and is applied on top; writes before the build are skipped,
+ * since the build reads them. Filters share the read lock.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.ICategoryIndex
+ * @see org.roaringbitmap.RoaringBitmap
+ */
+@Service
+public class CategoryIndexImpl implements ICategoryIndex {
+
+    private final ProductCategoryDao productCategoryDao;
+    private final ProductDao productDao;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byCompany = new HashMap<>();
+    private volatile boolean built;
+
+    /**
+     * Constructor for the CategoryIndexImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param productCategoryDao The DAO to read the category links.
+     * @param productDao         The DAO to read the company of the products.
+     */
+    @Autowired
+    public CategoryIndexImpl(ProductCategoryDao productCategoryDao, ProductDao productDao) {
+        this.productCategoryDao = productCategoryDao;
+        this.productDao = productDao;
+    }
+
+    /**
+     * Finds the ids of the products in all (or any) of the given categories, in ascending order.
+     *
+     * @param idCategories   The ids of the categories.
+     * @param matchAll       If true, the products must be in all the categories; otherwise in any of them.
+     * @param idCompany      The id of the company of the products, or null for all the products.
+     * @param afterIdProduct Only the ids greater than this one are returned.
+     * @param count          The maximum number of ids returned.
+     * @return The ids of the products, in ascending order.
+     */
+    @Override
+    public List<Integer> findProductIds(List<Integer> idCategories, boolean matchAll, Integer idCompany, int afterIdProduct, int count) {
+        build();
+        RoaringBitmap matches;
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>();
+            for (Integer idCategory : idCategories) {
+                bitmaps.add(byCategory.getOrDefault(idCategory, new RoaringBitmap()));
+            }
+            matches = matchAll ? FastAggregation.and(bitmaps.iterator()) : FastAggregation.or(bitmaps.iterator());
+            if (idCompany != null) {
+                matches.and(byCompany.getOrDefault(idCompany, new RoaringBitmap()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Integer> ids = new ArrayList<>(count);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(afterIdProduct + 1);
+        while (iterator.hasNext() && ids.size() < count) {
+            ids.add(iterator.next());
+        }
+        return ids;
+    }
+
+    /**
+     * Adds a product to a category, once the current transaction commits.
+     *
+     * @param idCategory The id of the category.
+     * @param idProduct  The id of the product.
+     */
+    @Override
+    public void addToCategory(Integer idCategory, Integer idProduct) {
+        AfterCommit.run(() -> write(() -> byCategory.computeIfAbsent(idCategory, key -> new RoaringBitmap()).add(idProduct)));
+    }
+
+    /**
+     * Removes a product from all the categories, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     */
+    @Override
+    public void removeFromCategories(Integer idProduct) {
+        AfterCommit.run(() -> write(() -> byCategory.values().forEach(bitmap -> bitmap.remove(idProduct))));
+    }
+
+    /**
+     * Removes a product from a category, once the current transaction commits.
+     *
+     * @param idCategory The id of the category.
+     * @param idProduct  The id of the product.
+     */
+    @Override
+    public void removeFromCategory(Integer idCategory, Integer idProduct) {
+        AfterCommit.run(() -> write(() -> {
+            if (byCategory.containsKey(idCategory)) {
+                byCategory.get(idCategory).remove(idProduct);
+            }
+        }));
+    }
+
+    /**
+     * Adds a product to a company, once the current transaction commits.
+     *
+     * @param idProduct         The id of the product.
+     * @param idCompany         The id of the company of the product.
+     * @param previousIdCompany The id of the company the product belonged to before, or null.
+     */
+    @Override
+    public void addToCompany(Integer idProduct, Integer idCompany, Integer previousIdCompany) {
+        AfterCommit.run(() -> write(() -> {
+            if (previousIdCompany != null && byCompany.containsKey(previousIdCompany)) {
+                byCompany.get(previousIdCompany).remove(idProduct);
+            }
+            if (idCompany != null) {
+                byCompany.computeIfAbsent(idCompany, key -> new RoaringBitmap()).add(idProduct);
+            }
+        }));
+    }
+
+    /**
+     * Removes a product from its company and from all the categories, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product.
+     */
+    @Override
+    public void removeProduct(Integer idProduct, Integer idCompany) {
+        AfterCommit.run(() -> write(() -> {
+            if (idCompany != null && byCompany.containsKey(idCompany)) {
+                byCompany.get(idCompany).remove(idProduct);
+            }
+            byCategory.values().forEach(bitmap -> bitmap.remove(idProduct));
+        }));
+    }
+
+    /**
+     * Removes a company and its products, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    @Override
+    public void removeCompany(Integer idCompany) {
+        AfterCommit.run(() -> write(() -> {
+            RoaringBitmap products = byCompany.remove(idCompany);
+            if (products != null) {
+                byCategory.values().forEach(bitmap -> bitmap.andNot(products));
+            }
+        }));
+    }
+
+    /**
+     * Applies a write to the bitmaps, if they are built.
+     *
+     * @param write The write.
+     */
+    private void write(Runnable write) {
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                write.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the bitmaps on first use.
+     */
+    private void build() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                return;
+            }
+            for (Object[] row : productCategoryDao.findAllCategoryRows()) {
+                byCategory.computeIfAbsent((Integer) row[0], key -> new RoaringBitmap()).add((Integer) row[1]);
+            }
+            for (Object[] row : productDao.findAllCompanyRows()) {
+                if (row[0] != null) {
+                    byCompany.computeIfAbsent((Integer) row[0], key -> new RoaringBitmap()).add((Integer) row[1]);
+                }
+            }
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            byCompany.values().forEach(RoaringBitmap::runOptimize);
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.codestock.codeStockBackEnd.service.impl;
 import com.codestock.codeStockBackEnd.model.dao.CompanyDao;
 import com.codestock.codeStockBackEnd.model.dto.CompanyDTO;
 import com.codestock.codeStockBackEnd.model.entity.Company;
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
 import com.codestock.codeStockBackEnd.service.ICompany;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -26,16 +27,19 @@ import org.springframework.transaction.annotation.Transactional;
 public class CompanyImpl implements ICompany {
 
     private final CompanyDao companyDao;
+    private final ICatalogVersion catalogVersion;
 
     /**
      * Constructor for the CompanyImpl class.
      * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
      *
-     * @param companyDao The DAO (Data Access Object) to interact with the database.
+     * @param companyDao     The DAO (Data Access Object) to interact with the database.
+     * @param catalogVersion The catalog versions, bumped by the writes.
      */
     @Autowired
-    public CompanyImpl(CompanyDao companyDao) {
+    public CompanyImpl(CompanyDao companyDao, ICatalogVersion catalogVersion) {
         this.companyDao = companyDao;
+        this.catalogVersion = catalogVersion;
     }
 
     /**
@@ -53,7 +57,9 @@ public class CompanyImpl implements ICompany {
                 .address(companyDTO.getAddress())
                 .phone(companyDTO.getPhone())
                 .build();
-        return companyDao.save(company);
+        Company saved = companyDao.save(company);
+        catalogVersion.bumpCompany(saved.getIdCompany());
+        return saved;
     }
 
     /**
@@ -65,6 +71,7 @@ public class CompanyImpl implements ICompany {
     @Transactional
     public void deleteByIdCompany(Integer id) {
         companyDao.deleteById(id);
+        catalogVersion.bumpCompany(id);
     }
 
     /**
@@ -0,0 +1,183 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.model.dao.CategoryDao;
+import com.codestock.codeStockBackEnd.model.dao.CurrencyDao;
+import com.codestock.codeStockBackEnd.model.entity.Category;
+import com.codestock.codeStockBackEnd.model.entity.Currency;
+import com.codestock.codeStockBackEnd.service.IDictionary;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * This class represents the Dictionary service implementation.
+ * It implements the IDictionary interface and loads the category and currency tables at startup.
+ * The rows are kept in arrays indexed by id, so a lookup is a bounds check and an array read.
+ * Both arrays are published together in an immutable snapshot held by an AtomicReference:
+ * readers never lock and always see a consistent pair of dictionaries.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IDictionary
+ * @see com.codestock.codeStockBackEnd.model.dao.CategoryDao
+ * @see com.codestock.codeStockBackEnd.model.dao.CurrencyDao
+ */
+@Service
+public class DictionaryImpl implements IDictionary {
+
+    private final CategoryDao categoryDao;
+    private final CurrencyDao currencyDao;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(
+            new Snapshot(new Category[0], List.of(), new Currency[0], List.of()));
+
+    /**
+     * Constructor for the DictionaryImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param categoryDao The DAO to read the categories.
+     * @param currencyDao The DAO to read the currencies.
+     */
+    @Autowired
+    public DictionaryImpl(CategoryDao categoryDao, CurrencyDao currencyDao) {
+        this.categoryDao = categoryDao;
+        this.currencyDao = currencyDao;
+    }
+
+    /**
+     * Loads the dictionaries at startup.
+     */
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Finds the category with the given id.
+     *
+     * @param idCategory The id of the category.
+     * @return The category, or null if no category with the given id exists.
+     */
+    @Override
+    public Category getCategory(int idCategory) {
+        Category[] categories = snapshot.get().categoriesById();
+        return idCategory >= 0 && idCategory < categories.length ? categories[idCategory] : null;
+    }
+
+    /**
+     * Finds the name of the category with the given id.
+     *
+     * @param idCategory The id of the category.
+     * @return The name of the category, or null if no category with the given id exists.
+     */
+    @Override
+    public String getCategoryName(int idCategory) {
+        Category category = getCategory(idCategory);
+        return category == null ? null : category.getName();
+    }
+
+    /**
+     * Finds all the categories.
+     *
+     * @return An unmodifiable list of the categories, ordered by id.
+     */
+    @Override
+    public List<Category> getCategories() {
+        return snapshot.get().categories();
+    }
+
+    /**
+     * Finds the currency with the given id.
+     *
+     * @param idCurrency The id of the currency.
+     * @return The currency, or null if no currency with the given id exists.
+     */
+    @Override
+    public Currency getCurrency(int idCurrency) {
+        Currency[] currencies = snapshot.get().currenciesById();
+        return idCurrency >= 0 && idCurrency < currencies.length ? currencies[idCurrency] : null;
+    }
+
+    /**
+     * Finds all the currencies.
+     *
+     * @return An unmodifiable list of the currencies, ordered by id.
+     */
+    @Override
+    public List<Currency> getCurrencies() {
+        return snapshot.get().currencies();
+    }
+
+    /**
+     * Reloads the dictionaries from the database and swaps them atomically.
+     * The new snapshot is built aside; readers keep using the previous one until the swap.
+     */
+    @Override
+    public void reload() {
+        List<Category> categories = sorted(categoryDao.findAll(), Category::getIdCategory);
+        List<Currency> currencies = sorted(currencyDao.findAll(), Currency::getIdCurrency);
+        snapshot.set(new Snapshot(
+                byId(categories, Category::getIdCategory, new Category[maxId(categories, Category::getIdCategory) + 1]),
+                categories,
+                byId(currencies, Currency::getIdCurrency, new Currency[maxId(currencies, Currency::getIdCurrency) + 1]),
+                currencies));
+    }
+
+    /**
+     * Copies the rows into an unmodifiable list ordered by id.
+     *
+     * @param rows The rows.
+     * @param id   The function to get the id of a row.
+     * @return The unmodifiable list of the rows.
+     */
+    private static <T> List<T> sorted(Iterable<T> rows, Function<T, Integer> id) {
+        List<T> list = new ArrayList<>();
+        rows.forEach(list::add);
+        list.sort(Comparator.comparing(id));
+        return List.copyOf(list);
+    }
+
+    /**
+     * Finds the greatest id of the rows.
+     *
+     * @param rows The rows.
+     * @param id   The function to get the id of a row.
+     * @return The greatest id, or -1 if there are no rows.
+     */
+    private static <T> int maxId(List<T> rows, Function<T, Integer> id) {
+        return rows.isEmpty() ? -1 : id.apply(rows.get(rows.size() - 1));
+    }
+
+    /**
+     * Places each row at the index of its id.
+     *
+     * @param rows  The rows.
+     * @param id    The function to get the id of a row.
+     * @param array The array to fill, of length greatest id + 1.
+     * @return The filled array.
+     */
+    private static <T> T[] byId(List<T> rows, Function<T, Integer> id, T[] array) {
+        for (T row : rows) {
+            array[id.apply(row)] = row;
+        }
+        return array;
+    }
+
+    /**
+     * An immutable snapshot of the dictionaries.
+     *
+     * @param categoriesById The categories, at the index of their id.
+     * @param categories     The categories, ordered by id.
+     * @param currenciesById The currencies, at the index of their id.
+     * @param currencies     The currencies, ordered by id.
+     */
+    private record Snapshot(Category[] categoriesById, List<Category> categories,
+                            Currency[] currenciesById, List<Currency> currencies) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.model.entity.IdSequence;
+import com.codestock.codeStockBackEnd.service.IIdAllocator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * This class represents the Id Allocator service implementation.
+ * It implements the IIdAllocator interface the way the Hibernate table generator does with the pooled-lo optimizer:
+ * the row of the entity table is read under a lock, its value is the first id of the block,
+ * and it is increased by the size of the block. A missing row is created, starting at 1.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IIdAllocator
+ * @see com.codestock.codeStockBackEnd.model.entity.IdSequence
+ */
+@Service
+public class IdAllocatorImpl implements IIdAllocator {
+
+    private static final String SELECT = "SELECT " + IdSequence.VALUE_COLUMN + " FROM " + IdSequence.TABLE
+            + " WHERE " + IdSequence.NAME_COLUMN + " = ? FOR UPDATE";
+    private static final String UPDATE = "UPDATE " + IdSequence.TABLE + " SET " + IdSequence.VALUE_COLUMN + " = ?"
+            + " WHERE " + IdSequence.NAME_COLUMN + " = ?";
+    private static final String INSERT = "INSERT INTO " + IdSequence.TABLE
+            + " (" + IdSequence.NAME_COLUMN + ", " + IdSequence.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the IdAllocatorImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param jdbcTemplate The JDBC template to read and update the id_sequence table.
+     */
+    @Autowired
+    public IdAllocatorImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves a block of consecutive ids, in its own transaction.
+     *
+     * @param name  The name of the entity table.
+     * @param count The number of ids.
+     * @return The first id of the block.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int reserve(String name, int count) {
+        List<Integer> values = jdbcTemplate.queryForList(SELECT, Integer.class, name);
+        if (values.isEmpty()) {
+            jdbcTemplate.update(INSERT, name, 1 + count);
+            return 1;
+        }
+        int first = values.get(0);
+        jdbcTemplate.update(UPDATE, first + count, name);
+        return first;
+    }
+}
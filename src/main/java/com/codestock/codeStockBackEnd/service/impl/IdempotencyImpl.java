@@ -0,0 +1,267 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.model.dto.IdempotencyRecordDTO;
+import com.codestock.codeStockBackEnd.service.IIdempotency;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents the Idempotency service implementation.
+ * It implements the IIdempotency interface with a Caffeine cache bounded by the size of the responses it holds,
+ * whose entries expire after TTL. A key is claimed by putting a record without response in a separate map,
+ * atomically, so two concurrent requests with the same key cannot both run, and the cache never evicts a claim.
+ * When the property codestock.idempotency.database is true, the keys are kept in the idempotency_key table
+ * instead, so the instances of the application share them: a key is claimed with an INSERT IGNORE of its row,
+ * the cache only holds the finished responses, and the expired rows are purged in the background.
+ * A key whose request is still in progress after IN_PROGRESS_TIMEOUT, such as after a crash, can be claimed again;
+ * the creation date of a claim identifies it, so the request whose claim was taken over cannot save its response
+ * or release the key of the new one.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IIdempotency
+ * @see com.github.benmanes.caffeine.cache.Caffeine
+ */
+@Service
+public class IdempotencyImpl implements IIdempotency {
+
+    /**
+     * The time a key is remembered.
+     */
+    private static final Duration TTL = Duration.ofHours(24);
+
+    /**
+     * The time after which a request still in progress is considered failed.
+     */
+    private static final Duration IN_PROGRESS_TIMEOUT = Duration.ofMinutes(5);
+
+    /**
+     * The maximum number of bytes of the responses held in memory.
+     */
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * The bytes counted for a record besides its body.
+     */
+    private static final int RECORD_OVERHEAD = 256;
+
+    /**
+     * The time between two purges of the expired rows.
+     */
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(10);
+
+    /**
+     * The maximum number of rows deleted by a single purge statement.
+     */
+    private static final int PURGE_BATCH = 10_000;
+
+    private static final String DELETE_EXPIRED = "DELETE FROM idempotency_key WHERE idKey = ?"
+            + " AND (created < ? OR (status IS NULL AND created < ?))";
+    private static final String INSERT = "INSERT IGNORE INTO idempotency_key (idKey, fingerprint, created) VALUES (?, ?, ?)";
+    private static final String SELECT = "SELECT fingerprint, status, contentType, body, created FROM idempotency_key WHERE idKey = ?";
+    private static final String UPDATE = "UPDATE idempotency_key SET status = ?, contentType = ?, body = ?"
+            + " WHERE idKey = ? AND created = ? AND status IS NULL";
+    private static final String DELETE_IN_PROGRESS = "DELETE FROM idempotency_key WHERE idKey = ? AND created = ? AND status IS NULL";
+    private static final String PURGE = "DELETE FROM idempotency_key WHERE created < ? LIMIT " + PURGE_BATCH;
+
+    private static final RowMapper<IdempotencyRecordDTO> RECORD = (rs, rowNum) -> IdempotencyRecordDTO.builder()
+            .fingerprint(rs.getString("fingerprint"))
+            .status(rs.getObject("status", Integer.class))
+            .contentType(rs.getString("contentType"))
+            .body(rs.getBytes("body"))
+            .created(rs.getTimestamp("created"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean database;
+    private final Cache<String, IdempotencyRecordDTO> records;
+    private final Map<String, IdempotencyRecordDTO> inProgress = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the IdempotencyImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param jdbcTemplate The JDBC template to read and write the idempotency_key table.
+     * @param database     Whether the keys are kept in the idempotency_key table, shared by all the instances.
+     */
+    @Autowired
+    public IdempotencyImpl(JdbcTemplate jdbcTemplate, @Value("${codestock.idempotency.database:false}") boolean database) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.database = database;
+        this.records = Caffeine.newBuilder()
+                .maximumWeight(MAX_BYTES)
+                .<String, IdempotencyRecordDTO>weigher((key, record) -> RECORD_OVERHEAD + (record.getBody() == null ? 0 : record.getBody().length))
+                .expireAfterWrite(TTL)
+                .build();
+    }
+
+    /**
+     * Starts purging the expired rows in the background, once the application is ready, if the keys are kept in the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPurge() {
+        if (!database) {
+            return;
+        }
+        ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purge, 0, PURGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Claims a key for a request, unless it was already used.
+     *
+     * @param key         The key, scoped to the method and path of the request.
+     * @param fingerprint The fingerprint of the body of the request.
+     * @return The claim, without status, if the request must be run, or the record of the response to send back.
+     * @throws IllegalArgumentException If the key was used with a different body.
+     * @throws IllegalStateException    If a request with the key is still in progress.
+     */
+    @Override
+    public IdempotencyRecordDTO begin(String key, String fingerprint) {
+        Date now = new Date();
+        IdempotencyRecordDTO cached = records.getIfPresent(key);
+        if (cached != null) {
+            return check(cached, fingerprint);
+        }
+        IdempotencyRecordDTO claim = IdempotencyRecordDTO.builder().fingerprint(fingerprint).created(now).build();
+        if (!database) {
+            IdempotencyRecordDTO current = inProgress.compute(key, (k, existing) ->
+                    existing == null || existing.getCreated().getTime() < now.getTime() - IN_PROGRESS_TIMEOUT.toMillis()
+                            ? claim : existing);
+            if (current != claim) {
+                return check(current, fingerprint);
+            }
+            // The request of a previous claim may have finished between the read of the cache and this claim
+            cached = records.getIfPresent(key);
+            if (cached != null) {
+                release(key, claim.getCreated(), null);
+                return check(cached, fingerprint);
+            }
+            return claim;
+        }
+        jdbcTemplate.update(DELETE_EXPIRED, key, new Timestamp(now.getTime() - TTL.toMillis()),
+                new Timestamp(now.getTime() - IN_PROGRESS_TIMEOUT.toMillis()));
+        if (jdbcTemplate.update(INSERT, key, fingerprint, new Timestamp(now.getTime())) == 1) {
+            return claim;
+        }
+        List<IdempotencyRecordDTO> rows = jdbcTemplate.query(SELECT, RECORD, key);
+        // The row was released by its request in the meantime, so the client has to retry
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("A request with the same Idempotency-Key is in progress");
+        }
+        IdempotencyRecordDTO record = rows.get(0);
+        if (record.getStatus() != null) {
+            records.put(key, record);
+        }
+        return check(record, fingerprint);
+    }
+
+    /**
+     * Saves the response of a request whose key was claimed, unless its claim was taken over by another request.
+     *
+     * @param key    The key.
+     * @param record The record of the request, with its response and the creation date of its claim.
+     */
+    @Override
+    public void complete(String key, IdempotencyRecordDTO record) {
+        if (!database) {
+            release(key, record.getCreated(), record);
+            return;
+        }
+        if (jdbcTemplate.update(UPDATE, record.getStatus(), record.getContentType(), record.getBody(), key,
+                new Timestamp(record.getCreated().getTime())) == 1) {
+            records.put(key, record);
+        }
+    }
+
+    /**
+     * Releases a claimed key whose request failed, so it can be retried, unless its claim was taken over by another request.
+     *
+     * @param key   The key.
+     * @param claim The claim returned by begin.
+     */
+    @Override
+    public void abandon(String key, IdempotencyRecordDTO claim) {
+        if (!database) {
+            release(key, claim.getCreated(), null);
+            return;
+        }
+        jdbcTemplate.update(DELETE_IN_PROGRESS, key, new Timestamp(claim.getCreated().getTime()));
+    }
+
+    /**
+     * Removes the claim of a key held in memory, if it is still the one created at the given date,
+     * after caching the response of its request, so a retry always finds either of them.
+     *
+     * @param key     The key.
+     * @param created The creation date of the claim.
+     * @param record  The record with the response, or null if the request failed.
+     */
+    private void release(String key, Date created, IdempotencyRecordDTO record) {
+        inProgress.computeIfPresent(key, (k, claim) -> {
+            if (!claim.getCreated().equals(created)) {
+                return claim;
+            }
+            if (record != null) {
+                records.put(key, record);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Checks that a record is of the same request and finished.
+     *
+     * @param record      The record of the key.
+     * @param fingerprint The fingerprint of the body of the request.
+     * @return The record.
+     * @throws IllegalArgumentException If the record is of a different body.
+     * @throws IllegalStateException    If the record has no response yet.
+     */
+    private IdempotencyRecordDTO check(IdempotencyRecordDTO record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException("The Idempotency-Key was already used with a different request");
+        }
+        if (record.getStatus() == null) {
+            throw new IllegalStateException("A request with the same Idempotency-Key is in progress");
+        }
+        return record;
+    }
+
+    /**
+     * Deletes the expired rows, a batch at a time.
+     */
+    private void purge() {
+        try {
+            Timestamp expired = new Timestamp(System.currentTimeMillis() - TTL.toMillis());
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE, expired);
+            } while (deleted == PURGE_BATCH);
+        } catch (RuntimeException e) {
+            // The next purge deletes the rows left
+        }
+    }
+}
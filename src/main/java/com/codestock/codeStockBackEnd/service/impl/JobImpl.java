@@ -0,0 +1,225 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.model.dao.JobDao;
+import com.codestock.codeStockBackEnd.model.dao.ProductDao;
+import com.codestock.codeStockBackEnd.model.dto.ProductSummary;
+import com.codestock.codeStockBackEnd.model.entity.Job;
+import com.codestock.codeStockBackEnd.service.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class represents the Job service implementation.
+ * It implements the IJob interface with a single background thread, so the jobs run one after the other.
+ * A company is deleted in chunks of CHUNK_SIZE products, each chunk in its own transaction:
+ * one DELETE for their prices, one for their categories and one for the products,
+ * and the progress of the job is saved in the same transaction. Once no product is left, the company
+ * is deleted and the job is done. A job left PENDING or RUNNING by a restart is resumed when the
+ * application is ready, from the first product not yet deleted.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IJob
+ * @see com.codestock.codeStockBackEnd.model.dao.JobDao
+ * @see org.springframework.transaction.support.TransactionTemplate
+ */
+@Service
+public class JobImpl implements IJob {
+
+    /**
+     * The number of products deleted in a single transaction.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * The length of the error column.
+     */
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    /**
+     * The statuses of the jobs not finished yet.
+     */
+    private static final List<String> ACTIVE = List.of(Job.PENDING, Job.RUNNING);
+
+    private final JobDao jobDao;
+    private final ProductDao productDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ICompany companyService;
+    private final IProduct productService;
+    private final IPrice priceService;
+    private final IProductCategory productCategoryService;
+    private final ICatalogCache catalogCache;
+    private final IPriceMatrix priceMatrix;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor for the JobImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param jobDao                 The DAO (Data Access Object) to interact with the database.
+     * @param productDao             The DAO to read the products left to delete.
+     * @param transactionManager     The transaction manager, to delete each chunk in its own transaction.
+     * @param companyService         The service deleting the company.
+     * @param productService         The service deleting the products.
+     * @param priceService           The service deleting the prices.
+     * @param productCategoryService The service deleting the product categories.
+     * @param catalogCache           The catalog cache, evicted for the company.
+     * @param priceMatrix            The price matrices, evicted for the company.
+     */
+    @Autowired
+    public JobImpl(JobDao jobDao, ProductDao productDao, PlatformTransactionManager transactionManager, ICompany companyService,
+                   IProduct productService, IPrice priceService, IProductCategory productCategoryService,
+                   ICatalogCache catalogCache, IPriceMatrix priceMatrix) {
+        this.jobDao = jobDao;
+        this.productDao = productDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.companyService = companyService;
+        this.productService = productService;
+        this.priceService = priceService;
+        this.productCategoryService = productCategoryService;
+        this.catalogCache = catalogCache;
+        this.priceMatrix = priceMatrix;
+    }
+
+    /**
+     * Starts the deletion of a company and of its products in the background, once the current transaction commits.
+     * If the company is already being deleted, the running job is returned instead of a new one.
+     *
+     * @param idCompany The id of the company to be deleted.
+     * @return The job deleting the company.
+     */
+    @Override
+    @Transactional
+    public Job startCompanyDeletion(Integer idCompany) {
+        Job running = jobDao.findFirstByTypeAndIdTargetAndStatusIn(Job.COMPANY_DELETION, idCompany, ACTIVE);
+        if (running != null) {
+            return running;
+        }
+        Date now = new Date();
+        Job job = jobDao.save(Job.builder().type(Job.COMPANY_DELETION)
+                .idTarget(idCompany)
+                .status(Job.PENDING)
+                .processed(0)
+                .total((int) productDao.countByIdCompany(idCompany))
+                .created(now)
+                .updated(now)
+                .build());
+        Integer idJob = job.getIdJob();
+        AfterCommit.run(() -> executor.execute(() -> deleteCompany(idJob)));
+        return job;
+    }
+
+    /**
+     * Finds the job with the given id.
+     *
+     * @param idJob The id of the job to be found.
+     * @return The found job, or null if no job with the given id exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Job findById(Integer idJob) {
+        return jobDao.findById(idJob).orElse(null);
+    }
+
+    /**
+     * Resumes the jobs left unfinished by a restart, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (Job job : jobDao.findByTypeAndStatusInOrderByIdJobAsc(Job.COMPANY_DELETION, ACTIVE)) {
+            Integer idJob = job.getIdJob();
+            executor.execute(() -> deleteCompany(idJob));
+        }
+    }
+
+    /**
+     * Deletes a company chunk by chunk, on the background thread.
+     * An error stops the job and is saved with it; the chunks already committed stay deleted.
+     *
+     * @param idJob The id of the job.
+     */
+    private void deleteCompany(Integer idJob) {
+        try {
+            Integer idCompany = transactionTemplate.execute(status -> start(idJob));
+            if (idCompany == null) {
+                return;
+            }
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteChunk(idJob, idCompany)))) {
+                // Each chunk commits before the next one is read
+            }
+        } catch (RuntimeException e) {
+            String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            transactionTemplate.executeWithoutResult(status -> jobDao.findById(idJob).ifPresent(job -> {
+                job.setStatus(Job.FAILED);
+                job.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                job.setUpdated(new Date());
+                jobDao.save(job);
+            }));
+        }
+    }
+
+    /**
+     * Marks a job as running.
+     *
+     * @param idJob The id of the job.
+     * @return The id of the company to be deleted, or null if the job is not found or already finished.
+     */
+    private Integer start(Integer idJob) {
+        Job job = jobDao.findById(idJob).orElse(null);
+        if (job == null || !ACTIVE.contains(job.getStatus())) {
+            return null;
+        }
+        job.setStatus(Job.RUNNING);
+        job.setUpdated(new Date());
+        jobDao.save(job);
+        return job.getIdTarget();
+    }
+
+    /**
+     * Deletes the next chunk of products of the company, or the company itself once it has no product left,
+     * and saves the progress of the job.
+     *
+     * @param idJob     The id of the job.
+     * @param idCompany The id of the company.
+     * @return True if a chunk of products was deleted, false once the company is deleted.
+     */
+    private boolean deleteChunk(Integer idJob, Integer idCompany) {
+        List<Integer> idProducts = productDao.findByIdCompanyAndIdProductGreaterThanOrderByIdProductAsc(
+                        idCompany, 0, Limit.of(CHUNK_SIZE), ProductSummary.class)
+                .stream().map(ProductSummary::getIdProduct).toList();
+        if (idProducts.isEmpty()) {
+            companyService.deleteByIdCompany(idCompany);
+        } else {
+            priceService.deleteByIdProductIn(idProducts, idCompany);
+            productCategoryService.deleteByIdProductIn(idProducts, idCompany);
+            productService.deleteByIdProductIn(idProducts, idCompany);
+        }
+        catalogCache.evictCompany(idCompany);
+        priceMatrix.evictCompany(idCompany);
+        // The bulk deletes clear the persistence context, so the job is read after them
+        Job job = jobDao.findById(idJob).orElseThrow();
+        job.setProcessed(job.getProcessed() + idProducts.size());
+        job.setStatus(idProducts.isEmpty() ? Job.DONE : Job.RUNNING);
+        job.setUpdated(new Date());
+        jobDao.save(job);
+        return !idProducts.isEmpty();
+    }
+}
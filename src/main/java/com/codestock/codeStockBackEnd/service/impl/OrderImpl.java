@@ -1,16 +1,37 @@
 package com.codestock.codeStockBackEnd.service.impl;
 
-import com.codestock.codeStockBackEnd.model.dao.OrderDao;
-import com.codestock.codeStockBackEnd.model.entity.Order;
+import com.codestock.codeStockBackEnd.methods.CursorCodec;
+import com.codestock.codeStockBackEnd.methods.ProductFields;
+import com.codestock.codeStockBackEnd.model.dao.*;
+import com.codestock.codeStockBackEnd.model.dto.*;
+import com.codestock.codeStockBackEnd.model.entity.*;
+import com.codestock.codeStockBackEnd.service.ICatalog;
 import com.codestock.codeStockBackEnd.service.IOrder;
+import com.codestock.codeStockBackEnd.service.ISalesRollup;
+import com.codestock.codeStockBackEnd.service.IStock;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
 /**
  * This class represents the Order service implementation.
  * It implements the IOrder interface and provides methods for managing orders.
  * It uses the OrderDao to interact with the database.
+ * An order is placed with one query checking all its products, then the order and its lines are persisted
+ * without being read first, so Hibernate writes the lines as a single JDBC batch when the order is flushed;
+ * several orders placed together share the queries, the batches and the flush.
+ * The history of the orders is assembled with a fixed number of queries: one for the orders, one IN query
+ * per IN_BATCH_SIZE orders for their lines, and the catalog for the distinct products of all the lines.
+ * The orders of a client are paged with keyset pagination on (date, idOrden), newest first.
+ * When an order is placed, the unit prices of its products are copied to its lines and its totals are
+ * written to the order_total table, so the history is read without the current prices.
  * It is annotated with @Service to indicate that it's a service component in the Spring framework.
  * It is also annotated with @Transactional to manage the transactions.
  *
@@ -24,17 +45,51 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class OrderImpl implements IOrder {
 
+    /**
+     * The maximum number of ids sent in a single IN query.
+     */
+    private static final int IN_BATCH_SIZE = 1000;
+
     private final OrderDao orderDao;
+    private final ProductDao productDao;
+    private final ProductOrderDao productOrderDao;
+    private final PriceDao priceDao;
+    private final OrderLinePriceDao orderLinePriceDao;
+    private final OrderTotalDao orderTotalDao;
+    private final ICatalog catalog;
+    private final ISalesRollup salesRollup;
+    private final IStock stockService;
+    private final EntityManager entityManager;
 
     /**
      * Constructor for the OrderImpl class.
      * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
      *
-     * @param orderDao The DAO (Data Access Object) to interact with the database.
+     * @param orderDao      The DAO (Data Access Object) to interact with the database.
+     * @param productDao      The DAO to check the products of the orders.
+     * @param productOrderDao   The DAO to read the lines of the orders.
+     * @param priceDao          The DAO to read the prices of the products ordered.
+     * @param orderLinePriceDao The DAO of the unit prices of the lines, copied when the orders are placed.
+     * @param orderTotalDao     The DAO of the totals of the orders, computed when the orders are placed.
+     * @param catalog         The catalog, to assemble the products of the orders.
+     * @param salesRollup     The daily sales, updated with the orders placed.
+     * @param stockService    The stock of the products, from which the units of the orders are taken.
+     * @param entityManager   The entity manager, to persist the lines of the orders without reading them first.
      */
     @Autowired
-    public OrderImpl(OrderDao orderDao) {
+    public OrderImpl(OrderDao orderDao, ProductDao productDao, ProductOrderDao productOrderDao, PriceDao priceDao,
+                     OrderLinePriceDao orderLinePriceDao, OrderTotalDao orderTotalDao, ICatalog catalog, ISalesRollup salesRollup,
+                     IStock stockService, EntityManager entityManager) {
         this.orderDao = orderDao;
+        this.productDao = productDao;
+        this.productOrderDao = productOrderDao;
+        this.priceDao = priceDao;
+        this.orderLinePriceDao = orderLinePriceDao;
+        this.orderTotalDao = orderTotalDao;
+        this.catalog = catalog;
+        this.salesRollup = salesRollup;
+        this.stockService = stockService;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -49,6 +104,77 @@ public class OrderImpl implements IOrder {
         return orderDao.save(order);
     }
 
+    /**
+     * Places an order with its products.
+     *
+     * @param idClient The id of the client making the order.
+     * @param date     The date of the order.
+     * @param products The products of the order and their quantities.
+     * @return The saved order.
+     * @throws IllegalArgumentException If the order has no products, a quantity is not positive, a product does not exist
+     *                                  or does not have enough units in stock.
+     */
+    @Override
+    @Transactional
+    public Order placeOrder(Integer idClient, Date date, List<OrderProductRequestDTO> products) {
+        return placeOrders(List.of(OrderPlacementDTO.builder().idClient(idClient).date(date).products(products).build())).get(0);
+    }
+
+    /**
+     * Places several orders in the current transaction.
+     * The lines of the same product are merged, and the products of all the orders are checked with a single query
+     * before anything is written; then the units of all the orders are taken from the stock at once, in product order.
+     * The current prices of the products are read with a single query and copied to the lines;
+     * an order gets a total in every currency in which all its products have a price.
+     * All the rows are flushed together, so Hibernate groups the inserts of each table into JDBC batches,
+     * and the orders are added to the daily sales with one statement per table.
+     *
+     * @param placements The orders to be placed.
+     * @return The saved orders, in the same order.
+     * @throws IllegalArgumentException If an order has no products, a quantity is not positive, a product does not exist
+     *                                  or does not have enough units in stock.
+     */
+    @Override
+    @Transactional
+    public List<Order> placeOrders(List<OrderPlacementDTO> placements) {
+        List<Map<Integer, Integer>> lines = new ArrayList<>(placements.size());
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        for (OrderPlacementDTO placement : placements) {
+            Map<Integer, Integer> merged = merge(placement.getProducts());
+            lines.add(merged);
+            merged.forEach((idProduct, quantity) -> quantities.merge(idProduct, quantity, Math::addExact));
+        }
+        Map<Integer, Integer> companies = checkProducts(quantities.keySet());
+        stockService.reserve(quantities);
+        Map<Integer, List<Price>> prices = new HashMap<>();
+        for (Price price : priceDao.findByIdProductIn(quantities.keySet())) {
+            if (price.getPrice() != null) {
+                prices.computeIfAbsent(price.getIdProduct(), idProduct -> new ArrayList<>()).add(price);
+            }
+        }
+
+        List<Order> orders = new ArrayList<>(placements.size());
+        for (int i = 0; i < placements.size(); i++) {
+            OrderPlacementDTO placement = placements.get(i);
+            orders.add(persist(placement.getIdClient(), placement.getDate(), lines.get(i), companies, prices));
+        }
+        entityManager.flush();
+        salesRollup.addOrders(orders.stream().map(Order::getIdOrder).toList());
+        return orders;
+    }
+
+    /**
+     * Checks the lines of an order and the products it holds, without writing anything.
+     *
+     * @param products The products of the order and their quantities.
+     * @throws IllegalArgumentException If the order has no products, a quantity is not positive or a product does not exist.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void checkOrder(List<OrderProductRequestDTO> products) {
+        checkProducts(merge(products).keySet());
+    }
+
     /**
      * Deletes the order with the given id.
      *
@@ -57,6 +183,8 @@ public class OrderImpl implements IOrder {
     @Override
     @Transactional
     public void deleteById(Integer id) {
+        orderLinePriceDao.deleteByIdOrder(id);
+        orderTotalDao.deleteByIdOrder(id);
         orderDao.deleteById(id);
     }
 
@@ -84,4 +212,233 @@ public class OrderImpl implements IOrder {
         return orderDao.findById(id).orElse(null);
     }
 
-}
\ No newline at end of file
+    /**
+     * Finds the order with the given id, with its lines and its products.
+     *
+     * @param id The id of the order to be found.
+     * @return The assembled order, or null if no order with the given id exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderResponseDTO findHistoryById(Integer id) {
+        return orderDao.findById(id).map(order -> assemble(List.of(order)).get(0)).orElse(null);
+    }
+
+    /**
+     * Finds all the orders of a client, with their lines and their products.
+     *
+     * @param idClient The id of the client whose orders are to be found.
+     * @return A list of the assembled orders.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> findHistoryByIdClient(Integer idClient, Date from, Date to) {
+        if (from != null || to != null) {
+            return assemble(orderDao.findPageByIdClient(idClient, from, to, null, null, Pageable.unpaged()));
+        }
+        List<Order> orders = new ArrayList<>();
+        orderDao.findAllByIdClient(idClient).forEach(orders::add);
+        return assemble(orders);
+    }
+
+    /**
+     * Finds a page of the dated orders of a client, newest first, with their lines and their products.
+     * One extra order is read to know whether there is a next page.
+     * The cursor holds the date and the id of the last order of the page.
+     *
+     * @param idClient The id of the client whose orders are to be found.
+     * @param from     The first date of the orders, inclusive, or null for no lower bound.
+     * @param to       The last date of the orders, inclusive, or null for no upper bound.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param limit    The maximum number of orders of the page.
+     * @return The page of assembled orders.
+     * @throws IllegalArgumentException If the cursor is not valid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO findHistoryPage(Integer idClient, Date from, Date to, String cursor, int limit) {
+        Date afterDate = null;
+        Integer afterIdOrder = null;
+        if (cursor != null) {
+            long[] values = CursorCodec.decode(cursor, 2);
+            afterDate = new Date(values[0]);
+            afterIdOrder = (int) values[1];
+        }
+        List<Order> orders = orderDao.findPageByIdClient(idClient, from, to, afterDate, afterIdOrder, PageRequest.of(0, limit + 1));
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            Order last = orders.get(limit - 1);
+            nextCursor = CursorCodec.encode(last.getDate().getTime(), last.getIdOrder());
+        }
+        return OrderPageDTO.builder().orders(assemble(orders))
+                .nextCursor(nextCursor)
+                .limit(limit)
+                .build();
+    }
+
+    /**
+     * Assembles orders with their lines and their products.
+     * A product ordered in several orders is read and assembled once, and shared by all of them.
+     * The unit prices and totals are the ones copied when the orders were placed; the price table is not read.
+     *
+     * @param orders The orders, in the order of the result.
+     * @return A list of the assembled orders.
+     */
+    private List<OrderResponseDTO> assemble(List<Order> orders) {
+        List<Integer> idOrders = orders.stream().map(Order::getIdOrder).toList();
+        Map<Integer, List<ProductOrder>> linesByOrder = new HashMap<>();
+        Map<Long, List<PriceDTO>> pricesByLine = new HashMap<>();
+        Map<Integer, List<OrderTotalDTO>> totalsByOrder = new HashMap<>();
+        Set<Integer> idProducts = new LinkedHashSet<>();
+        for (int from = 0; from < idOrders.size(); from += IN_BATCH_SIZE) {
+            List<Integer> batch = idOrders.subList(from, Math.min(from + IN_BATCH_SIZE, idOrders.size()));
+            for (ProductOrder line : productOrderDao.findByIdOrderInOrderByIdOrderAscIdProductAsc(batch)) {
+                linesByOrder.computeIfAbsent(line.getIdOrder(), key -> new ArrayList<>()).add(line);
+                idProducts.add(line.getIdProduct());
+            }
+            for (OrderLinePrice price : orderLinePriceDao.findByIdOrderIn(batch)) {
+                pricesByLine.computeIfAbsent(lineKey(price.getIdOrder(), price.getIdProduct()), key -> new ArrayList<>())
+                        .add(PriceDTO.builder().idCurrency(price.getIdCurrency())
+                                .price(price.getUnitPrice())
+                                .idProduct(price.getIdProduct())
+                                .build());
+            }
+            for (OrderTotal total : orderTotalDao.findByIdOrderIn(batch)) {
+                totalsByOrder.computeIfAbsent(total.getIdOrder(), key -> new ArrayList<>())
+                        .add(OrderTotalDTO.builder().idCurrency(total.getIdCurrency())
+                                .total(total.getTotal())
+                                .build());
+            }
+        }
+        Map<Integer, ProductResponseDTO> products = new HashMap<>();
+        catalog.findAllById(new ArrayList<>(idProducts), ProductFields.ALL)
+                .forEach(product -> products.put(product.getIdProduct(), product));
+
+        List<OrderResponseDTO> result = new ArrayList<>();
+        for (Order order : orders) {
+            List<ProductResponseDTO> orderProducts = new ArrayList<>();
+            List<OrderLineDTO> orderLines = new ArrayList<>();
+            for (ProductOrder line : linesByOrder.getOrDefault(order.getIdOrder(), List.of())) {
+                ProductResponseDTO product = products.get(line.getIdProduct());
+                if (product != null) {
+                    orderProducts.add(product);
+                }
+                orderLines.add(OrderLineDTO.builder().idProduct(line.getIdProduct())
+                        .quantity(line.getQuantity())
+                        .prices(pricesByLine.getOrDefault(lineKey(line.getIdOrder(), line.getIdProduct()), List.of()))
+                        .build());
+            }
+            result.add(OrderResponseDTO.builder()
+                    .idOrder(order.getIdOrder())
+                    .idClient(order.getIdClient())
+                    .date(order.getDate())
+                    .products(orderProducts)
+                    .lines(orderLines)
+                    .totals(totalsByOrder.getOrDefault(order.getIdOrder(), List.of()))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Packs the ids of the order and the product of a line into a single key.
+     *
+     * @param idOrder   The id of the order.
+     * @param idProduct The id of the product.
+     * @return The key of the line.
+     */
+    private static long lineKey(int idOrder, int idProduct) {
+        return ((long) idOrder << 32) | (idProduct & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Merges the lines of the same product of an order.
+     *
+     * @param products The products of the order and their quantities.
+     * @return The quantity of each product, in the order of the lines.
+     * @throws IllegalArgumentException If the order has no products or a quantity is not positive.
+     */
+    private Map<Integer, Integer> merge(List<OrderProductRequestDTO> products) {
+        if (products == null || products.isEmpty()) {
+            throw new IllegalArgumentException("The order has no products");
+        }
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (OrderProductRequestDTO line : products) {
+            if (line.getIdProduct() == null) {
+                throw new IllegalArgumentException("A product of the order has no id");
+            }
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Invalid quantity for product " + line.getIdProduct());
+            }
+            quantities.merge(line.getIdProduct(), line.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+
+    /**
+     * Checks that the given products exist and reads their companies, with a single query.
+     *
+     * @param idProducts The ids of the products.
+     * @return The id of the company of each product, null for a product without a company.
+     * @throws IllegalArgumentException If a product does not exist.
+     */
+    private Map<Integer, Integer> checkProducts(Collection<Integer> idProducts) {
+        Set<Integer> missing = new TreeSet<>(idProducts);
+        Map<Integer, Integer> companies = new HashMap<>();
+        for (Object[] row : productDao.findCompanyRowsByIdProductIn(idProducts)) {
+            missing.remove((Integer) row[0]);
+            companies.put((Integer) row[0], (Integer) row[1]);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Products not found: " + missing);
+        }
+        return companies;
+    }
+
+    /**
+     * Persists an order with its lines, the unit prices of its lines and its totals, without flushing them.
+     *
+     * @param idClient   The id of the client making the order.
+     * @param date       The date of the order, or null for today.
+     * @param quantities The quantity of each product of the order.
+     * @param companies  The id of the company of each product, copied to the lines.
+     * @param prices     The prices of the products, by product.
+     * @return The persisted order, with its id.
+     */
+    private Order persist(Integer idClient, Date date, Map<Integer, Integer> quantities, Map<Integer, Integer> companies,
+                          Map<Integer, List<Price>> prices) {
+        Order order = Order.builder().idClient(idClient).date(date == null ? new Date() : date).build();
+        entityManager.persist(order);
+        Map<Integer, BigDecimal> totals = new TreeMap<>();
+        Map<Integer, Integer> pricedLines = new HashMap<>();
+        quantities.forEach((idProduct, quantity) -> {
+            entityManager.persist(ProductOrder.builder()
+                    .idOrder(order.getIdOrder())
+                    .idProduct(idProduct)
+                    .quantity(quantity)
+                    .idCompany(companies.get(idProduct))
+                    .build());
+            for (Price price : prices.getOrDefault(idProduct, List.of())) {
+                entityManager.persist(OrderLinePrice.builder().idOrder(order.getIdOrder())
+                        .idProduct(idProduct)
+                        .idCurrency(price.getIdCurrency())
+                        .unitPrice(price.getPrice())
+                        .build());
+                BigDecimal lineTotal = BigDecimal.valueOf(price.getPrice()).multiply(BigDecimal.valueOf(quantity));
+                totals.merge(price.getIdCurrency(), lineTotal, BigDecimal::add);
+                pricedLines.merge(price.getIdCurrency(), 1, Integer::sum);
+            }
+        });
+        totals.forEach((idCurrency, total) -> {
+            // A total missing some of the products would be wrong, so it is not kept
+            if (pricedLines.get(idCurrency) == quantities.size()) {
+                entityManager.persist(OrderTotal.builder().idOrder(order.getIdOrder())
+                        .idCurrency(idCurrency)
+                        .total(total.setScale(2, RoundingMode.HALF_UP).doubleValue())
+                        .build());
+            }
+        });
+        return order;
+    }
+}
@@ -0,0 +1,256 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.RingBuffer;
+import com.codestock.codeStockBackEnd.model.dto.OrderPlacementDTO;
+import com.codestock.codeStockBackEnd.model.dto.OrderTokenDTO;
+import com.codestock.codeStockBackEnd.model.entity.Order;
+import com.codestock.codeStockBackEnd.service.IOrder;
+import com.codestock.codeStockBackEnd.service.IOrderQueue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class represents the Order Queue service implementation.
+ * It implements the IOrderQueue interface with a RingBuffer drained by a single writer thread.
+ * The request threads only check the order, append it to the buffer and wake up the writer if it is idle; the writer
+ * takes up to MAX_BATCH orders at a time and places them in a single transaction, so they share one commit and the
+ * batched inserts of IOrder.placeOrders, while the orders arriving during that transaction make up the next batch. If the batch fails, its orders are placed again one per transaction, so a single bad order
+ * only fails itself; a batch that fails with an Error is marked as failed and the writer goes on. The queued orders live in memory: the ones left when the application stops are written
+ * before it does, but the ones of a crash are lost, and a token is only known by the instance that gave it.
+ * The status of a finished order is kept for STATUS_TTL.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IOrderQueue
+ * @see com.codestock.codeStockBackEnd.methods.RingBuffer
+ */
+@Service
+public class OrderQueueImpl implements IOrderQueue {
+
+    /**
+     * The number of orders the buffer holds.
+     */
+    private static final int CAPACITY = 8192;
+
+    /**
+     * The maximum number of orders placed in a single transaction.
+     */
+    private static final int MAX_BATCH = 100;
+
+    /**
+     * The longest time the writer sleeps when the buffer is empty; it is woken up as soon as an order is queued.
+     */
+    private static final long IDLE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The time the status of a finished order is kept.
+     */
+    private static final Duration STATUS_TTL = Duration.ofHours(1);
+
+    /**
+     * The maximum number of finished statuses kept.
+     */
+    private static final long MAX_STATUSES = 200_000;
+
+    /**
+     * The time the application waits for the queued orders to be written when it stops.
+     */
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(30);
+
+    private final IOrder orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final RingBuffer<QueuedOrder> buffer = new RingBuffer<>(CAPACITY);
+    private final Map<String, OrderTokenDTO> queued = new ConcurrentHashMap<>();
+    private final Cache<String, OrderTokenDTO> finished;
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    /**
+     * Constructor for the OrderQueueImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param orderService       The service placing the orders.
+     * @param transactionManager The transaction manager, to place each batch in its own transaction.
+     */
+    @Autowired
+    public OrderQueueImpl(IOrder orderService, PlatformTransactionManager transactionManager) {
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.finished = Caffeine.newBuilder()
+                .maximumSize(MAX_STATUSES)
+                .expireAfterWrite(STATUS_TTL)
+                .build();
+        this.writer = new Thread(this::drain, "order-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * Stops accepting orders and waits for the writer to place the ones queued.
+     *
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(SHUTDOWN_WAIT.toMillis());
+    }
+
+    /**
+     * Checks an order and queues it to be placed.
+     *
+     * @param placement The order to be placed.
+     * @return The token of the order.
+     * @throws IllegalArgumentException If the order has no products, a quantity is not positive or a product does not exist.
+     * @throws IllegalStateException    If the queue is full.
+     */
+    @Override
+    public String submit(OrderPlacementDTO placement) {
+        if (!running) {
+            throw new IllegalStateException("The order queue is closed");
+        }
+        orderService.checkOrder(placement.getProducts());
+        String token = UUID.randomUUID().toString();
+        // The writer does not stop while an order is being queued, and running is read again once it is counted,
+        // so an order is never left in the buffer after the writer has stopped
+        submitting.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("The order queue is closed");
+            }
+            queued.put(token, OrderTokenDTO.builder().token(token).status(OrderTokenDTO.QUEUED).build());
+            if (!buffer.offer(new QueuedOrder(token, placement))) {
+                queued.remove(token);
+                throw new IllegalStateException("The order queue is full");
+            }
+        } finally {
+            submitting.decrementAndGet();
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+        return token;
+    }
+
+    /**
+     * Finds the status of a queued order.
+     *
+     * @param token The token of the order.
+     * @return The status of the order, or null if the token is unknown or expired.
+     */
+    @Override
+    public OrderTokenDTO findByToken(String token) {
+        OrderTokenDTO status = queued.get(token);
+        return status != null ? status : finished.getIfPresent(token);
+    }
+
+    /**
+     * Places the queued orders in batches until the application stops and the buffer is empty.
+     * The writer marks itself idle before the last look at the buffer, so an order queued after that look unparks it.
+     */
+    private void drain() {
+        List<QueuedOrder> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            batch.clear();
+            if (buffer.drainTo(batch, MAX_BATCH) == 0) {
+                boolean stopped = !running && submitting.get() == 0;
+                idle = true;
+                if (buffer.drainTo(batch, MAX_BATCH) == 0) {
+                    if (stopped) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+                }
+                idle = false;
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+            try {
+                write(batch);
+            } catch (Throwable e) {
+                // Only the orders of the batch fail; the writer goes on with the next one
+                batch.stream().filter(order -> queued.containsKey(order.token()))
+                        .forEach(order -> finish(OrderTokenDTO.builder().token(order.token())
+                                .status(OrderTokenDTO.FAILED)
+                                .error("Error saving order")
+                                .build()));
+            }
+        }
+    }
+
+    /**
+     * Places a batch of orders in a single transaction, or one by one if the batch fails.
+     *
+     * @param batch The orders.
+     */
+    private void write(List<QueuedOrder> batch) {
+        List<Order> orders;
+        try {
+            orders = transactionTemplate.execute(status -> orderService.placeOrders(
+                    batch.stream().map(QueuedOrder::placement).toList()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                finish(OrderTokenDTO.builder().token(batch.get(0).token())
+                        .status(OrderTokenDTO.FAILED)
+                        .error(e instanceof IllegalArgumentException ? e.getMessage() : "Error saving order")
+                        .build());
+            } else {
+                batch.forEach(order -> write(List.of(order)));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            finish(OrderTokenDTO.builder().token(batch.get(i).token())
+                    .status(OrderTokenDTO.PLACED)
+                    .idOrder(orders.get(i).getIdOrder())
+                    .build());
+        }
+    }
+
+    /**
+     * Records the final status of an order.
+     *
+     * @param status The status.
+     */
+    private void finish(OrderTokenDTO status) {
+        finished.put(status.getToken(), status);
+        queued.remove(status.getToken());
+    }
+
+    /**
+     * An order waiting in the buffer, with its token.
+     *
+     * @param token     The token of the order.
+     * @param placement The order to be placed.
+     */
+    private record QueuedOrder(String token, OrderPlacementDTO placement) {
+    }
+}
@@ -1,17 +1,35 @@
 package com.codestock.codeStockBackEnd.service.impl;
 
 import com.codestock.codeStockBackEnd.model.dao.PriceDao;
+import com.codestock.codeStockBackEnd.model.dao.ProductDao;
+import com.codestock.codeStockBackEnd.model.dto.PriceAdjustmentDTO;
 import com.codestock.codeStockBackEnd.model.dto.PriceDTO;
 import com.codestock.codeStockBackEnd.model.entity.Price;
+import com.codestock.codeStockBackEnd.model.entity.Product;
+import com.codestock.codeStockBackEnd.service.ICatalogCache;
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
 import com.codestock.codeStockBackEnd.service.IPrice;
+import com.codestock.codeStockBackEnd.service.IPriceIndex;
+import com.codestock.codeStockBackEnd.service.IPriceMatrix;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * This class represents the Price service implementation.
  * It implements the IPrice interface and provides methods for managing prices.
  * It uses the PriceDao to interact with the database.
+ * Every write is also applied to the in-memory price matrix of the company of the product
+ * and to the price index of the currency, and bumps the catalog versions of the product and its company.
+ * Replacing the prices of a product only inserts, updates and deletes the prices that differ.
+ * A bulk adjustment is a set-based UPDATE; it drops the price matrices, the price index and the catalog cache
+ * it may have made stale, instead of updating them price by price.
  * It is annotated with @Service to indicate that it's a service component in the Spring framework.
  * It is also annotated with @Transactional to manage the transactions.
  *
@@ -19,23 +37,48 @@ import org.springframework.transaction.annotation.Transactional;
  * @version 1.0
  * @see com.codestock.codeStockBackEnd.service.IPrice
  * @see com.codestock.codeStockBackEnd.model.dao.PriceDao
+ * @see com.codestock.codeStockBackEnd.service.IPriceMatrix
+ * @see com.codestock.codeStockBackEnd.service.IPriceIndex
  * @see org.springframework.stereotype.Service
  * @see org.springframework.transaction.annotation.Transactional
  */
 @Service
 public class PriceImpl implements IPrice {
 
+    /**
+     * The maximum number of ids sent in a single IN update.
+     */
+    private static final int IN_BATCH_SIZE = 1000;
+
     private final PriceDao priceDao;
+    private final ProductDao productDao;
+    private final EntityManager entityManager;
+    private final IPriceMatrix priceMatrix;
+    private final IPriceIndex priceIndex;
+    private final ICatalogVersion catalogVersion;
+    private final ICatalogCache catalogCache;
 
     /**
      * Constructor for the PriceImpl class.
      * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
      *
-     * @param priceDao The DAO (Data Access Object) to interact with the database.
+     * @param priceDao       The DAO (Data Access Object) to interact with the database.
+     * @param productDao     The DAO to find the company of a product.
+     * @param entityManager  The entity manager, to insert and delete the prices that differ.
+     * @param priceMatrix    The in-memory price matrix.
+     * @param priceIndex     The in-memory prices of each currency, sorted by price.
+     * @param catalogVersion The catalog versions, bumped by the writes.
+     * @param catalogCache   The catalog cache, evicted by the bulk adjustments.
      */
     @Autowired
-    public PriceImpl(PriceDao priceDao) {
+    public PriceImpl(PriceDao priceDao, ProductDao productDao, EntityManager entityManager, IPriceMatrix priceMatrix, IPriceIndex priceIndex, ICatalogVersion catalogVersion, ICatalogCache catalogCache) {
         this.priceDao = priceDao;
+        this.productDao = productDao;
+        this.entityManager = entityManager;
+        this.priceMatrix = priceMatrix;
+        this.priceIndex = priceIndex;
+        this.catalogVersion = catalogVersion;
+        this.catalogCache = catalogCache;
     }
 
     /**
@@ -47,7 +90,12 @@ public class PriceImpl implements IPrice {
     @Override
     @Transactional
     public Price save(PriceDTO priceDTO) {
-        return priceDao.save(Price.builder().idCurrency(priceDTO.getIdCurrency()).price(priceDTO.getPrice()).idProduct(priceDTO.getIdProduct()).build());
+        Price price = priceDao.save(Price.builder().idCurrency(priceDTO.getIdCurrency()).price(priceDTO.getPrice()).idProduct(priceDTO.getIdProduct()).build());
+        Integer idCompany = findIdCompany(price.getIdProduct());
+        priceMatrix.put(idCompany, price.getIdProduct(), price.getIdCurrency(), price.getPrice());
+        priceIndex.put(price.getIdCurrency(), price.getIdProduct(), idCompany, price.getPrice());
+        catalogVersion.bumpProduct(price.getIdProduct(), idCompany);
+        return price;
     }
 
     /**
@@ -59,6 +107,25 @@ public class PriceImpl implements IPrice {
     @Transactional
     public void deleteByIdProduct(Integer id) {
         priceDao.deleteByIdProduct(id);
+        Integer idCompany = findIdCompany(id);
+        priceMatrix.removeProduct(idCompany, id);
+        priceIndex.removeProduct(id);
+        catalogVersion.bumpProduct(id, idCompany);
+    }
+
+    /**
+     * Deletes the prices of the given products, with a single statement.
+     *
+     * @param idProducts The ids of the products, all of the same company.
+     * @param idCompany  The id of the company of the products.
+     */
+    @Override
+    @Transactional
+    public void deleteByIdProductIn(Collection<Integer> idProducts, Integer idCompany) {
+        priceDao.deleteByIdProductIn(idProducts);
+        priceMatrix.evictCompany(idCompany);
+        priceIndex.removeProducts(idProducts);
+        catalogVersion.bumpProducts(idProducts, idCompany);
     }
 
     /**
@@ -72,4 +139,119 @@ public class PriceImpl implements IPrice {
     public Iterable<Price> findByIdProduct(Integer id) {
         return priceDao.findByIdProduct(id);
     }
+
+    /**
+     * Changes the prices of a company, a category or a list of products by a percentage or an amount.
+     * The list of products is sent in IN updates of at most IN_BATCH_SIZE ids.
+     * A company adjustment only drops the in-memory state of that company; the others drop it for all the companies.
+     *
+     * @param adjustment The products, the currency and the change.
+     * @return The number of prices changed.
+     */
+    @Override
+    @Transactional
+    public int adjust(PriceAdjustmentDTO adjustment) {
+        List<Integer> idProducts = adjustment.getIdProducts() == null || adjustment.getIdProducts().isEmpty() ? null : adjustment.getIdProducts();
+        int scopes = (adjustment.getIdCompany() == null ? 0 : 1) + (adjustment.getIdCategory() == null ? 0 : 1) + (idProducts == null ? 0 : 1);
+        if (scopes != 1) {
+            throw new IllegalArgumentException("Exactly one of idCompany, idCategory and idProducts is required");
+        }
+        if ((adjustment.getPercent() == null) == (adjustment.getAmount() == null)) {
+            throw new IllegalArgumentException("Exactly one of percent and amount is required");
+        }
+        double factor = adjustment.getPercent() == null ? 1 : 1 + adjustment.getPercent() / 100;
+        double amount = adjustment.getAmount() == null ? 0 : adjustment.getAmount();
+        Integer idCurrency = adjustment.getIdCurrency();
+
+        int updated = 0;
+        if (adjustment.getIdCompany() != null) {
+            updated = priceDao.adjustByIdCompany(adjustment.getIdCompany(), idCurrency, factor, amount);
+            priceMatrix.evictCompany(adjustment.getIdCompany());
+            catalogCache.evictCompany(adjustment.getIdCompany());
+            catalogVersion.bumpProducts(productDao.findIdProductsByIdCompany(adjustment.getIdCompany()), adjustment.getIdCompany());
+        } else {
+            if (adjustment.getIdCategory() != null) {
+                updated = priceDao.adjustByIdCategory(adjustment.getIdCategory(), idCurrency, factor, amount);
+            } else {
+                for (int from = 0; from < idProducts.size(); from += IN_BATCH_SIZE) {
+                    updated += priceDao.adjustByIdProductIn(idProducts.subList(from, Math.min(from + IN_BATCH_SIZE, idProducts.size())), idCurrency, factor, amount);
+                }
+            }
+            priceMatrix.evictAll();
+            catalogCache.evictAll();
+            catalogVersion.bumpAll();
+        }
+        priceIndex.invalidate();
+        return updated;
+    }
+
+    /**
+     * Makes the prices of a product the given ones, writing only the differences.
+     * The new prices are persisted, the changed ones updated in place and the old ones removed from
+     * the persistence context, so they are sent together, in JDBC batches, when the transaction is flushed.
+     * When a currency is given twice, the last price wins.
+     *
+     * @param idProduct The id of the product.
+     * @param prices    All the prices of the product, one per currency.
+     * @return True if a price was added, changed or removed.
+     */
+    @Override
+    @Transactional
+    public boolean replaceAll(Integer idProduct, List<PriceDTO> prices) {
+        Map<Integer, Double> requested = new LinkedHashMap<>();
+        prices.forEach(price -> requested.put(price.getIdCurrency(), price.getPrice()));
+        Integer idCompany = findIdCompany(idProduct);
+        boolean changed = false;
+        for (Price price : priceDao.findByIdProduct(idProduct)) {
+            if (!requested.containsKey(price.getIdCurrency())) {
+                entityManager.remove(price);
+                priceMatrix.put(idCompany, idProduct, price.getIdCurrency(), null);
+                priceIndex.put(price.getIdCurrency(), idProduct, idCompany, null);
+                changed = true;
+                continue;
+            }
+            Double value = requested.remove(price.getIdCurrency());
+            if (!sameCents(price.getPrice(), value)) {
+                price.setPrice(value);
+                priceMatrix.put(idCompany, idProduct, price.getIdCurrency(), value);
+                priceIndex.put(price.getIdCurrency(), idProduct, idCompany, value);
+                changed = true;
+            }
+        }
+        for (Map.Entry<Integer, Double> entry : requested.entrySet()) {
+            entityManager.persist(Price.builder().idCurrency(entry.getKey()).price(entry.getValue()).idProduct(idProduct).build());
+            priceMatrix.put(idCompany, idProduct, entry.getKey(), entry.getValue());
+            priceIndex.put(entry.getKey(), idProduct, idCompany, entry.getValue());
+            changed = true;
+        }
+        if (changed) {
+            catalogVersion.bumpProduct(idProduct, idCompany);
+        }
+        return changed;
+    }
+
+    /**
+     * Compares two prices to the cent, the precision of the price column.
+     *
+     * @param stored    The stored price, may be null.
+     * @param requested The requested price, may be null.
+     * @return True if both are null or round to the same cent.
+     */
+    private static boolean sameCents(Double stored, Double requested) {
+        if (stored == null || requested == null) {
+            return stored == requested;
+        }
+        return Math.round(stored * 100) == Math.round(requested * 100);
+    }
+
+    /**
+     * Finds the company of a product.
+     * The product is usually already in the persistence context of the transaction, so no query is run.
+     *
+     * @param idProduct The id of the product.
+     * @return The id of the company of the product, or null if the product does not exist.
+     */
+    private Integer findIdCompany(Integer idProduct) {
+        return productDao.findById(idProduct).map(Product::getIdCompany).orElse(null);
+    }
 }
\ No newline at end of file
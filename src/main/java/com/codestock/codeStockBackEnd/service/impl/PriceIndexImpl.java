@@ -0,0 +1,256 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.model.dao.PriceDao;
+import com.codestock.codeStockBackEnd.service.IPriceIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This class represents the Price Index service implementation.
+ * It implements the IPriceIndex interface with one ConcurrentSkipListSet per currency, and one per currency and company,
+ * ordered by (price, idProduct): a range is a sub set of one of them and a page resumes right after the last entry
+ * of the previous one, so a query of a company never walks the prices of the other companies.
+ * The sets are read without locks. The writes are serialized by a lock, which also guards the map
+ * from (currency, product) to the current entry, used to remove the old price of a product.
+ * The index is built on the first query from one scalar query; writes before the build are skipped,
+ * since the build reads them, and writes during the build wait for it.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IPriceIndex
+ * @see java.util.concurrent.ConcurrentSkipListSet
+ */
+@Service
+public class PriceIndexImpl implements IPriceIndex {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::price).thenComparingInt(Entry::idProduct);
+
+    private final PriceDao priceDao;
+    private final Map<Integer, ConcurrentSkipListSet<Entry>> byCurrency = new ConcurrentHashMap<>();
+    private final Map<Long, ConcurrentSkipListSet<Entry>> byCurrencyAndCompany = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> byCurrencyAndProduct = new HashMap<>();
+    private final Object writeLock = new Object();
+    private volatile boolean built;
+
+    /**
+     * Constructor for the PriceIndexImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param priceDao The DAO to read the prices.
+     */
+    @Autowired
+    public PriceIndexImpl(PriceDao priceDao) {
+        this.priceDao = priceDao;
+    }
+
+    /**
+     * Finds the prices of a currency in a range, sorted by price then by product.
+     *
+     * @param idCurrency The id of the currency.
+     * @param minPrice   The minimum price, inclusive, or null.
+     * @param maxPrice   The maximum price, inclusive, or null.
+     * @param idCompany  The id of the company of the products, or null for all the products.
+     * @param descending If true, the prices are sorted from the highest.
+     * @param after      The last entry of the previous page, or null for the first page.
+     * @param count      The maximum number of entries returned.
+     * @return The entries, in order.
+     */
+    @Override
+    public List<Entry> findRange(int idCurrency, Double minPrice, Double maxPrice, Integer idCompany, boolean descending, Entry after, int count) {
+        build();
+        List<Entry> entries = new ArrayList<>(count);
+        ConcurrentSkipListSet<Entry> prices = idCompany == null
+                ? byCurrency.get(idCurrency)
+                : byCurrencyAndCompany.get(key(idCurrency, idCompany));
+        if (prices == null) {
+            return entries;
+        }
+        Entry low = minPrice == null ? null : new Entry(minPrice, Integer.MIN_VALUE, 0);
+        Entry high = maxPrice == null ? null : new Entry(maxPrice, Integer.MAX_VALUE, 0);
+        boolean lowInclusive = true;
+        boolean highInclusive = true;
+        if (after != null && !descending && (low == null || ORDER.compare(after, low) >= 0)) {
+            low = after;
+            lowInclusive = false;
+        }
+        if (after != null && descending && (high == null || ORDER.compare(after, high) <= 0)) {
+            high = after;
+            highInclusive = false;
+        }
+        if (low != null && high != null && ORDER.compare(low, high) > 0) {
+            return entries;
+        }
+        NavigableSet<Entry> range;
+        if (low == null) {
+            range = high == null ? prices : prices.headSet(high, highInclusive);
+        } else {
+            range = high == null ? prices.tailSet(low, lowInclusive) : prices.subSet(low, lowInclusive, high, highInclusive);
+        }
+        Iterator<Entry> iterator = descending ? range.descendingIterator() : range.iterator();
+        while (iterator.hasNext() && entries.size() < count) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    /**
+     * Sets the price of a product in a currency, once the current transaction commits.
+     *
+     * @param idCurrency The id of the currency.
+     * @param idProduct  The id of the product.
+     * @param idCompany  The id of the company of the product.
+     * @param price      The price, or null to remove it.
+     */
+    @Override
+    public void put(Integer idCurrency, Integer idProduct, Integer idCompany, Double price) {
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                if (built) {
+                    remove(idCurrency, idProduct);
+                    if (price != null && idCompany != null) {
+                        add(new Entry(price, idProduct, idCompany), idCurrency);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes all the prices of a product, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     */
+    @Override
+    public void removeProduct(Integer idProduct) {
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                if (built) {
+                    byCurrency.keySet().forEach(idCurrency -> remove(idCurrency, idProduct));
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes all the prices of many products, once the current transaction commits.
+     *
+     * @param idProducts The ids of the products.
+     */
+    @Override
+    public void removeProducts(Collection<Integer> idProducts) {
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                if (built) {
+                    byCurrency.keySet().forEach(idCurrency -> idProducts.forEach(idProduct -> remove(idCurrency, idProduct)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Moves the prices of a product to another company, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the new company of the product.
+     */
+    @Override
+    public void moveProduct(Integer idProduct, Integer idCompany) {
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                if (built) {
+                    for (Integer idCurrency : byCurrency.keySet()) {
+                        Entry entry = byCurrencyAndProduct.get(key(idCurrency, idProduct));
+                        if (entry != null) {
+                            remove(idCurrency, idProduct);
+                            add(new Entry(entry.price(), idProduct, idCompany), idCurrency);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the whole index once the current transaction commits; it is built again on the next query.
+     */
+    @Override
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                built = false;
+                byCurrency.clear();
+                byCurrencyAndCompany.clear();
+                byCurrencyAndProduct.clear();
+            }
+        });
+    }
+
+    /**
+     * Adds an entry. Must be called with the write lock.
+     *
+     * @param entry      The entry.
+     * @param idCurrency The id of the currency.
+     */
+    private void add(Entry entry, int idCurrency) {
+        byCurrency.computeIfAbsent(idCurrency, key -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+        byCurrencyAndCompany.computeIfAbsent(key(idCurrency, entry.idCompany()), key -> new ConcurrentSkipListSet<>(ORDER)).add(entry);
+        byCurrencyAndProduct.put(key(idCurrency, entry.idProduct()), entry);
+    }
+
+    /**
+     * Removes the entry of a product in a currency, if any. Must be called with the write lock.
+     *
+     * @param idCurrency The id of the currency.
+     * @param idProduct  The id of the product.
+     */
+    private void remove(int idCurrency, int idProduct) {
+        Entry entry = byCurrencyAndProduct.remove(key(idCurrency, idProduct));
+        if (entry != null) {
+            byCurrency.get(idCurrency).remove(entry);
+            long company = key(idCurrency, entry.idCompany());
+            ConcurrentSkipListSet<Entry> prices = byCurrencyAndCompany.get(company);
+            prices.remove(entry);
+            // The set of a company without prices left is dropped; a query already walking it only sees it empty
+            if (prices.isEmpty()) {
+                byCurrencyAndCompany.remove(company);
+            }
+        }
+    }
+
+    /**
+     * Builds the index on first use.
+     */
+    private void build() {
+        if (built) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (built) {
+                return;
+            }
+            for (Object[] row : priceDao.findAllPriceRows()) {
+                if (row[2] != null && row[3] != null) {
+                    add(new Entry((Double) row[2], (Integer) row[1], (Integer) row[3]), (Integer) row[0]);
+                }
+            }
+            built = true;
+        }
+    }
+
+    /**
+     * Packs a currency and a product, or a currency and a company, into a key.
+     *
+     * @param idCurrency The id of the currency.
+     * @param id         The id of the product or of the company.
+     * @return The key.
+     */
+    private static long key(int idCurrency, int id) {
+        return ((long) idCurrency << 32) | (id & 0xFFFFFFFFL);
+    }
+}
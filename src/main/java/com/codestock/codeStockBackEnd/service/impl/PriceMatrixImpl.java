@@ -0,0 +1,442 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.model.dao.PriceDao;
+import com.codestock.codeStockBackEnd.model.dao.ProductDao;
+import com.codestock.codeStockBackEnd.model.dto.PriceDTO;
+import com.codestock.codeStockBackEnd.model.entity.Currency;
+import com.codestock.codeStockBackEnd.model.entity.Price;
+import com.codestock.codeStockBackEnd.service.IDictionary;
+import com.codestock.codeStockBackEnd.service.IPriceMatrix;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents the Price Matrix service implementation.
+ * It implements the IPriceMatrix interface with one matrix per company: an open addressing table of int keys
+ * gives the row (slot) of a product, and the id of the currency gives its column.
+ * The values are kept in a single double array, NaN meaning that there is no price,
+ * which costs 8 bytes per price instead of an entity, its composite key and a boxed Double.
+ * The matrices are held in a Caffeine cache bounded by the number of values, codestock.price-matrix.max-values,
+ * and loaded with two scalar queries; like the catalog cache, a matrix is reloaded TTL after it was loaded or grown,
+ * so the prices written by another instance of the application are seen within that time.
+ * Caffeine never keeps an entry heavier than the whole bound, so a company whose matrix would weigh more is not
+ * cached at all: its prices are read from the database, one product at a time, until the company is evicted.
+ * A price of an existing slot is written in place, and a new product takes the next spare row in place too;
+ * only when the rows or the table are full, or a new currency widens the rows, is the matrix copied,
+ * to twice the rows, so adding a product costs amortized constant time.
+ * The writes of a company are serialized by the cache, the reads take no lock.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IPriceMatrix
+ * @see com.codestock.codeStockBackEnd.model.dao.PriceDao
+ * @see com.codestock.codeStockBackEnd.model.dao.ProductDao
+ */
+@Service
+public class PriceMatrixImpl implements IPriceMatrix {
+
+    /**
+     * The minimum number of rows of a matrix.
+     */
+    private static final int MIN_ROWS = 16;
+
+    /**
+     * The time after which a matrix is reloaded, the same as the catalog cache.
+     */
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    /**
+     * Opaque access to the values, so a read never sees a half written price.
+     */
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(double[].class);
+
+    /**
+     * Release and acquire access to the keys of the slot tables, so a reader that finds a key also sees its slot and price.
+     */
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * The key of an empty entry of a slot table.
+     */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private final PriceDao priceDao;
+    private final ProductDao productDao;
+    private final IDictionary dictionary;
+    private final long maxValues;
+    private final Cache<Integer, CompanyPrices> matrices;
+    private final Set<Integer> oversized = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor for the PriceMatrixImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param priceDao   The DAO to read the prices.
+     * @param productDao The DAO to read the product ids.
+     * @param dictionary The dictionary of the currencies.
+     * @param maxValues  The maximum number of values (prices, keys and slots) held by all the matrices;
+     *                   it must be above the weight of the largest company for that company to be cached.
+     */
+    @Autowired
+    public PriceMatrixImpl(PriceDao priceDao, ProductDao productDao, IDictionary dictionary,
+                           @Value("${codestock.price-matrix.max-values:16000000}") long maxValues) {
+        this.priceDao = priceDao;
+        this.productDao = productDao;
+        this.dictionary = dictionary;
+        this.maxValues = maxValues;
+        this.matrices = Caffeine.newBuilder()
+                .maximumWeight(maxValues)
+                .<Integer, CompanyPrices>weigher((idCompany, prices) -> (int) Math.min(Integer.MAX_VALUE, prices.weight()))
+                .expireAfterWrite(TTL)
+                .build();
+    }
+
+    /**
+     * Finds the prices of a product.
+     *
+     * @param idCompany The id of the company of the product.
+     * @param idProduct The id of the product.
+     * @return A list of the prices of the product, ordered by currency.
+     */
+    @Override
+    public List<PriceDTO> findPrices(Integer idCompany, Integer idProduct) {
+        List<PriceDTO> prices = new ArrayList<>();
+        if (idCompany == null) {
+            return prices;
+        }
+        CompanyPrices matrix = matrix(idCompany);
+        if (matrix == null) {
+            for (Price price : priceDao.findByIdProduct(idProduct)) {
+                if (price.getPrice() != null) {
+                    prices.add(PriceDTO.builder().idCurrency(price.getIdCurrency())
+                            .price(price.getPrice())
+                            .idProduct(idProduct)
+                            .build());
+                }
+            }
+            prices.sort(Comparator.comparing(PriceDTO::getIdCurrency));
+            return prices;
+        }
+        int slot = matrix.slot(idProduct);
+        if (slot < 0) {
+            return prices;
+        }
+        for (int idCurrency = 0; idCurrency < matrix.width; idCurrency++) {
+            double price = matrix.get(slot, idCurrency);
+            if (!Double.isNaN(price)) {
+                prices.add(PriceDTO.builder().idCurrency(idCurrency)
+                        .price(price)
+                        .idProduct(idProduct)
+                        .build());
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Finds the price of a product in a currency.
+     *
+     * @param idCompany  The id of the company of the product.
+     * @param idProduct  The id of the product.
+     * @param idCurrency The id of the currency.
+     * @return The price, or null if the product has no price in the currency.
+     */
+    @Override
+    public Double findPrice(Integer idCompany, Integer idProduct, Integer idCurrency) {
+        if (idCompany == null) {
+            return null;
+        }
+        CompanyPrices matrix = matrix(idCompany);
+        if (matrix == null) {
+            for (Price price : priceDao.findByIdProduct(idProduct)) {
+                if (price.getIdCurrency().equals(idCurrency)) {
+                    return price.getPrice();
+                }
+            }
+            return null;
+        }
+        int slot = matrix.slot(idProduct);
+        if (slot < 0 || idCurrency < 0 || idCurrency >= matrix.width) {
+            return null;
+        }
+        double price = matrix.get(slot, idCurrency);
+        return Double.isNaN(price) ? null : price;
+    }
+
+    /**
+     * Sets the price of a product in a currency, once the current transaction commits.
+     * Companies that are not loaded are left alone: they will read the price when loaded.
+     * A null price is stored as no price.
+     *
+     * @param idCompany  The id of the company of the product.
+     * @param idProduct  The id of the product.
+     * @param idCurrency The id of the currency.
+     * @param price      The price.
+     */
+    @Override
+    public void put(Integer idCompany, Integer idProduct, Integer idCurrency, Double price) {
+        if (idCompany == null) {
+            return;
+        }
+        double value = price == null ? Double.NaN : price;
+        AfterCommit.run(() -> matrices.asMap().computeIfPresent(idCompany,
+                (key, matrix) -> matrix.with(idProduct, idCurrency, value)));
+    }
+
+    /**
+     * Removes all the prices of a product, once the current transaction commits.
+     * The slot of the product is kept, empty.
+     *
+     * @param idCompany The id of the company of the product.
+     * @param idProduct The id of the product.
+     */
+    @Override
+    public void removeProduct(Integer idCompany, Integer idProduct) {
+        if (idCompany == null) {
+            return;
+        }
+        AfterCommit.run(() -> matrices.asMap().computeIfPresent(idCompany, (key, matrix) -> {
+            int slot = matrix.slot(idProduct);
+            for (int idCurrency = 0; slot >= 0 && idCurrency < matrix.width; idCurrency++) {
+                matrix.set(slot, idCurrency, Double.NaN);
+            }
+            return matrix;
+        }));
+    }
+
+    /**
+     * Evicts the prices of a company, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    @Override
+    public void evictCompany(Integer idCompany) {
+        if (idCompany != null) {
+            AfterCommit.run(() -> {
+                oversized.remove(idCompany);
+                matrices.invalidate(idCompany);
+            });
+        }
+    }
+
+    /**
+     * Evicts the prices of every company, once the current transaction commits.
+     */
+    @Override
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            oversized.clear();
+            matrices.invalidateAll();
+        });
+    }
+
+    /**
+     * Finds the matrix of a company, loading it on a miss.
+     *
+     * @param idCompany The id of the company.
+     * @return The matrix, or null if the company is too large to be cached.
+     */
+    private CompanyPrices matrix(Integer idCompany) {
+        if (oversized.contains(idCompany)) {
+            return null;
+        }
+        return matrices.get(idCompany, this::load);
+    }
+
+    /**
+     * Loads the matrix of a company: the product ids give the rows, the currencies of the dictionary the columns.
+     * A company whose matrix would weigh more than maxValues is marked oversized instead, and not cached.
+     *
+     * @param idCompany The id of the company.
+     * @return The matrix of the company, or null if it is too large.
+     */
+    private CompanyPrices load(Integer idCompany) {
+        List<Integer> idProducts = productDao.findIdProductsByIdCompany(idCompany);
+        List<Currency> currencies = dictionary.getCurrencies();
+        int width = currencies.isEmpty() ? 0 : currencies.get(currencies.size() - 1).getIdCurrency() + 1;
+        if (CompanyPrices.weight(rows(idProducts.size()), Math.max(1, width)) > maxValues) {
+            oversized.add(idCompany);
+            return null;
+        }
+        List<Object[]> rows = priceDao.findPriceRowsByIdCompany(idCompany);
+        for (Object[] row : rows) {
+            width = Math.max(width, (Integer) row[1] + 1);
+        }
+        CompanyPrices matrix = new CompanyPrices(rows(idProducts.size()), width);
+        idProducts.forEach(matrix::insert);
+        for (Object[] row : rows) {
+            int slot = matrix.slot((Integer) row[0]);
+            if (slot >= 0 && row[2] != null) {
+                matrix.set(slot, (Integer) row[1], (Double) row[2]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the number of rows of a matrix for some products, with a quarter of spare rows.
+     *
+     * @param products The number of products.
+     * @return The number of rows.
+     */
+    private static int rows(int products) {
+        return Math.max(MIN_ROWS, products + products / 4);
+    }
+
+    /**
+     * The prices of a company: a row per product and a column per currency,
+     * and an open addressing table from the id of a product to its row (slot).
+     */
+    private static final class CompanyPrices {
+
+        /**
+         * The number of rows, used or spare.
+         */
+        private final int rows;
+
+        /**
+         * The number of currency columns: the greatest currency id + 1.
+         */
+        private final int width;
+
+        /**
+         * The prices, row by row, with spare rows at the end. NaN means that there is no price.
+         */
+        private final double[] values;
+
+        /**
+         * The ids of the products of the table, EMPTY for a free entry; at least twice as many entries as rows.
+         */
+        private final int[] keys;
+
+        /**
+         * The slots of the products of the table.
+         */
+        private final int[] slots;
+
+        /**
+         * The number of rows used. Only read and written by the writes, which the cache serializes.
+         */
+        private int size;
+
+        private CompanyPrices(int rows, int width) {
+            this.rows = rows;
+            this.width = width;
+            this.values = new double[rows * width];
+            Arrays.fill(values, Double.NaN);
+            this.keys = new int[tableLength(rows)];
+            Arrays.fill(keys, EMPTY);
+            this.slots = new int[keys.length];
+        }
+
+        /**
+         * Returns the weight of a matrix with the given rows and width: its prices, keys and slots.
+         *
+         * @param rows  The number of rows.
+         * @param width The number of columns.
+         * @return The weight.
+         */
+        private static long weight(int rows, int width) {
+            return (long) rows * width + 2L * tableLength(rows) + 1;
+        }
+
+        private long weight() {
+            return values.length + 2L * keys.length + 1;
+        }
+
+        private static int tableLength(int rows) {
+            return Integer.highestOneBit(Math.max(2, rows * 2 - 1)) << 1;
+        }
+
+        private static int hash(int idProduct) {
+            int h = idProduct * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private int slot(int idProduct) {
+            int mask = keys.length - 1;
+            for (int i = hash(idProduct) & mask; ; i = (i + 1) & mask) {
+                int key = (int) KEYS.getAcquire(keys, i);
+                if (key == idProduct) {
+                    return slots[i];
+                }
+                if (key == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        /**
+         * Gives the next free row to a product. The caller must have checked that there is one.
+         *
+         * @param idProduct The id of the product.
+         * @return The slot of the product.
+         */
+        private int insert(int idProduct) {
+            int mask = keys.length - 1;
+            int i = hash(idProduct) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            int slot = size++;
+            slots[i] = slot;
+            KEYS.setRelease(keys, i, idProduct);
+            return slot;
+        }
+
+        private double get(int slot, int idCurrency) {
+            return (double) VALUES.getOpaque(values, slot * width + idCurrency);
+        }
+
+        private void set(int slot, int idCurrency, double price) {
+            VALUES.setOpaque(values, slot * width + idCurrency, price);
+        }
+
+        /**
+         * Sets a price, in place when the slot exists or a spare row is left,
+         * or in a copy with twice the rows, or wider rows for a new currency.
+         *
+         * @param idProduct  The id of the product.
+         * @param idCurrency The id of the currency.
+         * @param price      The price.
+         * @return This matrix, or the copy.
+         */
+        private CompanyPrices with(int idProduct, int idCurrency, double price) {
+            int slot = slot(idProduct);
+            if (slot >= 0 && idCurrency < width) {
+                set(slot, idCurrency, price);
+                return this;
+            }
+            if (slot < 0 && idCurrency < width && size < rows) {
+                // The price is written before the key is published, so a reader that finds the product sees it
+                set(size, idCurrency, price);
+                insert(idProduct);
+                return this;
+            }
+            int newWidth = Math.max(width, idCurrency + 1);
+            CompanyPrices matrix = new CompanyPrices(slot < 0 && size == rows ? rows * 2 : rows, newWidth);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    int newSlot = matrix.insert(keys[i]);
+                    System.arraycopy(values, slots[i] * width, matrix.values, newSlot * newWidth, width);
+                }
+            }
+            return matrix.with(idProduct, idCurrency, price);
+        }
+    }
+}
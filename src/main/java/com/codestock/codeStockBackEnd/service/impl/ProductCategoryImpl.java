@@ -1,16 +1,27 @@
 package com.codestock.codeStockBackEnd.service.impl;
 
 import com.codestock.codeStockBackEnd.model.dao.ProductCategoryDao;
+import com.codestock.codeStockBackEnd.model.dao.ProductDao;
+import com.codestock.codeStockBackEnd.model.entity.Product;
 import com.codestock.codeStockBackEnd.model.entity.ProductCategory;
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
+import com.codestock.codeStockBackEnd.service.ICategoryIndex;
 import com.codestock.codeStockBackEnd.service.IProductCategory;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * This class represents the ProductCategory service implementation.
  * It implements the IProductCategory interface and provides methods for managing product categories.
  * It uses the ProductCategoryDao to interact with the database.
+ * Every write bumps the catalog versions of the product and its company, and updates the category bitmaps.
+ * Replacing the categories of a product only inserts and deletes the links that differ.
  * It is annotated with @Service to indicate that it's a service component in the Spring framework.
  * It is also annotated with @Transactional to manage the transactions.
  *
@@ -25,16 +36,28 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductCategoryImpl implements IProductCategory {
 
     private final ProductCategoryDao productCategoryDao;
+    private final ProductDao productDao;
+    private final EntityManager entityManager;
+    private final ICatalogVersion catalogVersion;
+    private final ICategoryIndex categoryIndex;
 
     /**
      * Constructor for the ProductCategoryImpl class.
      * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
      *
      * @param productCategoryDao The DAO (Data Access Object) to interact with the database.
+     * @param productDao         The DAO to find the company of a product.
+     * @param entityManager      The entity manager, to insert and delete the links that differ.
+     * @param catalogVersion     The catalog versions, bumped by the writes.
+     * @param categoryIndex      The category bitmaps, updated by the writes.
      */
     @Autowired
-    public ProductCategoryImpl(ProductCategoryDao productCategoryDao) {
+    public ProductCategoryImpl(ProductCategoryDao productCategoryDao, ProductDao productDao, EntityManager entityManager, ICatalogVersion catalogVersion, ICategoryIndex categoryIndex) {
         this.productCategoryDao = productCategoryDao;
+        this.productDao = productDao;
+        this.entityManager = entityManager;
+        this.catalogVersion = catalogVersion;
+        this.categoryIndex = categoryIndex;
     }
 
     /**
@@ -46,7 +69,10 @@ public class ProductCategoryImpl implements IProductCategory {
     @Override
     @Transactional
     public ProductCategory save(ProductCategory productCategory) {
-        return productCategoryDao.save(productCategory);
+        ProductCategory saved = productCategoryDao.save(productCategory);
+        categoryIndex.addToCategory(saved.getIdCategory(), saved.getIdProduct());
+        catalogVersion.bumpProduct(saved.getIdProduct(), findIdCompany(saved.getIdProduct()));
+        return saved;
     }
 
     /**
@@ -58,6 +84,22 @@ public class ProductCategoryImpl implements IProductCategory {
     @Transactional
     public void deleteByIdProduct(Integer idProduct) {
         productCategoryDao.deleteByIdProduct(idProduct);
+        categoryIndex.removeFromCategories(idProduct);
+        catalogVersion.bumpProduct(idProduct, findIdCompany(idProduct));
+    }
+
+    /**
+     * Deletes the product categories of the given products, with a single statement.
+     *
+     * @param idProducts The ids of the products, all of the same company.
+     * @param idCompany  The id of the company of the products.
+     */
+    @Override
+    @Transactional
+    public void deleteByIdProductIn(Collection<Integer> idProducts, Integer idCompany) {
+        productCategoryDao.deleteByIdProductIn(idProducts);
+        idProducts.forEach(categoryIndex::removeFromCategories);
+        catalogVersion.bumpProducts(idProducts, idCompany);
     }
 
 
@@ -74,4 +116,46 @@ public class ProductCategoryImpl implements IProductCategory {
         return productCategoryDao.findByIdProduct(idProduct);
     }
 
-}
\ No newline at end of file
+    /**
+     * Makes the categories of a product the given ones, writing only the differences.
+     * The new links are persisted and the old ones removed from the persistence context,
+     * so they are sent together, in JDBC batches, when the transaction is flushed.
+     *
+     * @param idProduct    The id of the product.
+     * @param idCategories The ids of all the categories of the product.
+     * @return True if a category was added or removed.
+     */
+    @Override
+    @Transactional
+    public boolean replaceAll(Integer idProduct, Collection<Integer> idCategories) {
+        Set<Integer> added = new LinkedHashSet<>(idCategories);
+        boolean changed = false;
+        for (ProductCategory productCategory : productCategoryDao.findByIdProduct(idProduct)) {
+            if (!added.remove(productCategory.getIdCategory())) {
+                entityManager.remove(productCategory);
+                categoryIndex.removeFromCategory(productCategory.getIdCategory(), idProduct);
+                changed = true;
+            }
+        }
+        for (Integer idCategory : added) {
+            entityManager.persist(ProductCategory.builder().idCategory(idCategory).idProduct(idProduct).build());
+            categoryIndex.addToCategory(idCategory, idProduct);
+            changed = true;
+        }
+        if (changed) {
+            catalogVersion.bumpProduct(idProduct, findIdCompany(idProduct));
+        }
+        return changed;
+    }
+
+    /**
+     * Finds the company of a product.
+     * The product is usually already in the persistence context of the transaction, so no query is run.
+     *
+     * @param idProduct The id of the product.
+     * @return The id of the company of the product, or null if the product does not exist.
+     */
+    private Integer findIdCompany(Integer idProduct) {
+        return productDao.findById(idProduct).map(Product::getIdCompany).orElse(null);
+    }
+}
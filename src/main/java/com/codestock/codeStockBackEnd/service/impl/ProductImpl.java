@@ -3,15 +3,28 @@ package com.codestock.codeStockBackEnd.service.impl;
 import com.codestock.codeStockBackEnd.model.dao.ProductDao;
 import com.codestock.codeStockBackEnd.model.dto.ProductDTO;
 import com.codestock.codeStockBackEnd.model.entity.Product;
+import com.codestock.codeStockBackEnd.service.ICatalogVersion;
+import com.codestock.codeStockBackEnd.service.ICategoryIndex;
+import com.codestock.codeStockBackEnd.service.IPriceIndex;
 import com.codestock.codeStockBackEnd.service.IProduct;
+import com.codestock.codeStockBackEnd.service.ISearchIndex;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * This class represents the Product service implementation.
  * It implements the IProduct interface and provides methods for managing products.
  * It uses the ProductDao to interact with the database.
+ * Every write bumps the catalog versions of the products and companies it touches, and updates the search index, the company bitmaps and the companies of the price index.
  * It is annotated with @Service to indicate that it's a service component in the Spring framework.
  * It is also annotated with @Transactional to manage the transactions.
  *
@@ -26,16 +39,31 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductImpl implements IProduct {
 
     private final ProductDao productDao;
+    private final EntityManager entityManager;
+    private final ICatalogVersion catalogVersion;
+    private final ISearchIndex searchIndex;
+    private final ICategoryIndex categoryIndex;
+    private final IPriceIndex priceIndex;
 
     /**
      * Constructor for the ProductImpl class.
      * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
      *
-     * @param productDao The DAO (Data Access Object) to interact with the database.
+     * @param productDao    The DAO (Data Access Object) to interact with the database.
+     * @param entityManager  The entity manager, used to detach the products read through a cursor.
+     * @param catalogVersion The catalog versions, bumped by the writes.
+     * @param searchIndex    The search index, updated by the writes.
+     * @param categoryIndex  The company bitmaps, updated by the writes.
+     * @param priceIndex     The price index, updated by the writes.
      */
     @Autowired
-    public ProductImpl(ProductDao productDao) {
+    public ProductImpl(ProductDao productDao, EntityManager entityManager, ICatalogVersion catalogVersion, ISearchIndex searchIndex, ICategoryIndex categoryIndex, IPriceIndex priceIndex) {
         this.productDao = productDao;
+        this.entityManager = entityManager;
+        this.catalogVersion = catalogVersion;
+        this.searchIndex = searchIndex;
+        this.categoryIndex = categoryIndex;
+        this.priceIndex = priceIndex;
     }
 
     /**
@@ -47,9 +75,19 @@ public class ProductImpl implements IProduct {
     @Override
     @Transactional
     public Product save(ProductDTO productDTO) {
-        return productDao.save(Product.builder().idProduct(productDTO.getIdProduct()).code(productDTO.getCode())
+        Integer previousIdCompany = productDTO.getIdProduct() == null ? null : findIdCompany(productDTO.getIdProduct());
+        Product product = productDao.save(Product.builder().idProduct(productDTO.getIdProduct()).code(productDTO.getCode())
                 .name(productDTO.getName()).characteristics(productDTO.getCharacteristics())
                 .idCompany(productDTO.getIdCompany()).build());
+        searchIndex.index(product.getIdProduct(), product.getIdCompany(), product.getCode(), product.getName(),
+                product.getCharacteristics(), previousIdCompany);
+        categoryIndex.addToCompany(product.getIdProduct(), product.getIdCompany(), previousIdCompany);
+        catalogVersion.bumpProduct(product.getIdProduct(), product.getIdCompany());
+        if (previousIdCompany != null && !previousIdCompany.equals(product.getIdCompany())) {
+            catalogVersion.bumpProduct(product.getIdProduct(), previousIdCompany);
+            priceIndex.moveProduct(product.getIdProduct(), product.getIdCompany());
+        }
+        return product;
     }
 
     /**
@@ -60,7 +98,11 @@ public class ProductImpl implements IProduct {
     @Override
     @Transactional
     public void delete(Integer id) {
+        Integer idCompany = findIdCompany(id);
         productDao.deleteById(id);
+        searchIndex.remove(id, idCompany);
+        categoryIndex.removeProduct(id, idCompany);
+        catalogVersion.bumpProduct(id, idCompany);
     }
 
     /**
@@ -71,7 +113,30 @@ public class ProductImpl implements IProduct {
     @Override
     @Transactional
     public void deleteByIdCompany(Integer id) {
+        List<Integer> idProducts = productDao.findIdProductsByIdCompany(id);
         productDao.deleteByIdCompany(id);
+        searchIndex.removeCompany(id);
+        categoryIndex.removeCompany(id);
+        priceIndex.removeProducts(idProducts);
+        catalogVersion.bumpProducts(idProducts, id);
+    }
+
+    /**
+     * Deletes the given products, with a single statement. Their prices and categories must be deleted first.
+     *
+     * @param idProducts The ids of the products, all of the same company.
+     * @param idCompany  The id of the company of the products.
+     */
+    @Override
+    @Transactional
+    public void deleteByIdProductIn(Collection<Integer> idProducts, Integer idCompany) {
+        productDao.deleteByIdProductIn(idProducts);
+        for (Integer idProduct : idProducts) {
+            searchIndex.remove(idProduct, idCompany);
+            categoryIndex.removeProduct(idProduct, idCompany);
+        }
+        priceIndex.removeProducts(idProducts);
+        catalogVersion.bumpProducts(idProducts, idCompany);
     }
 
     /**
@@ -108,4 +173,42 @@ public class ProductImpl implements IProduct {
     public Iterable<Product> findAllByIdCompany(Integer IdCompany) {
         return productDao.findAllByIdCompany(IdCompany);
     }
+
+    /**
+     * Reads the products through a forward-only cursor and hands them to the consumer in chunks.
+     * Every chunk is detached from the persistence context once consumed, so memory stays flat.
+     *
+     * @param idCompany The id of the company, or null for all the products.
+     * @param chunkSize The number of products of each chunk.
+     * @param consumer  The consumer of the chunks.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachChunk(Integer idCompany, int chunkSize, Consumer<List<Product>> consumer) {
+        try (Stream<Product> products = idCompany == null
+                ? productDao.streamAll()
+                : productDao.streamAllByIdCompany(idCompany)) {
+            List<Product> chunk = new ArrayList<>(chunkSize);
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    consumer.accept(chunk);
+                    chunk.forEach(entityManager::detach);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the company of a product.
+     * The product is usually already in the persistence context of the transaction, so no query is run.
+     *
+     * @param idProduct The id of the product.
+     * @return The id of the company of the product, or null if the product does not exist.
+     */
+    private Integer findIdCompany(Integer idProduct) {
+        return productDao.findById(idProduct).map(Product::getIdCompany).orElse(null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,457 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.CsvReader;
+import com.codestock.codeStockBackEnd.model.dao.CompanyDao;
+import com.codestock.codeStockBackEnd.model.dto.*;
+import com.codestock.codeStockBackEnd.service.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * This class represents the Product Import service implementation.
+ * It implements the IProductImport interface. The rows are read one at a time, checked against the companies,
+ * currencies and categories, and written in chunks of CHUNK_SIZE rows, each chunk in its own transaction:
+ * one JDBC batch for the products, whose ids are reserved beforehand as a block of the id_sequence table,
+ * one for their prices and one for their categories.
+ * A chunk that fails is rolled back and written again row by row, so only the faulty rows are reported.
+ * Once a chunk is committed, the in-memory search index, category bitmaps, price index, price matrices,
+ * catalog cache and catalog versions are brought up to date.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IProductImport
+ * @see org.springframework.jdbc.core.JdbcTemplate
+ * @see org.springframework.transaction.support.TransactionTemplate
+ */
+@Service
+public class ProductImportImpl implements IProductImport {
+
+    /**
+     * The number of rows written in a single transaction.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * The maximum number of errors kept in the report.
+     */
+    private static final int MAX_ERRORS = 1000;
+
+    /**
+     * The greatest value of the decimal(10,2) price column.
+     */
+    private static final double MAX_PRICE = 99_999_999.99;
+
+    private static final int MAX_CODE_LENGTH = 20;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final String INSERT_PRODUCT = "INSERT INTO product (idProduct, code, name, characteristics, idCompany) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_PRICE = "INSERT INTO price (idCurrency, idProduct, price) VALUES (?, ?, ?)";
+    private static final String INSERT_PRODUCT_CATEGORY = "INSERT INTO product_category (idProduct, idCategory) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IIdAllocator idAllocator;
+    private final ObjectMapper objectMapper;
+    private final CompanyDao companyDao;
+    private final IDictionary dictionary;
+    private final ISearchIndex searchIndex;
+    private final ICategoryIndex categoryIndex;
+    private final IPriceIndex priceIndex;
+    private final IPriceMatrix priceMatrix;
+    private final ICatalogCache catalogCache;
+    private final ICatalogVersion catalogVersion;
+
+    /**
+     * Constructor for the ProductImportImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param jdbcTemplate       The JDBC template to write the rows in batches.
+     * @param transactionManager The transaction manager, to write each chunk in its own transaction.
+     * @param idAllocator        The allocator of the ids of the products.
+     * @param objectMapper       The mapper to read the NDJSON rows.
+     * @param companyDao         The DAO to read the existing companies.
+     * @param dictionary         The dictionary of the currencies and categories.
+     * @param searchIndex        The search index, updated with the imported products.
+     * @param categoryIndex      The category and company bitmaps, updated with the imported products.
+     * @param priceIndex         The price index, updated with the imported prices.
+     * @param priceMatrix        The price matrices, evicted for the companies of the imported products.
+     * @param catalogCache       The catalog cache, evicted for the companies of the imported products.
+     * @param catalogVersion     The catalog versions, bumped for the imported products.
+     */
+    @Autowired
+    public ProductImportImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, IIdAllocator idAllocator, ObjectMapper objectMapper,
+                             CompanyDao companyDao, IDictionary dictionary, ISearchIndex searchIndex, ICategoryIndex categoryIndex,
+                             IPriceIndex priceIndex, IPriceMatrix priceMatrix, ICatalogCache catalogCache, ICatalogVersion catalogVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.objectMapper = objectMapper;
+        this.companyDao = companyDao;
+        this.dictionary = dictionary;
+        this.searchIndex = searchIndex;
+        this.categoryIndex = categoryIndex;
+        this.priceIndex = priceIndex;
+        this.priceMatrix = priceMatrix;
+        this.catalogCache = catalogCache;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Imports the products of a CSV text.
+     *
+     * @param reader The reader of the text.
+     * @return The report of the import.
+     * @throws IOException              If the text cannot be read.
+     * @throws IllegalArgumentException If the header is missing or lacks a required column.
+     */
+    @Override
+    public ImportReportDTO importCsv(BufferedReader reader) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = csvReader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV header is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("code", "name", "idcompany")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("The CSV header lacks the column " + required);
+            }
+        }
+        Importer importer = new Importer();
+        while (true) {
+            List<String> record;
+            try {
+                record = csvReader.next();
+            } catch (IllegalArgumentException e) {
+                importer.fail(csvReader.recordLine(), e.getMessage());
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            try {
+                importer.accept(csvReader.recordLine(), ProductRequestDTO.builder().code(column(record, columns, "code"))
+                        .name(column(record, columns, "name"))
+                        .characteristics(column(record, columns, "characteristics"))
+                        .idCompany(parseInteger(column(record, columns, "idcompany")))
+                        .prices(parsePrices(column(record, columns, "prices")))
+                        .categories(parseCategories(column(record, columns, "categories")))
+                        .build());
+            } catch (NumberFormatException e) {
+                importer.fail(csvReader.recordLine(), "Invalid number: " + e.getMessage());
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Imports the products of an NDJSON text.
+     *
+     * @param reader The reader of the text.
+     * @return The report of the import.
+     * @throws IOException If the text cannot be read.
+     */
+    @Override
+    public ImportReportDTO importNdjson(BufferedReader reader) throws IOException {
+        Importer importer = new Importer();
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                importer.accept(line, objectMapper.readValue(text, ProductRequestDTO.class));
+            } catch (JsonProcessingException e) {
+                importer.fail(line, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Reads a column of a CSV record.
+     *
+     * @param record  The fields of the record.
+     * @param columns The index of each column, by lower case name.
+     * @param name    The lower case name of the column.
+     * @return The value, or null if the column is missing or empty.
+     */
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    /**
+     * Parses an integer column of a CSV record.
+     *
+     * @param text The text of the column, or null.
+     * @return The integer, or null if the column is empty.
+     */
+    private static Integer parseInteger(String text) {
+        return text == null || text.isBlank() ? null : Integer.valueOf(text.trim());
+    }
+
+    /**
+     * Parses the prices of a CSV record: idCurrency:price pairs separated by ';'.
+     *
+     * @param text The text of the column, or null.
+     * @return The prices.
+     */
+    private static List<PriceDTO> parsePrices(String text) {
+        List<PriceDTO> prices = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return prices;
+        }
+        for (String pair : text.split(";")) {
+            int separator = pair.indexOf(':');
+            if (separator < 0) {
+                throw new NumberFormatException("price " + pair.trim());
+            }
+            prices.add(PriceDTO.builder().idCurrency(Integer.valueOf(pair.substring(0, separator).trim()))
+                    .price(Double.valueOf(pair.substring(separator + 1).trim()))
+                    .build());
+        }
+        return prices;
+    }
+
+    /**
+     * Parses the categories of a CSV record: ids separated by ';'.
+     *
+     * @param text The text of the column, or null.
+     * @return The categories.
+     */
+    private static List<CategoryDTO> parseCategories(String text) {
+        List<CategoryDTO> categories = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return categories;
+        }
+        for (String id : text.split(";")) {
+            categories.add(CategoryDTO.builder().idCategory(Integer.valueOf(id.trim())).build());
+        }
+        return categories;
+    }
+
+    /**
+     * A row of the import, with its line in the imported text.
+     *
+     * @param line    The line of the row.
+     * @param product The product of the row.
+     */
+    private record Row(long line, ProductRequestDTO product) {
+    }
+
+    /**
+     * The state of one import: the rows waiting to be written and the report.
+     */
+    private final class Importer {
+
+        private final Set<Integer> idCompanies = new HashSet<>();
+        private final List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        private Importer() {
+            companyDao.findAll().forEach(company -> idCompanies.add(company.getIdCompany()));
+        }
+
+        /**
+         * Checks a row and adds it to the current chunk, writing the chunk once it is full.
+         *
+         * @param line    The line of the row.
+         * @param product The product of the row.
+         */
+        private void accept(long line, ProductRequestDTO product) {
+            String error = validate(product);
+            if (error != null) {
+                fail(line, error);
+                return;
+            }
+            chunk.add(new Row(line, product));
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Records a row that was not imported.
+         *
+         * @param line    The line of the row.
+         * @param message The reason.
+         */
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(ImportErrorDTO.builder().line(line).message(message).build());
+            }
+        }
+
+        /**
+         * Writes the last chunk and builds the report.
+         *
+         * @return The report of the import.
+         */
+        private ImportReportDTO finish() {
+            flush();
+            return ImportReportDTO.builder().imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+
+        /**
+         * Writes the current chunk. If it fails, its rows are written one by one.
+         */
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Row> rows = new ArrayList<>(chunk);
+            chunk.clear();
+            if (!write(rows) && rows.size() > 1) {
+                rows.forEach(row -> write(List.of(row)));
+            }
+        }
+
+        /**
+         * Writes rows in a single transaction. A single row that cannot be written is reported.
+         *
+         * @param rows The rows.
+         * @return True if the rows were written.
+         */
+        private boolean write(List<Row> rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(rows));
+                imported += rows.size();
+                return true;
+            } catch (DataAccessException | TransactionException e) {
+                if (rows.size() == 1) {
+                    fail(rows.get(0).line(), "Not written: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+                return false;
+            }
+        }
+
+        /**
+         * Checks a product against the columns and the existing companies, currencies and categories.
+         * Repeated categories are dropped.
+         *
+         * @param product The product.
+         * @return Null if the product is valid, otherwise the reason.
+         */
+        private String validate(ProductRequestDTO product) {
+            if (product.getCode() == null || product.getCode().isBlank() || product.getCode().length() > MAX_CODE_LENGTH) {
+                return "The code is required and must have at most " + MAX_CODE_LENGTH + " characters";
+            }
+            if (product.getName() == null || product.getName().isBlank() || product.getName().length() > MAX_NAME_LENGTH) {
+                return "The name is required and must have at most " + MAX_NAME_LENGTH + " characters";
+            }
+            if (product.getIdCompany() == null || !idCompanies.contains(product.getIdCompany())) {
+                return "Unknown company: " + product.getIdCompany();
+            }
+            Set<Integer> currencies = new HashSet<>();
+            for (PriceDTO price : product.getPrices() == null ? List.<PriceDTO>of() : product.getPrices()) {
+                if (price.getIdCurrency() == null || dictionary.getCurrency(price.getIdCurrency()) == null) {
+                    return "Unknown currency: " + price.getIdCurrency();
+                }
+                if (!currencies.add(price.getIdCurrency())) {
+                    return "Repeated currency: " + price.getIdCurrency();
+                }
+                if (price.getPrice() == null || !(price.getPrice() >= 0 && price.getPrice() <= MAX_PRICE)) {
+                    return "The price must be between 0 and " + MAX_PRICE;
+                }
+            }
+            Map<Integer, CategoryDTO> categories = new LinkedHashMap<>();
+            for (CategoryDTO category : product.getCategories() == null ? List.<CategoryDTO>of() : product.getCategories()) {
+                if (category.getIdCategory() == null || dictionary.getCategory(category.getIdCategory()) == null) {
+                    return "Unknown category: " + category.getIdCategory();
+                }
+                categories.putIfAbsent(category.getIdCategory(), category);
+            }
+            product.setCategories(new ArrayList<>(categories.values()));
+            return null;
+        }
+    }
+
+    /**
+     * Inserts the rows in the current transaction, then registers the updates of the in-memory state,
+     * which run once the transaction commits.
+     *
+     * @param rows The rows.
+     */
+    private void insert(List<Row> rows) {
+        int[] idProducts = insertProducts(rows);
+        List<Object[]> prices = new ArrayList<>();
+        List<Object[]> productCategories = new ArrayList<>();
+        Map<Integer, List<Integer>> idProductsByCompany = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductRequestDTO product = rows.get(i).product();
+            int idProduct = idProducts[i];
+            if (product.getPrices() != null) {
+                product.getPrices().forEach(price -> prices.add(new Object[]{price.getIdCurrency(), idProduct, price.getPrice()}));
+            }
+            product.getCategories().forEach(category -> productCategories.add(new Object[]{idProduct, category.getIdCategory()}));
+            idProductsByCompany.computeIfAbsent(product.getIdCompany(), key -> new ArrayList<>()).add(idProduct);
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRICE, prices);
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, productCategories);
+
+        for (int i = 0; i < rows.size(); i++) {
+            ProductRequestDTO product = rows.get(i).product();
+            int idProduct = idProducts[i];
+            searchIndex.index(idProduct, product.getIdCompany(), product.getCode(), product.getName(), product.getCharacteristics(), null);
+            categoryIndex.addToCompany(idProduct, product.getIdCompany(), null);
+            product.getCategories().forEach(category -> categoryIndex.addToCategory(category.getIdCategory(), idProduct));
+            if (product.getPrices() != null) {
+                product.getPrices().forEach(price -> priceIndex.put(price.getIdCurrency(), idProduct, product.getIdCompany(), price.getPrice()));
+            }
+        }
+        idProductsByCompany.forEach((idCompany, ids) -> {
+            // A new product copies the matrix of its company, so the matrix is read again once instead
+            priceMatrix.evictCompany(idCompany);
+            catalogCache.evictCompany(idCompany);
+            catalogVersion.bumpProducts(ids, idCompany);
+        });
+    }
+
+    /**
+     * Inserts the products of the rows in a single JDBC batch, with a block of ids reserved for them.
+     * The block is reserved in its own transaction, so its ids are lost if the chunk is rolled back.
+     *
+     * @param rows The rows.
+     * @return The ids of the products, in the order of the rows.
+     */
+    private int[] insertProducts(List<Row> rows) {
+        int first = idAllocator.reserve("product", rows.size());
+        int[] idProducts = new int[rows.size()];
+        List<Object[]> products = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ProductRequestDTO product = rows.get(i).product();
+            idProducts[i] = first + i;
+            products.add(new Object[]{idProducts[i], product.getCode(), product.getName(), product.getCharacteristics(), product.getIdCompany()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products);
+        return idProducts;
+    }
+}
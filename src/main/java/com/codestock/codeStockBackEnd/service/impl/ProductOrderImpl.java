@@ -5,6 +5,7 @@ import com.codestock.codeStockBackEnd.model.entity.ProductOrder;
 import com.codestock.codeStockBackEnd.service.IProductOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * This class represents the ProductOrder service implementation.
@@ -46,11 +47,13 @@ public class ProductOrderImpl implements IProductOrder {
     }
 
     /**
-     * Deletes the product order with the given order id.
+     * Deletes the product order with the given order id, with a single bulk DELETE.
+     * The @Modifying query needs a transaction, joined if the caller has one.
      *
      * @param idOrder The id of the order to be deleted.
      */
     @Override
+    @Transactional
     public void deleteByIdOrder(int idOrder) {
         productOrderDao.deleteByIdOrder(idOrder);
     }
@@ -0,0 +1,175 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.model.dto.SalesBucketDTO;
+import com.codestock.codeStockBackEnd.model.dto.SalesRevenueDTO;
+import com.codestock.codeStockBackEnd.service.ISalesRollup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class represents the Sales Rollup service implementation.
+ * It implements the ISalesRollup interface with two tables kept up to date by the orders:
+ * sales_daily_product has the units sold of each product of each company on each day, and
+ * sales_daily_revenue has their revenue in each currency, from the unit prices copied to the lines of the orders.
+ * Adding orders or removing an order runs one INSERT ... SELECT ... ON DUPLICATE KEY UPDATE statement per table,
+ * which adds or subtracts their lines in one of STRIPES rows per product and day, so the reports never scan the orders,
+ * and concurrent orders of the same product rarely wait for each other on one row; the reads sum the stripes.
+ * The company of each line is the one copied to the line when the order was placed, not the current company of the product,
+ * so an order is removed from the same company it was added to even if its products moved to another company.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.ISalesRollup
+ * @see org.springframework.jdbc.core.JdbcTemplate
+ */
+@Service
+public class SalesRollupImpl implements ISalesRollup {
+
+    /**
+     * The number of rows each product of each company has per day and table, so concurrent orders of a hot product
+     * update different rows instead of queuing on the lock of one row until their transactions commit.
+     */
+    private static final int STRIPES = 16;
+
+    private static final String UPSERT_UNITS = "INSERT INTO sales_daily_product (idCompany, day, idProduct, stripe, units)"
+            + " SELECT po.idCompany, o.date, po.idProduct, ?, ? * po.quantity"
+            + " FROM product_order po"
+            + " JOIN orden o ON o.idOrden = po.idOrder"
+            + " WHERE po.idOrder IN (%s) AND po.quantity IS NOT NULL AND o.date IS NOT NULL AND po.idCompany IS NOT NULL"
+            + " ON DUPLICATE KEY UPDATE units = sales_daily_product.units + VALUES(units)";
+    private static final String UPSERT_REVENUE = "INSERT INTO sales_daily_revenue (idCompany, day, idProduct, idCurrency, stripe, revenue)"
+            + " SELECT po.idCompany, o.date, po.idProduct, pp.idCurrency, ?, ? * po.quantity * pp.unitPrice"
+            + " FROM product_order po"
+            + " JOIN orden o ON o.idOrden = po.idOrder"
+            + " JOIN product_order_price pp ON pp.idOrder = po.idOrder AND pp.idProduct = po.idProduct"
+            + " WHERE po.idOrder IN (%s) AND po.quantity IS NOT NULL AND o.date IS NOT NULL AND po.idCompany IS NOT NULL"
+            + " ON DUPLICATE KEY UPDATE revenue = sales_daily_revenue.revenue + VALUES(revenue)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the SalesRollupImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param jdbcTemplate The JDBC template to update and read the rollup tables.
+     */
+    @Autowired
+    public SalesRollupImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the lines of some orders to the daily sales, in the current transaction.
+     * The rows of several orders on the same day and product are summed by the same statement.
+     *
+     * @param idOrders The ids of the orders.
+     */
+    @Override
+    @Transactional
+    public void addOrders(Collection<Integer> idOrders) {
+        if (!idOrders.isEmpty()) {
+            apply(idOrders, 1);
+        }
+    }
+
+    /**
+     * Removes the lines of an order from the daily sales, in the current transaction.
+     *
+     * @param idOrder The id of the order.
+     */
+    @Override
+    @Transactional
+    public void removeOrder(Integer idOrder) {
+        apply(List.of(idOrder), -1);
+    }
+
+    /**
+     * Finds the sales of a company, by period, oldest first.
+     * It reads the units and the revenue with one grouped query each and merges them by period.
+     *
+     * @param idCompany   The id of the company.
+     * @param idProduct   The id of a product of the company, or null for all the products.
+     * @param from        The first day of the sales, inclusive.
+     * @param to          The last day of the sales, inclusive.
+     * @param granularity The length of the periods.
+     * @return A list of the sales of each period.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesBucketDTO> findSales(Integer idCompany, Integer idProduct, LocalDate from, LocalDate to, Granularity granularity) {
+        String bucket = bucket(granularity);
+        List<Object> args = new ArrayList<>(List.of(idCompany, Date.valueOf(from), Date.valueOf(to)));
+        String where = " WHERE idCompany = ? AND day BETWEEN ? AND ?";
+        if (idProduct != null) {
+            where += " AND idProduct = ?";
+            args.add(idProduct);
+        }
+
+        Map<LocalDate, SalesBucketDTO> buckets = new TreeMap<>();
+        jdbcTemplate.query("SELECT " + bucket + " AS start, SUM(units) AS units FROM sales_daily_product" + where
+                + " GROUP BY start HAVING SUM(units) <> 0", rs -> {
+            LocalDate start = rs.getDate("start").toLocalDate();
+            buckets.put(start, SalesBucketDTO.builder().start(start)
+                    .units(rs.getLong("units"))
+                    .revenue(new ArrayList<>())
+                    .build());
+        }, args.toArray());
+        jdbcTemplate.query("SELECT " + bucket + " AS start, idCurrency, SUM(revenue) AS revenue FROM sales_daily_revenue" + where
+                + " GROUP BY start, idCurrency HAVING SUM(revenue) <> 0 ORDER BY idCurrency", rs -> {
+            LocalDate start = rs.getDate("start").toLocalDate();
+            BigDecimal revenue = rs.getBigDecimal("revenue");
+            buckets.computeIfAbsent(start, key -> SalesBucketDTO.builder().start(key)
+                            .units(0L)
+                            .revenue(new ArrayList<>())
+                            .build())
+                    .getRevenue().add(SalesRevenueDTO.builder().idCurrency(rs.getInt("idCurrency"))
+                            .revenue(revenue.doubleValue())
+                            .build());
+        }, args.toArray());
+        return new ArrayList<>(buckets.values());
+    }
+
+    /**
+     * Adds the lines of some orders to the rollup tables, times a sign, in a stripe picked at random.
+     *
+     * @param idOrders The ids of the orders.
+     * @param sign     1 to add the orders, -1 to remove them.
+     */
+    private void apply(Collection<Integer> idOrders, int sign) {
+        String placeholders = String.join(", ", Collections.nCopies(idOrders.size(), "?"));
+        List<Object> args = new ArrayList<>(idOrders.size() + 2);
+        args.add(ThreadLocalRandom.current().nextInt(STRIPES));
+        args.add(sign);
+        args.addAll(idOrders);
+        jdbcTemplate.update(UPSERT_UNITS.formatted(placeholders), args.toArray());
+        jdbcTemplate.update(UPSERT_REVENUE.formatted(placeholders), args.toArray());
+    }
+
+    /**
+     * Returns the SQL expression of the first day of the period of a day.
+     *
+     * @param granularity The length of the periods.
+     * @return The SQL expression over the day column.
+     */
+    private String bucket(Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> "day";
+            case WEEK -> "DATE_SUB(day, INTERVAL WEEKDAY(day) DAY)";
+            case MONTH -> "CAST(DATE_FORMAT(day, '%Y-%m-01') AS DATE)";
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.methods.InvertedIndex;
+import com.codestock.codeStockBackEnd.model.dao.CompanyDao;
+import com.codestock.codeStockBackEnd.service.IProduct;
+import com.codestock.codeStockBackEnd.service.ISearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents the Search Index service implementation.
+ * It implements the ISearchIndex interface with one InvertedIndex per company, built on the first search
+ * of the company by streaming its products from the database.
+ * The build runs inside the compute of the map, so a write of the same company waits for it and is applied
+ * on top: a write is never lost, nor overwritten by the rows read before it.
+ * Writes of companies whose index is not built yet are skipped; the build will read them.
+ * A search across all companies builds every index and merges their best matches.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.ISearchIndex
+ * @see com.codestock.codeStockBackEnd.methods.InvertedIndex
+ */
+@Service
+public class SearchIndexImpl implements ISearchIndex {
+
+    /**
+     * The number of products read at once while building an index.
+     */
+    private static final int BUILD_CHUNK_SIZE = 1000;
+
+    private final IProduct productService;
+    private final CompanyDao companyDao;
+    private final ConcurrentHashMap<Integer, InvertedIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the SearchIndexImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     * The product service is injected lazily, since it also writes to this index.
+     *
+     * @param productService The service to stream the products of a company.
+     * @param companyDao     The DAO to find all the companies.
+     */
+    @Autowired
+    public SearchIndexImpl(@Lazy IProduct productService, CompanyDao companyDao) {
+        this.productService = productService;
+        this.companyDao = companyDao;
+    }
+
+    /**
+     * Searches the products matching a query, best first.
+     *
+     * @param query     The query.
+     * @param idCompany The id of the company whose products are searched, or null for all the products.
+     * @param limit     The maximum number of results.
+     * @return The matches, best first.
+     */
+    @Override
+    public List<InvertedIndex.Hit> search(String query, Integer idCompany, int limit) {
+        if (idCompany != null) {
+            return index(idCompany).search(query, limit);
+        }
+        List<InvertedIndex.Hit> hits = new ArrayList<>();
+        companyDao.findAll().forEach(company -> hits.addAll(index(company.getIdCompany()).search(query, limit)));
+        hits.sort(Comparator.comparingDouble(InvertedIndex.Hit::score).reversed());
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Indexes a product, once the current transaction commits.
+     *
+     * @param idProduct         The id of the product.
+     * @param idCompany         The id of the company of the product.
+     * @param code              The code of the product.
+     * @param name              The name of the product.
+     * @param characteristics   The characteristics of the product.
+     * @param previousIdCompany The id of the company the product belonged to before, or null.
+     */
+    @Override
+    public void index(Integer idProduct, Integer idCompany, String code, String name, String characteristics, Integer previousIdCompany) {
+        AfterCommit.run(() -> {
+            if (previousIdCompany != null && !previousIdCompany.equals(idCompany)) {
+                indexes.computeIfPresent(previousIdCompany, (key, index) -> {
+                    index.remove(idProduct);
+                    return index;
+                });
+            }
+            if (idCompany != null) {
+                indexes.computeIfPresent(idCompany, (key, index) -> {
+                    index.put(idProduct, code, name, characteristics);
+                    return index;
+                });
+            }
+        });
+    }
+
+    /**
+     * Removes a product from the index, once the current transaction commits.
+     *
+     * @param idProduct The id of the product.
+     * @param idCompany The id of the company of the product.
+     */
+    @Override
+    public void remove(Integer idProduct, Integer idCompany) {
+        if (idCompany == null) {
+            return;
+        }
+        AfterCommit.run(() -> indexes.computeIfPresent(idCompany, (key, index) -> {
+            index.remove(idProduct);
+            return index;
+        }));
+    }
+
+    /**
+     * Removes all the products of a company from the index, once the current transaction commits.
+     *
+     * @param idCompany The id of the company.
+     */
+    @Override
+    public void removeCompany(Integer idCompany) {
+        AfterCommit.run(() -> indexes.remove(idCompany));
+    }
+
+    /**
+     * Finds the index of a company, building it on first use.
+     *
+     * @param idCompany The id of the company.
+     * @return The index of the company.
+     */
+    private InvertedIndex index(Integer idCompany) {
+        return indexes.computeIfAbsent(idCompany, key -> {
+            InvertedIndex index = new InvertedIndex();
+            productService.forEachChunk(key, BUILD_CHUNK_SIZE, products -> products.forEach(product ->
+                    index.put(product.getIdProduct(), product.getCode(), product.getName(), product.getCharacteristics())));
+            return index;
+        });
+    }
+}
@@ -0,0 +1,391 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.methods.AfterCommit;
+import com.codestock.codeStockBackEnd.methods.StripedStock;
+import com.codestock.codeStockBackEnd.model.dao.ProductStockDao;
+import com.codestock.codeStockBackEnd.model.dto.StockDTO;
+import com.codestock.codeStockBackEnd.model.entity.ProductStock;
+import com.codestock.codeStockBackEnd.service.IStock;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This class represents the Stock service implementation.
+ * It implements the IStock interface with the product_stock table. The units of an order are taken from the
+ * products in ascending id order, so two orders never wait on each other's rows in opposite orders, and each
+ * product is updated with a single conditional UPDATE that only succeeds if there are enough units.
+ * The hot products are sold from a StripedStock in memory instead, so the orders of a flash sale do not queue
+ * on the lock of the row. A single refill thread takes blocks of BLOCK_SIZE units from the rows, each in its
+ * own short transaction, as soon as a hot product holds less than LOW_WATER units; the threads of the orders
+ * never open a second connection, and only wait, for at most REFILL_WAIT, when an order finds too few units.
+ * A refill that finds no units marks the product dry, and its orders fail at once without asking the database
+ * again for DRY_RECHECK; after that, the next order asks for a refill again, so units put back in the row by hand
+ * are found. A refill that fails is retried after a backoff growing from RETRY_MIN to RETRY_MAX, and only wakes up
+ * the orders waiting, which wait for the retry until REFILL_WAIT runs out.
+ * The units held in memory are given back to the rows when the application stops; if it crashes they are lost,
+ * so the stock can be undersold but never oversold. Each instance of the application holds its own units,
+ * and the hot products are read when the application is ready.
+ * It is annotated with @Service to indicate that it's a service component in the Spring framework.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.IStock
+ * @see com.codestock.codeStockBackEnd.methods.StripedStock
+ */
+@Service
+public class StockImpl implements IStock {
+
+    /**
+     * The minimum number of units a hot product takes from its row at once.
+     */
+    private static final int BLOCK_SIZE = 500;
+
+    /**
+     * The number of units held in memory under which a hot product is refilled ahead of the orders.
+     */
+    private static final int LOW_WATER = BLOCK_SIZE / 2;
+
+    /**
+     * The maximum time an order waits for a hot product to be refilled.
+     */
+    private static final Duration REFILL_WAIT = Duration.ofSeconds(2);
+
+    /**
+     * The time a product stays dry before its orders ask the database for units again.
+     */
+    private static final Duration DRY_RECHECK = Duration.ofSeconds(1);
+
+    /**
+     * The time before the first retry of a refill that failed.
+     */
+    private static final Duration RETRY_MIN = Duration.ofMillis(100);
+
+    /**
+     * The maximum time between two retries of a refill that keeps failing.
+     */
+    private static final Duration RETRY_MAX = Duration.ofSeconds(5);
+
+    private final ProductStockDao productStockDao;
+    private final TransactionTemplate newTransaction;
+    private final Map<Integer, StripedStock> hot = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> refillRequests = new ConcurrentHashMap<>();
+    private final BlockingQueue<Integer> refillQueue = new LinkedBlockingQueue<>();
+    private final Map<Integer, Integer> failures = new ConcurrentHashMap<>();
+    private final Set<Integer> backingOff = ConcurrentHashMap.newKeySet();
+    private final Thread refiller;
+    private final ScheduledExecutorService retries;
+
+    /**
+     * Constructor for the StockImpl class.
+     * It is annotated with @Autowired to allow Spring to resolve and inject collaborating beans into our bean.
+     *
+     * @param productStockDao    The DAO (Data Access Object) to interact with the database.
+     * @param transactionManager The transaction manager, to take the blocks of the hot products in their own transaction.
+     */
+    @Autowired
+    public StockImpl(ProductStockDao productStockDao, PlatformTransactionManager transactionManager) {
+        this.productStockDao = productStockDao;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refiller = new Thread(this::refill, "stock-refill");
+        this.refiller.setDaemon(true);
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-refill-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the refill thread.
+     */
+    @PostConstruct
+    public void start() {
+        refiller.start();
+    }
+
+    /**
+     * Loads the hot products once the application is ready, and fills them ahead of the first orders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHotProducts() {
+        productStockDao.findByHotTrue().forEach(stock -> {
+            hot.putIfAbsent(stock.getIdProduct(), new StripedStock());
+            requestRefill(stock.getIdProduct(), 0);
+        });
+    }
+
+    /**
+     * Stops the refill thread and gives back to the rows the units of the hot products held in memory.
+     *
+     * @throws InterruptedException If the wait for the refill thread is interrupted.
+     */
+    @PreDestroy
+    public void returnHeldUnits() throws InterruptedException {
+        retries.shutdownNow();
+        refiller.interrupt();
+        refiller.join(REFILL_WAIT.toMillis());
+        hot.forEach((idProduct, stock) -> {
+            long held = stock.retire();
+            if (held > 0) {
+                newTransaction.executeWithoutResult(status -> productStockDao.increment(idProduct, (int) held));
+            }
+        });
+        hot.clear();
+    }
+
+    /**
+     * Takes the units of an order from the stock of its products, in ascending product id order.
+     *
+     * @param quantities The units of each product of the order.
+     * @throws IllegalArgumentException If a product does not have enough units in stock.
+     */
+    @Override
+    @Transactional
+    public void reserve(Map<Integer, Integer> quantities) {
+        Map<Integer, ProductStock> tracked = productStockDao.findByIdProductIn(quantities.keySet()).stream()
+                .collect(Collectors.toMap(ProductStock::getIdProduct, Function.identity()));
+        for (Map.Entry<Integer, Integer> line : new TreeMap<>(quantities).entrySet()) {
+            if (tracked.containsKey(line.getKey()) && !take(line.getKey(), line.getValue())) {
+                throw new IllegalArgumentException("Not enough stock for product " + line.getKey());
+            }
+        }
+    }
+
+    /**
+     * Gives back the units of a deleted order to the rows of its products, in ascending product id order.
+     * The units of a hot product also go to its row, and the product is refilled from it once the transaction commits,
+     * so a product that ran dry sells again.
+     *
+     * @param quantities The units of each product of the order.
+     */
+    @Override
+    @Transactional
+    public void restock(Map<Integer, Integer> quantities) {
+        for (Map.Entry<Integer, Integer> line : new TreeMap<>(quantities).entrySet()) {
+            if (productStockDao.increment(line.getKey(), line.getValue()) == 1 && hot.containsKey(line.getKey())) {
+                AfterCommit.run(() -> requestRefill(line.getKey(), 0));
+            }
+        }
+    }
+
+    /**
+     * Finds the stock of a product.
+     *
+     * @param idProduct The id of the product.
+     * @return The stock of the product, or null if its stock is not tracked.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StockDTO findByIdProduct(Integer idProduct) {
+        return productStockDao.findById(idProduct).map(this::toDTO).orElse(null);
+    }
+
+    /**
+     * Sets the units in stock of a product, and whether it is hot.
+     * The row is locked first, so a hot product cannot take a block from the old stock once its units in memory are dropped.
+     *
+     * @param idProduct The id of the product.
+     * @param stock     The units in stock.
+     * @param hot       Whether the product is hot, or null to keep it as it is.
+     * @return The new stock of the product.
+     */
+    @Override
+    public synchronized StockDTO setStock(Integer idProduct, int stock, Boolean hot) {
+        ProductStock saved = newTransaction.execute(status -> {
+            ProductStock row = productStockDao.findForUpdate(idProduct);
+            if (row == null) {
+                row = ProductStock.builder().idProduct(idProduct).hot(false).build();
+            }
+            row.setStock(stock);
+            if (hot != null) {
+                row.setHot(hot);
+            }
+            StripedStock old = Boolean.TRUE.equals(row.getHot())
+                    ? this.hot.put(idProduct, new StripedStock())
+                    : this.hot.remove(idProduct);
+            if (old != null) {
+                old.retire();
+            }
+            return productStockDao.save(row);
+        });
+        if (Boolean.TRUE.equals(saved.getHot())) {
+            requestRefill(idProduct, 0);
+        }
+        return toDTO(saved);
+    }
+
+    /**
+     * Takes units from the stock of a product: from memory if it is hot, from its row otherwise.
+     * A hot product short of units asks the refill thread for a block and waits for it,
+     * unless it was found dry less than DRY_RECHECK ago, or was found dry again while the order waited.
+     *
+     * @param idProduct The id of the product.
+     * @param quantity  The units to take.
+     * @return True if the units were taken, false if there are not enough of them.
+     */
+    private boolean take(Integer idProduct, int quantity) {
+        long deadline = System.nanoTime() + REFILL_WAIT.toNanos();
+        boolean waited = false;
+        while (true) {
+            StripedStock stock = hot.get(idProduct);
+            if (stock == null) {
+                return productStockDao.decrement(idProduct, quantity) == 1;
+            }
+            long refills = stock.refills();
+            int taken = stock.take(quantity);
+            if (taken == StripedStock.TAKEN) {
+                AfterCommit.runOnRollback(() -> stock.release(quantity));
+                if ((!stock.isDry() || stock.isDryFor(DRY_RECHECK.toNanos())) && stock.held() < LOW_WATER) {
+                    requestRefill(idProduct, 0);
+                }
+                return true;
+            }
+            // A retired stock has just been replaced, so the product is read again
+            if (taken == StripedStock.SHORT) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0 || stock.isDry() && (waited || !stock.isDryFor(DRY_RECHECK.toNanos()))) {
+                    return false;
+                }
+                requestRefill(idProduct, quantity);
+                try {
+                    stock.awaitRefill(refills, left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                waited = true;
+            }
+        }
+    }
+
+    /**
+     * Asks the refill thread to take a block of units for a hot product.
+     *
+     * @param idProduct The id of the product.
+     * @param missing   The units missing for an order waiting, or 0 to refill ahead of the orders.
+     */
+    private void requestRefill(Integer idProduct, int missing) {
+        boolean[] queued = {false};
+        refillRequests.compute(idProduct, (id, pending) -> {
+            queued[0] = pending == null;
+            return pending == null ? missing : Math.max(pending, missing);
+        });
+        // A product already waiting for its refill is not queued twice, and a product backing off is queued by its retry
+        if (queued[0] && !backingOff.contains(idProduct)) {
+            refillQueue.offer(idProduct);
+        }
+    }
+
+    /**
+     * Queues a refill that failed again after a backoff, asking at least for the units it was asked for.
+     *
+     * @param idProduct The id of the product.
+     * @param missing   The units the failed refill was asked for.
+     */
+    private void retryRefill(Integer idProduct, int missing) {
+        int failed = failures.merge(idProduct, 1, Integer::sum);
+        long delay = Math.min(RETRY_MAX.toMillis(), RETRY_MIN.toMillis() << Math.min(failed - 1, 16));
+        backingOff.add(idProduct);
+        refillRequests.merge(idProduct, missing, Math::max);
+        try {
+            retries.schedule(() -> {
+                backingOff.remove(idProduct);
+                if (refillRequests.containsKey(idProduct)) {
+                    refillQueue.offer(idProduct);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The application is stopping
+            backingOff.remove(idProduct);
+        }
+    }
+
+    /**
+     * Takes the blocks asked for, one product at a time, until the application stops.
+     */
+    private void refill() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer idProduct;
+            try {
+                idProduct = refillQueue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            Integer missing = refillRequests.remove(idProduct);
+            StripedStock stock = hot.get(idProduct);
+            if (stock == null || missing == null) {
+                continue;
+            }
+            try {
+                int claimed = claim(idProduct, Math.max(BLOCK_SIZE, missing));
+                failures.remove(idProduct);
+                if (claimed == 0) {
+                    stock.markDry();
+                } else if (!stock.add(claimed)) {
+                    newTransaction.executeWithoutResult(status -> productStockDao.increment(idProduct, claimed));
+                }
+            } catch (RuntimeException e) {
+                // The database may only be briefly unavailable, so the product is not marked dry
+                stock.refillFailed();
+                retryRefill(idProduct, missing);
+            }
+        }
+    }
+
+    /**
+     * Takes a block of units from the row of a hot product, in its own transaction.
+     *
+     * @param idProduct The id of the product.
+     * @param units     The units wanted.
+     * @return The units taken: the units wanted, or all the units left.
+     */
+    private int claim(Integer idProduct, int units) {
+        Integer claimed = newTransaction.execute(status -> {
+            ProductStock row = productStockDao.findForUpdate(idProduct);
+            if (row == null) {
+                return 0;
+            }
+            int taken = Math.min(row.getStock(), units);
+            row.setStock(row.getStock() - taken);
+            return taken;
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    /**
+     * Converts a row of stock into its DTO, counting the units held in memory.
+     *
+     * @param row The row of stock.
+     * @return The DTO.
+     */
+    private StockDTO toDTO(ProductStock row) {
+        StripedStock stock = hot.get(row.getIdProduct());
+        return StockDTO.builder().idProduct(row.getIdProduct())
+                .stock(row.getStock() + (stock == null ? 0 : stock.held()))
+                .hot(row.getHot())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the CsvReader: plain and quoted fields, quoted line breaks and double quotes,
+ * blank lines, the line where each record starts and an unterminated quoted field.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.CsvReader
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsPlainAndEmptyFields() throws IOException {
+        CsvReader reader = reader("code,name,,price\nA1,Shirt,,10\n");
+
+        assertEquals(List.of("code", "name", "", "price"), reader.next());
+        assertEquals(List.of("A1", "Shirt", "", "10"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void readsQuotedCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = reader("\"a, b\",\"say \"\"hi\"\"\",\"two\nlines\"\n");
+
+        assertEquals(List.of("a, b", "say \"hi\"", "two\nlines"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void skipsBlankLinesAndTracksTheLineOfEachRecord() throws IOException {
+        CsvReader reader = reader("first\n\n\"multi\nline\"\n  \nlast\n");
+
+        assertEquals(List.of("first"), reader.next());
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("multi\nline"), reader.next());
+        assertEquals(3, reader.recordLine());
+        assertEquals(List.of("last"), reader.next());
+        assertEquals(6, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void refusesAnUnterminatedQuotedField() throws IOException {
+        CsvReader reader = reader("ok\n\"never closed\nstill open\n");
+
+        assertEquals(List.of("ok"), reader.next());
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    private static CsvReader reader(String text) {
+        return new CsvReader(new BufferedReader(new StringReader(text)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the CursorCodec: a cursor decodes to the values it was encoded from,
+ * and a malformed cursor is refused.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.CursorCodec
+ */
+class CursorCodecTest {
+
+    @Test
+    void decodesTheValuesItEncoded() {
+        String cursor = CursorCodec.encode(1715644800000L, -3, 42);
+
+        assertArrayEquals(new long[]{1715644800000L, -3, 42}, CursorCodec.decode(cursor, 3));
+    }
+
+    @Test
+    void encodesUrlSafeCursors() {
+        String cursor = CursorCodec.encode(Long.MAX_VALUE, Long.MIN_VALUE);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void refusesACursorWithAnotherNumberOfValues() {
+        String cursor = CursorCodec.encode(1, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(cursor, 3));
+    }
+
+    @Test
+    void refusesMalformedCursors() {
+        String otherVersion = Base64.getUrlEncoder().encodeToString("v0:1".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().encodeToString("v1:x".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(otherVersion, 1));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(notANumber, 1));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode("not base64!", 1));
+    }
+}
@@ -0,0 +1,105 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the InvertedIndex: the weights of the fields, prefix queries, updates and removals,
+ * the document frequencies of the live documents, and that the pruned top results match the full ranking.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.InvertedIndex
+ */
+class InvertedIndexTest {
+
+    private static final String[] WORDS = {"red", "blue", "green", "shirt", "shoe", "hat", "cotton", "wool", "large", "small",
+            "sport", "classic", "summer", "winter", "kids", "men", "women", "sale", "new", "pack"};
+
+    @Test
+    void ranksTheCodeAboveTheNameAndTheNameAboveTheCharacteristics() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "X1", "plain", "camion");
+        index.put(2, "X2", "camion", "plain");
+        index.put(3, "CAMION", "plain", "plain");
+
+        assertEquals(List.of(3, 2, 1), ids(index.search("Camión", 10)));
+    }
+
+    @Test
+    void expandsAPrefixQuery() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "A", "camiseta", null);
+        index.put(2, "B", "camion", null);
+        index.put(3, "C", "zapato", null);
+
+        assertEquals(List.of(1, 2), ids(index.search("cami*", 10)).stream().sorted().toList());
+        assertTrue(index.search("cami", 10).isEmpty());
+    }
+
+    @Test
+    void searchesTheLastVersionOfAProductOnly() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "A", "red shirt", null);
+        index.put(1, "A", "blue shirt", null);
+        index.put(2, "B", "red hat", null);
+        index.remove(2);
+
+        assertTrue(index.search("red", 10).isEmpty());
+        assertEquals(List.of(1), ids(index.search("blue", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void countsOnlyTheLiveDocumentsInTheDocumentFrequency() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "A", "alpha", null);
+        for (int idProduct = 2; idProduct <= 5; idProduct++) {
+            index.put(idProduct, "B" + idProduct, "alpha gamma", null);
+        }
+        for (int idProduct = 2; idProduct <= 5; idProduct++) {
+            index.remove(idProduct);
+        }
+        InvertedIndex fresh = new InvertedIndex();
+        fresh.put(1, "A", "alpha", null);
+
+        assertEquals(fresh.search("alpha", 10).get(0).score(), index.search("alpha", 10).get(0).score(), 1e-12);
+    }
+
+    @Test
+    void prunedTopResultsMatchTheFullRanking() {
+        InvertedIndex index = new InvertedIndex();
+        Random random = new Random(42);
+        for (int idProduct = 1; idProduct <= 3000; idProduct++) {
+            index.put(idProduct, "P" + idProduct, words(random, 3), words(random, 8));
+        }
+        for (int idProduct = 1; idProduct <= 3000; idProduct += 7) {
+            index.put(idProduct, "P" + idProduct, words(random, 3), words(random, 8));
+        }
+        for (String query : List.of("red shirt", "wool winter sale", "kids shoe pack", "green", "sm* classic men")) {
+            List<InvertedIndex.Hit> all = index.search(query, Integer.MAX_VALUE);
+            List<InvertedIndex.Hit> top = index.search(query, 10);
+
+            assertEquals(10, top.size());
+            for (int i = 0; i < top.size(); i++) {
+                assertEquals(all.get(i).score(), top.get(i).score(), 1e-9, query);
+            }
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static List<Integer> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::idProduct).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the RingBuffer: the empty and full buffer, the wraparound of the positions,
+ * and the order of the elements appended by concurrent producers.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.RingBuffer
+ */
+class RingBufferTest {
+
+    @Test
+    void rejectsACapacityThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(6));
+    }
+
+    @Test
+    void drainsNothingWhenEmpty() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> sink = new ArrayList<>();
+
+        assertEquals(0, buffer.drainTo(sink, 10));
+        assertTrue(sink.isEmpty());
+    }
+
+    @Test
+    void refusesElementsWhenFullUntilDrained() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        List<Integer> sink = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(sink, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+        assertEquals(4, buffer.drainTo(sink, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), sink);
+    }
+
+    @Test
+    void keepsTheOrderAcrossWraparounds() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> sink = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            assertEquals(3, buffer.drainTo(sink, 3));
+        }
+
+        assertEquals(IntStream.range(0, next).boxed().toList(), sink);
+    }
+
+    @Test
+    @Timeout(30)
+    void keepsTheOrderOfEachProducerUnderConcurrency() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 5_000;
+        RingBuffer<int[]> buffer = new RingBuffer<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(new int[]{producer, i})) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        int[] expected = new int[producers];
+        List<int[]> sink = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            sink.clear();
+            if (buffer.drainTo(sink, 16) == 0) {
+                Thread.yield();
+            }
+            for (int[] element : sink) {
+                assertEquals(expected[element[0]]++, element[1]);
+                received++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, buffer.drainTo(sink, 1));
+        for (int count : expected) {
+            assertEquals(perProducer, count);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.codestock.codeStockBackEnd.methods;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the StripedStock: taking and giving back units, taking more units than a single cell holds,
+ * a take that finds too few units, the refills, failed refills, the dry mark and the retirement.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.methods.StripedStock
+ */
+class StripedStockTest {
+
+    @Test
+    void takesAndReleasesUnits() {
+        StripedStock stock = new StripedStock(4);
+        assertTrue(stock.add(10));
+
+        assertEquals(StripedStock.TAKEN, stock.take(3));
+        assertEquals(7, stock.held());
+        stock.release(3);
+        assertEquals(10, stock.held());
+    }
+
+    @Test
+    void takesUnitsSpreadOverSeveralCells() {
+        StripedStock stock = new StripedStock(4);
+        stock.add(8);
+
+        assertEquals(StripedStock.TAKEN, stock.take(7));
+        assertEquals(1, stock.held());
+        assertEquals(StripedStock.TAKEN, stock.take(1));
+        assertEquals(0, stock.held());
+    }
+
+    @Test
+    void keepsTheUnitsWhenTooFewAreHeld() {
+        StripedStock stock = new StripedStock(4);
+        stock.add(5);
+
+        assertEquals(StripedStock.SHORT, stock.take(6));
+        assertEquals(5, stock.held());
+        assertEquals(StripedStock.TAKEN, stock.take(5));
+    }
+
+    @Test
+    void addClearsTheDryMarkAndCountsTheRefills() {
+        StripedStock stock = new StripedStock(2);
+        stock.markDry();
+        assertTrue(stock.isDry());
+        assertEquals(1, stock.refills());
+
+        stock.add(1);
+        assertFalse(stock.isDry());
+        assertEquals(2, stock.refills());
+    }
+
+    @Test
+    @Timeout(30)
+    void wakesUpTheThreadsWaitingForARefill() throws InterruptedException {
+        StripedStock stock = new StripedStock(2);
+        long refills = stock.refills();
+        Thread refiller = new Thread(() -> stock.add(4));
+        refiller.start();
+
+        stock.awaitRefill(refills, TimeUnit.SECONDS.toNanos(20));
+        refiller.join();
+        assertEquals(StripedStock.TAKEN, stock.take(4));
+    }
+
+    @Test
+    @Timeout(30)
+    void aFailedRefillWakesUpTheWaitersWithoutMarkingItDry() throws InterruptedException {
+        StripedStock stock = new StripedStock(2);
+        long refills = stock.refills();
+        Thread refiller = new Thread(stock::refillFailed);
+        refiller.start();
+
+        stock.awaitRefill(refills, TimeUnit.SECONDS.toNanos(20));
+        refiller.join();
+        assertFalse(stock.isDry());
+        assertEquals(refills + 1, stock.refills());
+    }
+
+    @Test
+    void tellsHowLongItIsDry() throws InterruptedException {
+        StripedStock stock = new StripedStock(2);
+        assertFalse(stock.isDryFor(0));
+
+        stock.markDry();
+        assertTrue(stock.isDryFor(0));
+        assertFalse(stock.isDryFor(TimeUnit.HOURS.toNanos(1)));
+        Thread.sleep(20);
+        assertTrue(stock.isDryFor(TimeUnit.MILLISECONDS.toNanos(10)));
+    }
+
+    @Test
+    void retireReturnsTheUnitsHeldAndRefusesTheNextOnes() {
+        StripedStock stock = new StripedStock(4);
+        stock.add(9);
+        stock.take(2);
+
+        assertEquals(7, stock.retire());
+        assertEquals(0, stock.held());
+        assertEquals(StripedStock.RETIRED, stock.take(1));
+        assertFalse(stock.add(5));
+        stock.release(2);
+        assertEquals(0, stock.held());
+    }
+}
@@ -0,0 +1,88 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.model.dao.PriceDao;
+import com.codestock.codeStockBackEnd.model.dao.ProductDao;
+import com.codestock.codeStockBackEnd.model.entity.Currency;
+import com.codestock.codeStockBackEnd.model.entity.Price;
+import com.codestock.codeStockBackEnd.service.IDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the PriceMatrixImpl with mocked DAOs: the prices loaded, the products and currencies added
+ * after the load, and the companies too large to be cached, read from the database.
+ * There is no transaction, so the writes are applied at once.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.impl.PriceMatrixImpl
+ */
+class PriceMatrixImplTest {
+
+    private static final int ID_COMPANY = 3;
+
+    private PriceDao priceDao;
+    private ProductDao productDao;
+    private IDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        priceDao = mock(PriceDao.class);
+        productDao = mock(ProductDao.class);
+        dictionary = mock(IDictionary.class);
+        when(dictionary.getCurrencies()).thenReturn(List.of(Currency.builder().idCurrency(1).build()));
+        when(productDao.findIdProductsByIdCompany(ID_COMPANY)).thenReturn(List.of(10, 20));
+        when(priceDao.findPriceRowsByIdCompany(ID_COMPANY)).thenReturn(List.<Object[]>of(
+                new Object[]{10, 1, 5.0}, new Object[]{20, 0, 7.5}));
+    }
+
+    @Test
+    void readsThePricesLoaded() {
+        PriceMatrixImpl matrix = new PriceMatrixImpl(priceDao, productDao, dictionary, 1_000_000);
+
+        assertEquals(5.0, matrix.findPrice(ID_COMPANY, 10, 1));
+        assertEquals(7.5, matrix.findPrice(ID_COMPANY, 20, 0));
+        assertNull(matrix.findPrice(ID_COMPANY, 10, 0));
+        assertNull(matrix.findPrice(ID_COMPANY, 30, 1));
+        verify(productDao, times(1)).findIdProductsByIdCompany(ID_COMPANY);
+    }
+
+    @Test
+    void addsProductsAndCurrenciesAfterTheLoad() {
+        PriceMatrixImpl matrix = new PriceMatrixImpl(priceDao, productDao, dictionary, 1_000_000);
+        matrix.findPrice(ID_COMPANY, 10, 1);
+
+        for (int idProduct = 100; idProduct < 5100; idProduct++) {
+            matrix.put(ID_COMPANY, idProduct, 1, (double) idProduct);
+        }
+        matrix.put(ID_COMPANY, 10, 4, 9.0);
+        matrix.removeProduct(ID_COMPANY, 20);
+
+        for (int idProduct = 100; idProduct < 5100; idProduct++) {
+            assertEquals(idProduct, matrix.findPrice(ID_COMPANY, idProduct, 1));
+        }
+        assertEquals(5.0, matrix.findPrice(ID_COMPANY, 10, 1));
+        assertEquals(9.0, matrix.findPrice(ID_COMPANY, 10, 4));
+        assertNull(matrix.findPrice(ID_COMPANY, 20, 0));
+        assertEquals(2, matrix.findPrices(ID_COMPANY, 10).size());
+        verify(productDao, times(1)).findIdProductsByIdCompany(ID_COMPANY);
+    }
+
+    @Test
+    void readsACompanyTooLargeToBeCachedFromTheDatabase() {
+        when(priceDao.findByIdProduct(10)).thenReturn(List.of(
+                Price.builder().idProduct(10).idCurrency(1).price(5.0).build(),
+                Price.builder().idProduct(10).idCurrency(0).price(4.0).build()));
+        PriceMatrixImpl matrix = new PriceMatrixImpl(priceDao, productDao, dictionary, 10);
+
+        assertEquals(5.0, matrix.findPrice(ID_COMPANY, 10, 1));
+        assertEquals(List.of(0, 1), matrix.findPrices(ID_COMPANY, 10).stream().map(price -> price.getIdCurrency()).toList());
+        verify(productDao, times(1)).findIdProductsByIdCompany(ID_COMPANY);
+        verify(priceDao, never()).findPriceRowsByIdCompany(ID_COMPANY);
+    }
+}
@@ -0,0 +1,105 @@
+package com.codestock.codeStockBackEnd.service.impl;
+
+import com.codestock.codeStockBackEnd.model.dao.ProductStockDao;
+import com.codestock.codeStockBackEnd.model.entity.ProductStock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * This class tests the refills of the hot products of the StockImpl, with a mocked product_stock table:
+ * a refill that fails is retried, and a product found dry is asked for again once units are back in its row.
+ *
+ * @author Yesid-Robayo
+ * @version 1.0
+ * @see com.codestock.codeStockBackEnd.service.impl.StockImpl
+ */
+class StockImplTest {
+
+    private static final int ID_PRODUCT = 7;
+
+    private final AtomicInteger rowStock = new AtomicInteger();
+    private ProductStockDao productStockDao;
+    private StockImpl stock;
+
+    @BeforeEach
+    void setUp() {
+        productStockDao = mock(ProductStockDao.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        ProductStock hot = ProductStock.builder().idProduct(ID_PRODUCT).stock(0).hot(true).build();
+        when(productStockDao.findByHotTrue()).thenReturn(List.of(hot));
+        when(productStockDao.findByIdProductIn(any())).thenReturn(List.of(hot));
+        stock = new StockImpl(productStockDao, transactionManager);
+        stock.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        stock.returnHeldUnits();
+    }
+
+    @Test
+    @Timeout(30)
+    void anOrderSucceedsOnceAFailedRefillIsRetried() {
+        rowStock.set(100);
+        AtomicInteger claims = new AtomicInteger();
+        when(productStockDao.findForUpdate(ID_PRODUCT)).thenAnswer(invocation -> {
+            if (claims.incrementAndGet() == 1) {
+                throw new QueryTimeoutException("Lock wait timeout exceeded");
+            }
+            return row();
+        });
+
+        stock.loadHotProducts();
+
+        assertDoesNotThrow(() -> stock.reserve(Map.of(ID_PRODUCT, 5)));
+        assertTrue(claims.get() >= 2);
+    }
+
+    @Test
+    @Timeout(30)
+    void aDryProductSellsAgainOnceItsRowHasUnits() throws InterruptedException {
+        when(productStockDao.findForUpdate(ID_PRODUCT)).thenAnswer(invocation -> row());
+
+        stock.loadHotProducts();
+        assertThrows(IllegalArgumentException.class, () -> stock.reserve(Map.of(ID_PRODUCT, 1)));
+
+        rowStock.set(10);
+        Thread.sleep(1100);
+        assertDoesNotThrow(() -> stock.reserve(Map.of(ID_PRODUCT, 1)));
+    }
+
+    /**
+     * Returns the row of the product, whose stock setter writes the units back to rowStock,
+     * like the flush of the transaction of a claim would.
+     *
+     * @return The row.
+     */
+    private ProductStock row() {
+        ProductStock row = new ProductStock() {
+            @Override
+            public void setStock(Integer stock) {
+                super.setStock(stock);
+                rowStock.set(stock);
+            }
+        };
+        row.setIdProduct(ID_PRODUCT);
+        row.setStock(rowStock.get());
+        row.setHot(true);
+        return row;
+    }
+}